@@ -0,0 +1,135 @@
+package algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * JMH counterpart of {@code PerformanceTracker.benchmarkBoyerMoore}. Inputs are generated once
+ * per trial, outside the measured region, and every fork runs in its own JVM after warmup.
+ *
+ * <p>Build and run with the {@code jmh} profile:
+ * <pre>
+ * mvn -P jmh package -DskipTests
+ * java -jar target/benchmarks.jar BoyerMooreBenchmark -p size=10,1000000
+ * </pre>
+ * Sizes up to 10^8 need the 4 GB heap each fork asks for; trim them with {@code -p size=...}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class BoyerMooreBenchmark {
+
+    /**
+     * Every distribution {@code generateTestArray} produces: with or without a majority,
+     * as generated (runs of equal values) or shuffled
+     */
+    public enum Distribution {
+        MAJORITY(true, false),
+        MAJORITY_SHUFFLED(true, true),
+        NO_MAJORITY(false, false),
+        NO_MAJORITY_SHUFFLED(false, true);
+
+        final boolean hasMajority;
+        final boolean shuffled;
+
+        Distribution(boolean hasMajority, boolean shuffled) {
+            this.hasMajority = hasMajority;
+            this.shuffled = shuffled;
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class BoxedInput {
+        @Param({"10", "1000", "100000", "10000000", "100000000"})
+        public int size;
+
+        @Param
+        public Distribution distribution;
+
+        Integer[] array;
+        Integer candidate;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            array = BoyerMooreMajorityVote.generateTestArray(size, distribution.hasMajority);
+            if (distribution.shuffled) {
+                BoyerMooreMajorityVote.shuffleArray(array);
+            }
+            candidate = BoyerMooreMajorityVote.findCandidate(array);
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PrimitiveInput {
+        @Param({"10", "1000", "100000", "10000000", "100000000"})
+        public int size;
+
+        @Param
+        public Distribution distribution;
+
+        int[] array;
+        int candidate;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            array = PrimitiveMajorityVote.generateTestArray(size, distribution.hasMajority);
+            if (distribution.shuffled) {
+                PrimitiveMajorityVote.shuffleArray(array);
+            }
+            candidate = PrimitiveMajorityVote.findCandidate(array);
+        }
+    }
+
+
+    @Benchmark
+    public BoyerMooreMajorityVote.Result findMajorityElement(BoxedInput input) {
+        return BoyerMooreMajorityVote.findMajorityElement(input.array);
+    }
+
+    @Benchmark
+    public BoyerMooreMajorityVote.Result findMajorityElementUninstrumented(BoxedInput input) {
+        return BoyerMooreMajorityVote.findMajorityElement(input.array, BoyerMooreMajorityVote.InstrumentationLevel.OFF);
+    }
+
+    @Benchmark
+    public Integer findCandidate(BoxedInput input) {
+        return BoyerMooreMajorityVote.findCandidate(input.array);
+    }
+
+    @Benchmark
+    public int verifyCandidate(BoxedInput input) {
+        return BoyerMooreMajorityVote.verifyCandidate(input.array, input.candidate);
+    }
+
+    @Benchmark
+    public long findMajorityPrimitive(PrimitiveInput input) {
+        return PrimitiveMajorityVote.findMajority(input.array);
+    }
+
+    @Benchmark
+    public int findCandidatePrimitive(PrimitiveInput input) {
+        return PrimitiveMajorityVote.findCandidate(input.array);
+    }
+
+    @Benchmark
+    public int verifyCandidatePrimitive(PrimitiveInput input) {
+        return PrimitiveMajorityVote.verifyCandidate(input.array, input.candidate);
+    }
+}
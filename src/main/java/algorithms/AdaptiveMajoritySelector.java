@@ -0,0 +1,430 @@
+package algorithms;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToLongFunction;
+
+
+/**
+ * Routes each int[] to the majority engine expected to be fastest for it.
+ *
+ * <p>Routing looks at the length and at {@link #SAMPLE_SIZE} evenly spaced elements, which give
+ * an estimate of the value range and a sortedness probe. The crossover lengths and the
+ * counting-range limit live in {@link Thresholds}. {@link #getDefault()} never calibrates or
+ * writes files: it reads the properties file named by {@link #CALIBRATION_FILE_PROPERTY}, or
+ * else uses the untuned {@link Thresholds#DEFAULT}. Measured thresholds come from an explicit
+ * {@link #calibrate(int)} or {@link #loadOrCalibrate(Path)} call.
+ * With an UNKNOWN or SORTED order every route returns the exact answer.
+ */
+public class AdaptiveMajoritySelector {
+
+    public enum Strategy {SEQUENTIAL, PARALLEL, VECTORIZED, COUNTING, SORTED}
+
+    /**
+     * Elements probed per call; arrays no longer than this always run sequentially
+     */
+    public static final int SAMPLE_SIZE = BoyerMooreMajorityVote.SORTEDNESS_SAMPLE;
+
+    /**
+     * System property naming the thresholds file that {@link #getDefault()} loads
+     */
+    public static final String CALIBRATION_FILE_PROPERTY = "majority.selector.calibration";
+
+    static final int DEFAULT_CALIBRATION_MAX_SIZE = 1 << 20;
+
+    /**
+     * Cheap per-call features, read from a strided sample of the input
+     */
+    public static class Features {
+        private final int length;
+        private final int sampledMin;
+        private final int sampledMax;
+        private final boolean looksSorted;
+
+        Features(int length, int sampledMin, int sampledMax, boolean looksSorted) {
+            this.length = length;
+            this.sampledMin = sampledMin;
+            this.sampledMax = sampledMax;
+            this.looksSorted = looksSorted;
+        }
+
+        public static Features sample(int[] array) {
+            int n = array.length;
+            if (n == 0) {
+                return new Features(0, 0, 0, true);
+            }
+            int samples = Math.min(n, SAMPLE_SIZE);
+            int min = array[0];
+            int max = array[0];
+            int previous = array[0];
+            boolean sorted = true;
+            for (int i = 1; i < samples; i++) {
+                // Spread samples over the whole array and always include the last element
+                int value = array[(int) ((long) i * (n - 1) / (samples - 1))];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sorted &= value >= previous;
+                previous = value;
+            }
+            return new Features(n, min, max, sorted);
+        }
+
+        public int getLength() { return length; }
+        public int getSampledMin() { return sampledMin; }
+        public int getSampledMax() { return sampledMax; }
+        public long getSampledRange() { return (long) sampledMax - sampledMin + 1; }
+        public boolean looksSorted() { return looksSorted; }
+
+        @Override
+        public String toString() {
+            return String.format("Features{length=%d, sampledRange=[%d, %d], looksSorted=%s}",
+                    length, sampledMin, sampledMax, looksSorted);
+        }
+    }
+
+    /**
+     * Calibrated decision thresholds. A minimum length of Integer.MAX_VALUE disables that engine.
+     */
+    public static class Thresholds {
+        private final int parallelMinLength;
+        private final int vectorMinLength;
+        private final int countingMinLength;
+        private final int countingMaxRange;
+
+        /**
+         * Untuned thresholds for when no calibration file is configured: parallel and SIMD only
+         * where available and only on large inputs, counting only on narrow ranges
+         */
+        public static final Thresholds DEFAULT = new Thresholds(
+                ForkJoinPool.getCommonPoolParallelism() > 1 ? 1 << 20 : Integer.MAX_VALUE,
+                VectorizedMajorityVote.isVectorAvailable() ? 1 << 14 : Integer.MAX_VALUE,
+                1 << 14, 1 << 12);
+
+        public Thresholds(int parallelMinLength, int vectorMinLength, int countingMinLength, int countingMaxRange) {
+            if (parallelMinLength < 1 || vectorMinLength < 1 || countingMinLength < 1 || countingMaxRange < 1) {
+                throw new IllegalArgumentException("Thresholds must be positive");
+            }
+            this.parallelMinLength = parallelMinLength;
+            this.vectorMinLength = vectorMinLength;
+            this.countingMinLength = countingMinLength;
+            this.countingMaxRange = Math.min(countingMaxRange, CountingMajorityVote.MAX_DOMAIN);
+        }
+
+        public int getParallelMinLength() { return parallelMinLength; }
+        public int getVectorMinLength() { return vectorMinLength; }
+        public int getCountingMinLength() { return countingMinLength; }
+        public int getCountingMaxRange() { return countingMaxRange; }
+
+        Properties toProperties() {
+            Properties properties = new Properties();
+            properties.setProperty("parallelMinLength", Integer.toString(parallelMinLength));
+            properties.setProperty("vectorMinLength", Integer.toString(vectorMinLength));
+            properties.setProperty("countingMinLength", Integer.toString(countingMinLength));
+            properties.setProperty("countingMaxRange", Integer.toString(countingMaxRange));
+            // Thresholds measured under a different pool size or without SIMD do not carry over
+            properties.setProperty("parallelism", Integer.toString(ForkJoinPool.getCommonPoolParallelism()));
+            properties.setProperty("vector", Boolean.toString(VectorizedMajorityVote.isVectorAvailable()));
+            return properties;
+        }
+
+        /**
+         * @return null if the properties are incomplete, malformed or from another configuration
+         */
+        static Thresholds fromProperties(Properties properties) {
+            try {
+                if (Integer.parseInt(properties.getProperty("parallelism")) != ForkJoinPool.getCommonPoolParallelism()
+                        || Boolean.parseBoolean(properties.getProperty("vector")) != VectorizedMajorityVote.isVectorAvailable()) {
+                    return null;
+                }
+                return new Thresholds(
+                        Integer.parseInt(properties.getProperty("parallelMinLength")),
+                        Integer.parseInt(properties.getProperty("vectorMinLength")),
+                        Integer.parseInt(properties.getProperty("countingMinLength")),
+                        Integer.parseInt(properties.getProperty("countingMaxRange")));
+            } catch (IllegalArgumentException e) { // Includes NumberFormatException
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Thresholds{parallel>=%d, vector>=%d, counting>=%d with range<=%d}",
+                    parallelMinLength, vectorMinLength, countingMinLength, countingMaxRange);
+        }
+    }
+
+    private static volatile AdaptiveMajoritySelector defaultSelector;
+
+    /**
+     * Calibration publishes engine results here so the JIT cannot drop the timed calls
+     */
+    private static volatile long blackhole;
+
+    private final Thresholds thresholds;
+
+    public AdaptiveMajoritySelector(Thresholds thresholds) {
+        this.thresholds = thresholds;
+    }
+
+
+    /**
+     * Shared selector. Unless {@link #setDefault} installed one, the first call loads the thresholds
+     * file named by {@link #CALIBRATION_FILE_PROPERTY}, falling back to {@link Thresholds#DEFAULT}
+     * when the property is unset or the file is missing or stale. It never calibrates.
+     */
+    public static AdaptiveMajoritySelector getDefault() {
+        AdaptiveMajoritySelector selector = defaultSelector;
+        if (selector == null) {
+            synchronized (AdaptiveMajoritySelector.class) {
+                selector = defaultSelector;
+                if (selector == null) {
+                    selector = fromConfiguration();
+                    defaultSelector = selector;
+                }
+            }
+        }
+        return selector;
+    }
+
+
+    static AdaptiveMajoritySelector fromConfiguration() {
+        Path file = configuredCalibrationFile();
+        Thresholds thresholds = file == null ? null : load(file);
+        return new AdaptiveMajoritySelector(thresholds == null ? Thresholds.DEFAULT : thresholds);
+    }
+
+
+    /**
+     * Replaces the shared selector, e.g. with the result of {@link #loadOrCalibrate(Path)}
+     */
+    public static void setDefault(AdaptiveMajoritySelector selector) {
+        if (selector == null) {
+            throw new IllegalArgumentException("Selector cannot be null");
+        }
+        defaultSelector = selector;
+    }
+
+
+    /**
+     * @return the file named by {@link #CALIBRATION_FILE_PROPERTY}, or null if it is unset
+     */
+    public static Path configuredCalibrationFile() {
+        String file = System.getProperty(CALIBRATION_FILE_PROPERTY);
+        return file == null || file.isBlank() ? null : Paths.get(file);
+    }
+
+
+    /**
+     * Explicit calibration with a cache: reads thresholds from file, and if the file is missing
+     * or stale, calibrates (several seconds) and writes it. A file that cannot be written only
+     * costs a recalibration next time.
+     */
+    public static AdaptiveMajoritySelector loadOrCalibrate(Path file) {
+        return loadOrCalibrate(file, DEFAULT_CALIBRATION_MAX_SIZE);
+    }
+
+
+    static AdaptiveMajoritySelector loadOrCalibrate(Path file, int calibrationMaxSize) {
+        Thresholds thresholds = load(file);
+        if (thresholds == null) {
+            thresholds = calibrate(calibrationMaxSize);
+            store(file, thresholds);
+        }
+        return new AdaptiveMajoritySelector(thresholds);
+    }
+
+
+    static Thresholds load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+        return Thresholds.fromProperties(properties);
+    }
+
+
+    static void store(Path file, Thresholds thresholds) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                thresholds.toProperties().store(out, "AdaptiveMajoritySelector calibration");
+            }
+        } catch (IOException e) {
+            // Cache only; the thresholds in memory are still valid
+        }
+    }
+
+
+    /**
+     * Times the sequential engine against each alternative on lengths 2^10 .. maxSize.
+     * An engine's minimum length is the first size from which it wins at every larger size.
+     */
+    public static Thresholds calibrate(int maxSize) {
+        if (maxSize < 1 << 10) {
+            throw new IllegalArgumentException("Calibration needs sizes of at least 1024: " + maxSize);
+        }
+        int steps = 0;
+        for (int size = 1 << 10; size <= maxSize; size <<= 2) {
+            steps++;
+        }
+        int[] sizes = new int[steps];
+        for (int i = 0, size = 1 << 10; i < steps; i++, size <<= 2) {
+            sizes[i] = size;
+        }
+
+        boolean[] parallelWins = new boolean[steps];
+        boolean[] vectorWins = new boolean[steps];
+        boolean[] countingWins = new boolean[steps];
+        boolean multiCore = ForkJoinPool.getCommonPoolParallelism() > 1;
+        boolean vector = VectorizedMajorityVote.isVectorAvailable();
+
+        for (int i = 0; i < steps; i++) {
+            int[] wide = PrimitiveMajorityVote.generateTestArray(sizes[i], true);
+            PrimitiveMajorityVote.shuffleArray(wide);
+            int[] narrow = wide.clone();
+            for (int j = 0; j < narrow.length; j++) {
+                narrow[j] &= 0xFF;
+            }
+
+            long sequential = bestOf(PrimitiveMajorityVote::findMajority, wide);
+            parallelWins[i] = multiCore && bestOf(a -> packed(ParallelMajorityVote.findMajorityElement(a)), wide) < sequential;
+            vectorWins[i] = vector && bestOf(VectorizedMajorityVote::findMajority, wide) < sequential;
+            countingWins[i] = bestOf(CountingMajorityVote::findMajority, narrow)
+                    < bestOf(PrimitiveMajorityVote::findMajority, narrow);
+        }
+
+        int countingMinLength = crossover(sizes, countingWins);
+        return new Thresholds(crossover(sizes, parallelWins), crossover(sizes, vectorWins), countingMinLength,
+                countingMinLength == Integer.MAX_VALUE ? 1 : calibrateCountingRange(maxSize));
+    }
+
+
+    /**
+     * Largest power-of-two value range at which the histogram still beats Boyer-Moore
+     */
+    private static int calibrateCountingRange(int size) {
+        int[] base = PrimitiveMajorityVote.generateTestArray(size, true);
+        PrimitiveMajorityVote.shuffleArray(base);
+        long sequential = bestOf(PrimitiveMajorityVote::findMajority, base);
+
+        int best = 1 << 8;
+        for (int range = 1 << 8; range <= CountingMajorityVote.MAX_DOMAIN; range <<= 2) {
+            int[] bounded = base.clone();
+            for (int j = 0; j < bounded.length; j++) {
+                bounded[j] = Math.floorMod(bounded[j], range);
+            }
+            if (bestOf(CountingMajorityVote::findMajority, bounded) >= sequential) {
+                break;
+            }
+            best = range;
+        }
+        return best;
+    }
+
+
+    private static long packed(BoyerMooreMajorityVote.Result result) {
+        return result.hasMajority() ? result.getMajorityElement() : PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+
+    private static int crossover(int[] sizes, boolean[] wins) {
+        int from = Integer.MAX_VALUE;
+        for (int i = sizes.length - 1; i >= 0 && wins[i]; i--) {
+            from = sizes[i];
+        }
+        return from;
+    }
+
+
+    private static long bestOf(ToLongFunction<int[]> engine, int[] array) {
+        long sink = engine.applyAsLong(array); // Warmup
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            sink += engine.applyAsLong(array);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        blackhole = sink;
+        return best;
+    }
+
+
+    public Thresholds getThresholds() {
+        return thresholds;
+    }
+
+
+    public Strategy choose(int[] array) {
+        return choose(array, BoyerMooreMajorityVote.InputOrder.UNKNOWN);
+    }
+
+
+    /**
+     * SORTED is chosen only when the caller declares the order, or under DETECT when the sample
+     * ascends. The order is never verified with a full scan, which would cost as much as the
+     * sequential vote it replaces; DETECT carries the caveat of {@link BoyerMooreMajorityVote.InputOrder#DETECT}.
+     */
+    public Strategy choose(int[] array, BoyerMooreMajorityVote.InputOrder order) {
+        Features features = Features.sample(array);
+        if (features.getLength() > SAMPLE_SIZE && (order == BoyerMooreMajorityVote.InputOrder.SORTED
+                || order == BoyerMooreMajorityVote.InputOrder.DETECT && features.looksSorted())) {
+            return Strategy.SORTED;
+        }
+        return choose(features);
+    }
+
+
+    /**
+     * Routing on features alone. SORTED is never returned here, because it needs the caller's
+     * order in {@link #choose(int[], BoyerMooreMajorityVote.InputOrder)}.
+     */
+    public Strategy choose(Features features) {
+        int n = features.getLength();
+        if (n <= SAMPLE_SIZE) {
+            return Strategy.SEQUENTIAL;
+        }
+        if (n >= thresholds.getCountingMinLength() && features.getSampledRange() <= thresholds.getCountingMaxRange()) {
+            return Strategy.COUNTING;
+        }
+        if (n >= thresholds.getParallelMinLength()) {
+            return Strategy.PARALLEL;
+        }
+        if (n >= thresholds.getVectorMinLength()) {
+            return Strategy.VECTORIZED;
+        }
+        return Strategy.SEQUENTIAL;
+    }
+
+
+    public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+        return findMajorityElement(array, BoyerMooreMajorityVote.InputOrder.UNKNOWN);
+    }
+
+
+    public BoyerMooreMajorityVote.Result findMajorityElement(int[] array, BoyerMooreMajorityVote.InputOrder order) {
+        if (array == null) {
+            return PrimitiveMajorityVote.findMajorityElement(null);
+        }
+        return switch (choose(array, order)) {
+            case SORTED -> SortBasedMajorityVote.findMajorityElementInSorted(array);
+            case COUNTING -> CountingMajorityVote.findMajorityElement(array, array.length >= thresholds.getParallelMinLength());
+            case PARALLEL -> ParallelMajorityVote.findMajorityElement(array);
+            case VECTORIZED -> VectorizedMajorityVote.findMajorityElement(array);
+            case SEQUENTIAL -> PrimitiveMajorityVote.findMajorityElement(array);
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package algorithms;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Majority of binary votes packed 64 to a long, as in {@link BitSet#toLongArray()}:
+ * vote i is bit (i % 64) of word i / 64, and a set bit is a vote for 1.
+ *
+ * <p>{@link Long#bitCount} tallies 64 votes per word, so the whole vote is a single pass of
+ * popcounts with no candidate phase. The result's majority element is 1 or 0, and its
+ * {@code Metrics} array accesses count the words scanned.
+ */
+public class BitsetMajorityVote {
+
+    public static final int BITS_PER_WORD = Long.SIZE;
+
+    /**
+     * Word ranges at or below this size are counted sequentially (1M votes)
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 14;
+
+    /**
+     * Every bit of every word is a vote
+     */
+    public static BoyerMooreMajorityVote.Result findMajorityElement(long[] words) {
+        return findMajorityElement(words, words == null ? 0 : (long) words.length * BITS_PER_WORD, false);
+    }
+
+
+    /**
+     * @param voteCount number of votes; bits at positions voteCount and above are ignored
+     * @throws IllegalArgumentException if voteCount is negative or exceeds the bits in words
+     */
+    public static BoyerMooreMajorityVote.Result findMajorityElement(long[] words, long voteCount, boolean parallel) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (words == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input array cannot be null", metrics);
+        }
+
+        long ones = countOnes(words, voteCount, parallel);
+        metrics.addArrayAccesses(wordsFor(voteCount));
+        return toResult(ones, voteCount, metrics);
+    }
+
+
+    /**
+     * @param voteCount number of votes; set bits at positions voteCount and above are ignored
+     */
+    public static BoyerMooreMajorityVote.Result findMajorityElement(BitSet bits, int voteCount, boolean parallel) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (bits == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input bitset cannot be null", metrics);
+        }
+        if (voteCount < 0) {
+            throw new IllegalArgumentException("Vote count must not be negative: " + voteCount);
+        }
+
+        long ones;
+        if (parallel && wordsFor(voteCount) > DEFAULT_THRESHOLD) {
+            // Parallel counting needs the words in an array; toLongArray stops at the highest set bit
+            long[] words = bits.get(0, voteCount).toLongArray();
+            metrics.incrementMemoryAllocations(); // Word copy
+            ones = countOnes(words, (long) words.length * BITS_PER_WORD, true);
+        } else if (bits.length() <= voteCount) {
+            ones = bits.cardinality();
+        } else {
+            ones = bits.get(0, voteCount).cardinality();
+            metrics.incrementMemoryAllocations(); // Prefix copy
+        }
+
+        metrics.addArrayAccesses(wordsFor(voteCount));
+        return toResult(ones, voteCount, metrics);
+    }
+
+
+    /**
+     * Set bits among the first voteCount bits of words
+     */
+    public static long countOnes(long[] words, long voteCount, boolean parallel) {
+        if (voteCount < 0 || voteCount > (long) words.length * BITS_PER_WORD) {
+            throw new IllegalArgumentException("Vote count " + voteCount + " outside [0, "
+                    + (long) words.length * BITS_PER_WORD + "]");
+        }
+        int fullWords = (int) (voteCount / BITS_PER_WORD);
+        int tailBits = (int) (voteCount % BITS_PER_WORD);
+
+        long ones = parallel && fullWords > DEFAULT_THRESHOLD
+                ? ForkJoinPool.commonPool().invoke(new CountTask(words, 0, fullWords, DEFAULT_THRESHOLD))
+                : countOnes(words, 0, fullWords);
+        if (tailBits > 0) {
+            ones += Long.bitCount(words[fullWords] & ((1L << tailBits) - 1));
+        }
+        return ones;
+    }
+
+
+    private static long countOnes(long[] words, int from, int to) {
+        long ones = 0;
+        for (int i = from; i < to; i++) {
+            ones += Long.bitCount(words[i]);
+        }
+        return ones;
+    }
+
+
+    private static long wordsFor(long voteCount) {
+        return (voteCount + BITS_PER_WORD - 1) / BITS_PER_WORD;
+    }
+
+
+    private static BoyerMooreMajorityVote.Result toResult(long ones, long voteCount, BoyerMooreMajorityVote.Metrics metrics) {
+        metrics.incrementComparisons();
+        metrics.endTimer();
+
+        if (voteCount == 0) {
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+        long zeros = voteCount - ones;
+        // The larger side is the only possible majority; a tie has none and reports a null element
+        int candidate = ones >= zeros ? 1 : 0;
+        return new BoyerMooreMajorityVote.Result(candidate, Math.max(ones, zeros) > voteCount / 2, metrics);
+    }
+
+
+    private static class CountTask extends RecursiveTask<Long> {
+        private final long[] words;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        CountTask(long[] words, int from, int to, int threshold) {
+            this.words = words;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= threshold) {
+                return countOnes(words, from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(words, from, mid, threshold);
+            left.fork();
+            long right = new CountTask(words, mid, to, threshold).compute();
+            return left.join() + right;
+        }
+    }
+}
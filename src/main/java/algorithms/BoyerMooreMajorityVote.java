@@ -1,47 +1,152 @@
 package algorithms;
 
+import java.util.Comparator;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 
 
 public class BoyerMooreMajorityVote {
 
     /**
-     * Metrics class to track algorithm performance
+     * How much counting happens inside the hot loops
+     */
+    public enum InstrumentationLevel {
+        /** Timing only; the loops carry no counter updates at all */
+        OFF,
+        /** Counts are derived from loop bounds and exit points after each pass */
+        COUNTS_ANALYTIC,
+        /** Every access and comparison increments a Metrics field */
+        FULL
+    }
+
+    /**
+     * What the caller knows about the order of the input
+     */
+    public enum InputOrder {
+        /** No assumption; the two-pass vote */
+        UNKNOWN,
+        /** Caller guarantees ascending order; the median is checked with one binary search */
+        SORTED,
+        /**
+         * Probe {@link #SORTEDNESS_SAMPLE} evenly spaced elements and treat the input as SORTED
+         * if they ascend. This is a heuristic: an input that is unsorted only between the probed
+         * positions can get a wrong answer, so use SORTED or UNKNOWN when exactness matters.
+         */
+        DETECT
+    }
+
+    /**
+     * Elements probed by {@link InputOrder#DETECT}
+     */
+    public static final int SORTEDNESS_SAMPLE = 64;
+
+    /**
+     * Order assumed by the sorted-input path; null elements sort first
+     */
+    private static final Comparator<Integer> SORTED_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    /**
+     * Metrics class to track algorithm performance.
+     * Counters are 64-bit, since two passes over more than ~1.07 billion elements overflow an int.
+     * Not thread-safe; engines that update counts from several threads use {@link ConcurrentMetrics}.
      */
     public static class Metrics {
-        private int comparisons = 0;
-        private int arrayAccesses = 0;
-        private int memoryAllocations = 0;
+        private long comparisons = 0;
+        private long arrayAccesses = 0;
+        private long memoryAllocations = 0;
+        private long avoidedArrayAccesses = 0;
+        private long avoidedComparisons = 0;
         private long startTime = 0;
         private long endTime = 0;
 
         public void incrementComparisons() { comparisons++; }
         public void incrementArrayAccesses() { arrayAccesses++; }
         public void incrementMemoryAllocations() { memoryAllocations++; }
+        public void addComparisons(long count) { comparisons += count; }
+        public void addArrayAccesses(long count) { arrayAccesses += count; }
+        public void addAvoidedArrayAccesses(long count) { avoidedArrayAccesses += count; }
+        public void addAvoidedComparisons(long count) { avoidedComparisons += count; }
         public void startTimer() { startTime = System.nanoTime(); }
         public void endTimer() { endTime = System.nanoTime(); }
 
-        public int getComparisons() { return comparisons; }
-        public int getArrayAccesses() { return arrayAccesses; }
-        public int getMemoryAllocations() { return memoryAllocations; }
+        public long getComparisons() { return comparisons; }
+        public long getArrayAccesses() { return arrayAccesses; }
+        public long getMemoryAllocations() { return memoryAllocations; }
+        /** Accesses a full two-pass scan would have made beyond those actually made */
+        public long getAvoidedArrayAccesses() { return avoidedArrayAccesses; }
+        public long getAvoidedComparisons() { return avoidedComparisons; }
         public long getExecutionTimeNanos() { return endTime - startTime; }
         public double getExecutionTimeMillis() { return (endTime - startTime) / 1_000_000.0; }
 
         @Override
         public String toString() {
+            if (getAvoidedArrayAccesses() > 0 || getAvoidedComparisons() > 0) {
+                return String.format("Metrics{comparisons=%d, arrayAccesses=%d, memoryAllocations=%d, "
+                                + "avoidedComparisons=%d, avoidedArrayAccesses=%d, executionTime=%.3f ms}",
+                        getComparisons(), getArrayAccesses(), getMemoryAllocations(),
+                        getAvoidedComparisons(), getAvoidedArrayAccesses(), getExecutionTimeMillis());
+            }
             return String.format("Metrics{comparisons=%d, arrayAccesses=%d, memoryAllocations=%d, executionTime=%.3f ms}",
-                    comparisons, arrayAccesses, memoryAllocations, getExecutionTimeMillis());
+                    getComparisons(), getArrayAccesses(), getMemoryAllocations(), getExecutionTimeMillis());
+        }
+
+        /**
+         * Records the work saved against the two-pass vote over n elements,
+         * charged as 2n accesses and 2n comparisons
+         */
+        void recordAvoidedFullScan(int n) {
+            addAvoidedArrayAccesses(Math.max(0, 2L * n - getArrayAccesses()));
+            addAvoidedComparisons(Math.max(0, 2L * n - getComparisons()));
         }
 
         public void reset() {
             comparisons = 0;
             arrayAccesses = 0;
             memoryAllocations = 0;
+            avoidedArrayAccesses = 0;
+            avoidedComparisons = 0;
             startTime = 0;
             endTime = 0;
         }
     }
 
+    /**
+     * Metrics that many worker threads can update at once.
+     * Counters are striped LongAdders, so contended increments do not serialise on one cache line;
+     * the timer is still started and stopped by the coordinating thread.
+     */
+    public static class ConcurrentMetrics extends Metrics {
+        private final LongAdder comparisons = new LongAdder();
+        private final LongAdder arrayAccesses = new LongAdder();
+        private final LongAdder memoryAllocations = new LongAdder();
+        private final LongAdder avoidedArrayAccesses = new LongAdder();
+        private final LongAdder avoidedComparisons = new LongAdder();
+
+        @Override public void incrementComparisons() { comparisons.increment(); }
+        @Override public void incrementArrayAccesses() { arrayAccesses.increment(); }
+        @Override public void incrementMemoryAllocations() { memoryAllocations.increment(); }
+        @Override public void addComparisons(long count) { comparisons.add(count); }
+        @Override public void addArrayAccesses(long count) { arrayAccesses.add(count); }
+        @Override public void addAvoidedArrayAccesses(long count) { avoidedArrayAccesses.add(count); }
+        @Override public void addAvoidedComparisons(long count) { avoidedComparisons.add(count); }
+
+        @Override public long getComparisons() { return comparisons.sum(); }
+        @Override public long getArrayAccesses() { return arrayAccesses.sum(); }
+        @Override public long getMemoryAllocations() { return memoryAllocations.sum(); }
+        @Override public long getAvoidedArrayAccesses() { return avoidedArrayAccesses.sum(); }
+        @Override public long getAvoidedComparisons() { return avoidedComparisons.sum(); }
+
+        @Override
+        public void reset() {
+            super.reset();
+            comparisons.reset();
+            arrayAccesses.reset();
+            memoryAllocations.reset();
+            avoidedArrayAccesses.reset();
+            avoidedComparisons.reset();
+        }
+    }
+
     /**
      * Result class to encapsulate the algorithm result and metrics
      */
@@ -51,8 +156,12 @@ public class BoyerMooreMajorityVote {
         private final Metrics metrics;
         private final String errorMessage;
 
+        /**
+         * Without a majority the element is dropped, so every engine reports null for a
+         * rejected candidate
+         */
         public Result(Integer majorityElement, boolean hasMajority, Metrics metrics) {
-            this.majorityElement = majorityElement;
+            this.majorityElement = hasMajority ? majorityElement : null;
             this.hasMajority = hasMajority;
             this.metrics = metrics;
             this.errorMessage = null;
@@ -83,6 +192,102 @@ public class BoyerMooreMajorityVote {
 
 
     public static Result findMajorityElement(Integer[] array) {
+        return findMajorityElement(array, InstrumentationLevel.FULL);
+    }
+
+
+    /**
+     * Primitive front door: lets {@link AdaptiveMajoritySelector#getDefault()} pick the engine from
+     * cheap features of the input. It does not calibrate or write files; its thresholds come from
+     * the file named by {@link AdaptiveMajoritySelector#CALIBRATION_FILE_PROPERTY}, or are untuned
+     * defaults. See {@link AdaptiveMajoritySelector#loadOrCalibrate} for measured thresholds.
+     */
+    public static Result findMajorityElementAdaptive(int[] array) {
+        return AdaptiveMajoritySelector.getDefault().findMajorityElement(array);
+    }
+
+
+    /**
+     * Adaptive vote for input whose order the caller knows; SORTED takes the binary search route
+     */
+    public static Result findMajorityElementAdaptive(int[] array, InputOrder order) {
+        return AdaptiveMajoritySelector.getDefault().findMajorityElement(array, order);
+    }
+
+
+    /**
+     * Two-pass vote, or for sorted input a single binary search: in ascending order the only
+     * possible majority is the median, and it is one exactly when its run starting at its first
+     * index still covers n/2 positions further on.
+     */
+    public static Result findMajorityElement(Integer[] array, InputOrder order) {
+        if (order == InputOrder.UNKNOWN || array == null || array.length < 2) {
+            return findMajorityElement(array);
+        }
+
+        Metrics metrics = new Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (order == InputOrder.DETECT && !looksSorted(array, metrics)) {
+            // Probe failed: run the full vote and charge the probe to it
+            Result result = findMajorityElement(array);
+            result.getMetrics().addArrayAccesses(metrics.getArrayAccesses());
+            result.getMetrics().addComparisons(metrics.getComparisons());
+            return result;
+        }
+
+        int n = array.length;
+        Integer median = array[n / 2];
+        metrics.incrementArrayAccesses();
+
+        // First index of the median; it cannot lie past n/2
+        int low = 0;
+        int high = n / 2;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            metrics.incrementArrayAccesses();
+            metrics.incrementComparisons();
+            if (SORTED_ORDER.compare(array[mid], median) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        int covered = low + n / 2;
+        boolean isMajority = false;
+        if (covered < n) {
+            metrics.incrementArrayAccesses();
+            metrics.incrementComparisons();
+            isMajority = Objects.equals(array[covered], median);
+        }
+
+        metrics.recordAvoidedFullScan(n);
+        metrics.endTimer();
+        return new Result(median, isMajority, metrics);
+    }
+
+
+    private static boolean looksSorted(Integer[] array, Metrics metrics) {
+        int n = array.length;
+        int samples = Math.min(n, SORTEDNESS_SAMPLE);
+        Integer previous = array[0];
+        metrics.addArrayAccesses(samples);
+        for (int i = 1; i < samples; i++) {
+            // Spread over the whole array, always including the last element
+            Integer value = array[(int) ((long) i * (n - 1) / (samples - 1))];
+            metrics.incrementComparisons();
+            if (SORTED_ORDER.compare(value, previous) < 0) {
+                return false;
+            }
+            previous = value;
+        }
+        return true;
+    }
+
+
+    public static Result findMajorityElement(Integer[] array, InstrumentationLevel level) {
         Metrics metrics = new Metrics();
         metrics.startTimer();
         metrics.incrementMemoryAllocations(); // For metrics object
@@ -111,11 +316,30 @@ public class BoyerMooreMajorityVote {
                 return new Result(array[0], true, metrics);
             }
 
-            // First pass: Find candidate for majority element
-            Integer candidate = findCandidate(array, metrics);
+            Integer candidate;
+            boolean isMajority;
 
-            // Second pass: Verify if candidate is actually majority
-            boolean isMajority = verifyCandidate(array, candidate, metrics);
+            switch (level) {
+                case OFF -> {
+                    candidate = findCandidate(array);
+                    isMajority = verifyCandidate(array, candidate) >= 0;
+                }
+                case COUNTS_ANALYTIC -> {
+                    candidate = findCandidateCountingResets(array, metrics);
+                    int stoppedAt = verifyCandidate(array, candidate);
+                    int scanned = candidate == null ? 0 : stoppedAt >= 0 ? stoppedAt + 1 : array.length;
+                    metrics.addArrayAccesses(scanned);
+                    metrics.addComparisons(scanned);
+                    isMajority = stoppedAt >= 0;
+                }
+                default -> {
+                    // First pass: Find candidate for majority element
+                    candidate = findCandidate(array, metrics);
+
+                    // Second pass: Verify if candidate is actually majority
+                    isMajority = verifyCandidate(array, candidate, metrics);
+                }
+            }
 
             metrics.endTimer();
             return new Result(candidate, isMajority, metrics);
@@ -178,6 +402,78 @@ public class BoyerMooreMajorityVote {
     }
 
 
+    /**
+     * Uninstrumented first pass, used when instrumentation is OFF
+     */
+    static Integer findCandidate(Integer[] array) {
+        Integer candidate = null;
+        int count = 0;
+
+        for (Integer value : array) {
+            if (count == 0) {
+                candidate = value;
+                count = 1;
+            } else if (Objects.equals(candidate, value)) {
+                count++;
+            } else {
+                count--;
+            }
+        }
+
+        return candidate;
+    }
+
+
+    /**
+     * First pass for COUNTS_ANALYTIC: every element is accessed, and every element
+     * except those that reset the candidate is compared, so only resets are tracked
+     */
+    private static Integer findCandidateCountingResets(Integer[] array, Metrics metrics) {
+        Integer candidate = null;
+        int count = 0;
+        int resets = 0;
+
+        for (Integer value : array) {
+            if (count == 0) {
+                candidate = value;
+                count = 1;
+                resets++;
+            } else if (Objects.equals(candidate, value)) {
+                count++;
+            } else {
+                count--;
+            }
+        }
+
+        metrics.addArrayAccesses(array.length);
+        metrics.addComparisons(array.length - resets);
+        return candidate;
+    }
+
+
+    /**
+     * Uninstrumented second pass
+     *
+     * @return index at which the majority threshold was reached, or -1 if it never was
+     */
+    static int verifyCandidate(Integer[] array, Integer candidate) {
+        if (candidate == null) {
+            return -1;
+        }
+
+        int count = 0;
+        int majorityThreshold = array.length / 2 + 1;
+
+        for (int i = 0; i < array.length; i++) {
+            if (Objects.equals(candidate, array[i]) && ++count >= majorityThreshold) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+
     public static Integer[] generateTestArray(int size, boolean hasMajority) {
         if (size <= 0) {
             return new Integer[0];
@@ -0,0 +1,418 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Majority by a dense counting array over a small value domain.
+ *
+ * <p>byte[], short[] and char[] have fixed domains of 2^8 and 2^16 values. An int[] either
+ * comes with caller-supplied bounds or has its range measured first. One branch-free pass
+ * fills the histogram, so no separate verification pass is needed. The histogram also
+ * answers every frequency question about the input, which {@link Frequencies} exposes. In
+ * parallel mode each worker fills a private histogram over its share of the input, and the
+ * histograms are added together at the end.
+ */
+public class CountingMajorityVote {
+
+    /**
+     * Largest histogram allocated, 4 MiB of int counters
+     */
+    public static final int MAX_DOMAIN = 1 << 20;
+
+    /**
+     * Inputs at or below this length are counted on the calling thread even in parallel mode
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Exact occurrence counts over a contiguous value domain
+     */
+    public static class Frequencies {
+        private final int domainMin;
+        private final int[] counts;
+        private final long total;
+
+        Frequencies(int domainMin, int[] counts, long total) {
+            this.domainMin = domainMin;
+            this.counts = counts;
+            this.total = total;
+        }
+
+        public long getTotal() { return total; }
+        public int getDomainMin() { return domainMin; }
+        public int getDomainSize() { return counts.length; }
+
+        /**
+         * @return occurrences of value, 0 for values outside the domain
+         */
+        public int getFrequency(int value) {
+            long index = (long) value - domainMin;
+            return index >= 0 && index < counts.length ? counts[(int) index] : 0;
+        }
+
+        public int distinctValues() {
+            int distinct = 0;
+            for (int count : counts) {
+                if (count > 0) {
+                    distinct++;
+                }
+            }
+            return distinct;
+        }
+
+        /**
+         * Most frequent value, the smallest one on ties
+         */
+        public int mostFrequent() {
+            if (total == 0) {
+                throw new IllegalStateException("No values counted");
+            }
+            return domainMin + argMax(counts);
+        }
+
+        /**
+         * @return the majority element widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+         */
+        public long majority() {
+            if (total == 0) {
+                return PrimitiveMajorityVote.NO_MAJORITY;
+            }
+            int best = argMax(counts);
+            return counts[best] > total / 2 ? domainMin + best : PrimitiveMajorityVote.NO_MAJORITY;
+        }
+
+        public boolean hasMajority() {
+            return majority() != PrimitiveMajorityVote.NO_MAJORITY;
+        }
+
+        /**
+         * Up to k values with the highest counts, most frequent first, smaller value first on ties
+         */
+        public int[] topK(int k) {
+            if (k < 0) {
+                throw new IllegalArgumentException("k must not be negative: " + k);
+            }
+            // Count in the high half, reversed index in the low half, so one sort orders both keys
+            long[] keys = new long[distinctValues()];
+            int size = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    keys[size++] = ((long) counts[i] << 32) | (counts.length - 1 - i);
+                }
+            }
+            Arrays.sort(keys);
+
+            int[] top = new int[Math.min(k, size)];
+            for (int i = 0; i < top.length; i++) {
+                top[i] = domainMin + counts.length - 1 - (int) keys[size - 1 - i];
+            }
+            return top;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Frequencies{domain=[%d, %d], total=%d, distinct=%d}",
+                    domainMin, domainMin + counts.length - 1, total, distinctValues());
+        }
+    }
+
+
+    public static Frequencies frequencies(byte[] array, boolean parallel) {
+        return new Frequencies(Byte.MIN_VALUE,
+                histogram(array.length, parallel, (from, to) -> countBytes(array, from, to)), array.length);
+    }
+
+
+    public static Frequencies frequencies(short[] array, boolean parallel) {
+        return new Frequencies(Short.MIN_VALUE,
+                histogram(array.length, parallel, (from, to) -> countShorts(array, from, to)), array.length);
+    }
+
+
+    public static Frequencies frequencies(char[] array, boolean parallel) {
+        return new Frequencies(Character.MIN_VALUE,
+                histogram(array.length, parallel, (from, to) -> countChars(array, from, to)), array.length);
+    }
+
+
+    /**
+     * @throws IllegalArgumentException if the bounds span more than {@link #MAX_DOMAIN} values
+     *                                  or the array holds a value outside them
+     */
+    public static Frequencies frequencies(int[] array, int min, int max, boolean parallel) {
+        int domain = checkDomain(min, max);
+        try {
+            return new Frequencies(min,
+                    histogram(array.length, parallel, (from, to) -> countInts(array, from, to, min, domain)), array.length);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Array holds a value outside [" + min + ", " + max + "]");
+        }
+    }
+
+
+    /**
+     * @return the majority element widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     */
+    public static long findMajority(int[] array) {
+        if (array == null || array.length == 0) {
+            return PrimitiveMajorityVote.NO_MAJORITY;
+        }
+        int min = array[0];
+        int max = array[0];
+        for (int value : array) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        if ((long) max - min + 1 > MAX_DOMAIN) {
+            return PrimitiveMajorityVote.findMajority(array);
+        }
+        return frequencies(array, min, max, false).majority();
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(byte[] array) {
+        return findMajorityElement(array, false);
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(byte[] array, boolean parallel) {
+        BoyerMooreMajorityVote.Metrics metrics = startMetrics();
+        if (array == null) {
+            return nullInput(metrics);
+        }
+        return toResult(frequencies(array, parallel), metrics);
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(short[] array) {
+        return findMajorityElement(array, false);
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(short[] array, boolean parallel) {
+        BoyerMooreMajorityVote.Metrics metrics = startMetrics();
+        if (array == null) {
+            return nullInput(metrics);
+        }
+        return toResult(frequencies(array, parallel), metrics);
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(char[] array) {
+        return findMajorityElement(array, false);
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(char[] array, boolean parallel) {
+        BoyerMooreMajorityVote.Metrics metrics = startMetrics();
+        if (array == null) {
+            return nullInput(metrics);
+        }
+        return toResult(frequencies(array, parallel), metrics);
+    }
+
+
+    /**
+     * Bounded int[]: the caller vouches that every value lies in [min, max].
+     * A value outside the bounds yields an error Result.
+     *
+     * @throws IllegalArgumentException if the bounds span more than {@link #MAX_DOMAIN} values
+     */
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array, int min, int max, boolean parallel) {
+        checkDomain(min, max);
+        BoyerMooreMajorityVote.Metrics metrics = startMetrics();
+        if (array == null) {
+            return nullInput(metrics);
+        }
+        try {
+            return toResult(frequencies(array, min, max, parallel), metrics);
+        } catch (IllegalArgumentException e) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(e.getMessage(), metrics);
+        }
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+        return findMajorityElement(array, false);
+    }
+
+
+    /**
+     * int[] with unknown bounds: one pass measures the range. Inputs whose range exceeds
+     * {@link #MAX_DOMAIN} go to {@link PrimitiveMajorityVote}, and the range pass is charged to
+     * that result.
+     */
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array, boolean parallel) {
+        BoyerMooreMajorityVote.Metrics metrics = startMetrics();
+        if (array == null) {
+            return nullInput(metrics);
+        }
+        if (array.length == 0) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+
+        int min = array[0];
+        int max = array[0];
+        for (int value : array) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        metrics.addArrayAccesses(array.length);
+        metrics.addComparisons(2L * array.length);
+
+        if ((long) max - min + 1 > MAX_DOMAIN) {
+            BoyerMooreMajorityVote.Result fallback = parallel
+                    ? ParallelMajorityVote.findMajorityElement(array)
+                    : PrimitiveMajorityVote.findMajorityElement(array);
+            fallback.getMetrics().addArrayAccesses(metrics.getArrayAccesses());
+            fallback.getMetrics().addComparisons(metrics.getComparisons());
+            return fallback;
+        }
+
+        return toResult(frequencies(array, min, max, parallel), metrics);
+    }
+
+
+    private static BoyerMooreMajorityVote.Metrics startMetrics() {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+        return metrics;
+    }
+
+
+    private static BoyerMooreMajorityVote.Result nullInput(BoyerMooreMajorityVote.Metrics metrics) {
+        metrics.endTimer();
+        return new BoyerMooreMajorityVote.Result("Input array cannot be null", metrics);
+    }
+
+
+    private static BoyerMooreMajorityVote.Result toResult(Frequencies frequencies, BoyerMooreMajorityVote.Metrics metrics) {
+        if (frequencies.getTotal() == 0) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+
+        int mostFrequent = frequencies.mostFrequent();
+        metrics.incrementMemoryAllocations(); // Histogram
+        // One read of the input, then one read and comparison per histogram slot
+        metrics.addArrayAccesses(frequencies.getTotal() + frequencies.getDomainSize());
+        metrics.addComparisons(frequencies.getDomainSize());
+        metrics.endTimer();
+        return new BoyerMooreMajorityVote.Result(mostFrequent,
+                frequencies.getFrequency(mostFrequent) > frequencies.getTotal() / 2, metrics);
+    }
+
+
+    private static int checkDomain(int min, int max) {
+        long domain = (long) max - min + 1;
+        if (domain < 1 || domain > MAX_DOMAIN) {
+            throw new IllegalArgumentException("Bounds [" + min + ", " + max + "] must span 1 to " + MAX_DOMAIN + " values");
+        }
+        return (int) domain;
+    }
+
+
+    /**
+     * Fills a fresh histogram from elements [from, to) of the input
+     */
+    @FunctionalInterface
+    private interface ChunkCounter {
+        int[] count(int from, int to);
+    }
+
+
+    private static int[] histogram(int length, boolean parallel, ChunkCounter counter) {
+        int workers = ForkJoinPool.getCommonPoolParallelism();
+        if (!parallel || workers == 1 || length <= PARALLEL_THRESHOLD) {
+            return counter.count(0, length);
+        }
+        // About one leaf per worker, so each worker fills one private histogram
+        int leafSize = Math.max(PARALLEL_THRESHOLD, (length + workers - 1) / workers);
+        return ForkJoinPool.commonPool().invoke(new HistogramTask(counter, 0, length, leafSize));
+    }
+
+
+    private static class HistogramTask extends RecursiveTask<int[]> {
+        private final ChunkCounter counter;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        HistogramTask(ChunkCounter counter, int from, int to, int leafSize) {
+            this.counter = counter;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= leafSize) {
+                return counter.count(from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            HistogramTask left = new HistogramTask(counter, from, mid, leafSize);
+            left.fork();
+            int[] merged = new HistogramTask(counter, mid, to, leafSize).compute();
+            int[] other = left.join();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += other[i];
+            }
+            return merged;
+        }
+    }
+
+
+    private static int[] countBytes(byte[] array, int from, int to) {
+        int[] counts = new int[1 << Byte.SIZE];
+        for (int i = from; i < to; i++) {
+            counts[array[i] - Byte.MIN_VALUE]++;
+        }
+        return counts;
+    }
+
+
+    private static int[] countShorts(short[] array, int from, int to) {
+        int[] counts = new int[1 << Short.SIZE];
+        for (int i = from; i < to; i++) {
+            counts[array[i] - Short.MIN_VALUE]++;
+        }
+        return counts;
+    }
+
+
+    private static int[] countChars(char[] array, int from, int to) {
+        int[] counts = new int[1 << Character.SIZE];
+        for (int i = from; i < to; i++) {
+            counts[array[i]]++;
+        }
+        return counts;
+    }
+
+
+    private static int[] countInts(int[] array, int from, int to, int min, int domain) {
+        int[] counts = new int[domain];
+        for (int i = from; i < to; i++) {
+            counts[array[i] - min]++;
+        }
+        return counts;
+    }
+
+
+    private static int argMax(int[] counts) {
+        int best = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
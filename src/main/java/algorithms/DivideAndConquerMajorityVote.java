@@ -0,0 +1,106 @@
+package algorithms;
+
+
+/**
+ * Divide-and-conquer majority in O(n log n).
+ * A majority of [from, to) must be a majority of at least one half. So each level
+ * recurses into both halves and then counts at most two candidates across the whole range.
+ */
+public class DivideAndConquerMajorityVote {
+
+    /**
+     * Ranges this short are solved by a direct Boyer-Moore scan instead of further splitting
+     */
+    static final int LEAF_SIZE = 16;
+
+    /**
+     * @return the majority element widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     */
+    public static long findMajority(int[] array) {
+        if (array == null || array.length == 0) {
+            return PrimitiveMajorityVote.NO_MAJORITY;
+        }
+        return majority(array, 0, array.length, new BoyerMooreMajorityVote.Metrics());
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (array == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input array cannot be null", metrics);
+        }
+
+        if (array.length == 0) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+
+        long packed = majority(array, 0, array.length, metrics);
+        metrics.endTimer();
+
+        if (packed == PrimitiveMajorityVote.NO_MAJORITY) {
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+        return new BoyerMooreMajorityVote.Result((int) packed, true, metrics);
+    }
+
+
+    private static long majority(int[] array, int from, int to, BoyerMooreMajorityVote.Metrics metrics) {
+        if (to - from <= LEAF_SIZE) {
+            return leafMajority(array, from, to, metrics);
+        }
+
+        int mid = (from + to) >>> 1;
+        long left = majority(array, from, mid, metrics);
+        long right = majority(array, mid, to, metrics);
+
+        if (left == right) {
+            // Majority of both halves is a majority of the whole, and no-majority twice stays none
+            return left;
+        }
+        int half = (to - from) / 2;
+        if (left != PrimitiveMajorityVote.NO_MAJORITY && count(array, from, to, (int) left, metrics) > half) {
+            return left;
+        }
+        if (right != PrimitiveMajorityVote.NO_MAJORITY && count(array, from, to, (int) right, metrics) > half) {
+            return right;
+        }
+        return PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+
+    private static long leafMajority(int[] array, int from, int to, BoyerMooreMajorityVote.Metrics metrics) {
+        int candidate = array[from];
+        int votes = 0;
+        for (int i = from; i < to; i++) {
+            if (votes == 0) {
+                candidate = array[i];
+                votes = 1;
+            } else if (array[i] == candidate) {
+                votes++;
+            } else {
+                votes--;
+            }
+        }
+        metrics.addArrayAccesses(to - from);
+        metrics.addComparisons(to - from);
+        return count(array, from, to, candidate, metrics) > (to - from) / 2 ? candidate : PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+
+    private static int count(int[] array, int from, int to, int value, BoyerMooreMajorityVote.Metrics metrics) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (array[i] == value) {
+                count++;
+            }
+        }
+        metrics.addArrayAccesses(to - from);
+        metrics.addComparisons(to - from);
+        return count;
+    }
+}
@@ -0,0 +1,265 @@
+package algorithms;
+
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+
+/**
+ * Mutable array supporting point updates and range majority queries in O(log n).
+ *
+ * <p>A segment tree of Boyer-Moore (candidate, count) summaries gives the only possible
+ * candidate for any range. Verification counts the candidate's positions in the range with
+ * an order-statistic treap per distinct value. Every position belongs to exactly one value's
+ * treap, so treap node i simply is position i and all nodes live in shared int arrays.
+ */
+public class DynamicMajorityStructure {
+
+    private static final int NIL = -1;
+
+    private final int[] array;
+    private final int leaves;
+    private final int[] treeCandidate;
+    private final int[] treeCount;
+
+    // Treap nodes, indexed by array position
+    private final int[] left;
+    private final int[] right;
+    private final int[] priority;
+    private final int[] subtreeSize;
+    private final IntIntHashMap roots; // value -> treap root
+
+    private int splitLeft;
+    private int splitRight;
+
+    public DynamicMajorityStructure(int[] initial) {
+        Objects.requireNonNull(initial, "Input array cannot be null");
+        int length = initial.length;
+        this.array = initial.clone();
+
+        int size = 1;
+        while (size < Math.max(1, length)) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.treeCandidate = new int[2 * size];
+        this.treeCount = new int[2 * size];
+        for (int i = 0; i < length; i++) {
+            treeCandidate[size + i] = array[i];
+            treeCount[size + i] = 1;
+        }
+        for (int node = size - 1; node >= 1; node--) {
+            combine(node);
+        }
+
+        this.left = new int[length];
+        this.right = new int[length];
+        this.priority = new int[length];
+        this.subtreeSize = new int[length];
+        this.roots = new IntIntHashMap(16);
+        SplittableRandom random = new SplittableRandom(length);
+        for (int i = 0; i < length; i++) {
+            priority[i] = random.nextInt();
+            roots.put(array[i], insert(roots.get(array[i], NIL), i));
+        }
+    }
+
+
+    public void set(int index, int value) {
+        Objects.checkIndex(index, array.length);
+        int old = array[index];
+        if (old == value) {
+            return;
+        }
+
+        int oldRoot = remove(roots.get(old, NIL), index);
+        if (oldRoot == NIL) {
+            roots.remove(old);
+        } else {
+            roots.put(old, oldRoot);
+        }
+        roots.put(value, insert(roots.get(value, NIL), index));
+
+        array[index] = value;
+        int node = leaves + index;
+        treeCandidate[node] = value;
+        for (node >>= 1; node >= 1; node >>= 1) {
+            combine(node);
+        }
+    }
+
+
+    public int get(int index) {
+        return array[Objects.checkIndex(index, array.length)];
+    }
+
+
+    /**
+     * @return majority of the whole array widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     */
+    public long majority() {
+        if (array.length == 0 || treeCount[1] == 0) {
+            return PrimitiveMajorityVote.NO_MAJORITY;
+        }
+        int candidate = treeCandidate[1];
+        return sizeOf(roots.get(candidate, NIL)) > array.length / 2 ? candidate : PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+
+    /**
+     * @return majority of array[from..to] (inclusive) widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     */
+    public long query(int from, int to) {
+        if (from > to) {
+            throw new IndexOutOfBoundsException("Empty range [" + from + ", " + to + "]");
+        }
+        Objects.checkFromToIndex(from, to + 1, array.length);
+
+        int candidate = 0;
+        int count = 0;
+        for (int lo = from + leaves, hi = to + leaves + 1; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                int node = lo++;
+                if (treeCandidate[node] == candidate) {
+                    count += treeCount[node];
+                } else if (count >= treeCount[node]) {
+                    count -= treeCount[node];
+                } else {
+                    candidate = treeCandidate[node];
+                    count = treeCount[node] - count;
+                }
+            }
+            if ((hi & 1) == 1) {
+                int node = --hi;
+                if (treeCandidate[node] == candidate) {
+                    count += treeCount[node];
+                } else if (count >= treeCount[node]) {
+                    count -= treeCount[node];
+                } else {
+                    candidate = treeCandidate[node];
+                    count = treeCount[node] - count;
+                }
+            }
+        }
+
+        if (count == 0) {
+            return PrimitiveMajorityVote.NO_MAJORITY;
+        }
+        return frequency(candidate, from, to) > (to - from + 1) / 2 ? candidate : PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+
+    /**
+     * Occurrences of value in array[from..to] (inclusive)
+     */
+    public int frequency(int value, int from, int to) {
+        int root = roots.get(value, NIL);
+        return rank(root, to + 1) - rank(root, from);
+    }
+
+
+    public int size() { return array.length; }
+    public int distinctValues() { return roots.size(); }
+
+
+    private void combine(int node) {
+        int l = 2 * node;
+        int r = l + 1;
+        if (treeCandidate[l] == treeCandidate[r]) {
+            treeCandidate[node] = treeCandidate[l];
+            treeCount[node] = treeCount[l] + treeCount[r];
+        } else if (treeCount[l] >= treeCount[r]) {
+            treeCandidate[node] = treeCandidate[l];
+            treeCount[node] = treeCount[l] - treeCount[r];
+        } else {
+            treeCandidate[node] = treeCandidate[r];
+            treeCount[node] = treeCount[r] - treeCount[l];
+        }
+    }
+
+
+    /**
+     * Number of positions below key in the treap
+     */
+    private int rank(int node, int key) {
+        int rank = 0;
+        while (node != NIL) {
+            if (node < key) {
+                rank += sizeOf(left[node]) + 1;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return rank;
+    }
+
+
+    private int insert(int root, int position) {
+        left[position] = NIL;
+        right[position] = NIL;
+        subtreeSize[position] = 1;
+        split(root, position);
+        int below = splitLeft;
+        int above = splitRight;
+        return merge(merge(below, position), above);
+    }
+
+
+    private int remove(int root, int position) {
+        split(root, position);
+        int below = splitLeft;
+        split(splitRight, position + 1);
+        return merge(below, splitRight);
+    }
+
+
+    /**
+     * Splits into keys below key (splitLeft) and keys at or above it (splitRight)
+     */
+    private void split(int node, int key) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        if (node < key) {
+            split(right[node], key);
+            right[node] = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            split(left[node], key);
+            left[node] = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+
+    private void update(int node) {
+        subtreeSize[node] = sizeOf(left[node]) + sizeOf(right[node]) + 1;
+    }
+
+
+    private int sizeOf(int node) {
+        return node == NIL ? 0 : subtreeSize[node];
+    }
+}
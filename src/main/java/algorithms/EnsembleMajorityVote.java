@@ -0,0 +1,195 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+
+/**
+ * Position-wise majority across K aligned int[] arrays, such as the label predictions of an
+ * ensemble of K models over the same n inputs.
+ *
+ * <p>Positions are processed in tiles of {@link #TILE} columns. Within a tile the vote streams
+ * through each model's row in turn, carrying one Boyer-Moore candidate and count per column.
+ * A second sweep then counts each column's candidate. Both sweeps read every row
+ * sequentially, and a tile's state stays in L1 instead of striding down columns. Tiles own
+ * disjoint positions and whole bitmap words, so parallel mode runs them independently.
+ */
+public class EnsembleMajorityVote {
+
+    /**
+     * Positions per tile; a multiple of 64 so each tile owns whole words of the no-majority bitmap
+     */
+    public static final int TILE = 1024;
+
+    public static class Result {
+        private final int models;
+        private final int[] winners;
+        private final long[] noMajority;
+        private final BoyerMooreMajorityVote.Metrics metrics;
+        private final String errorMessage;
+
+        public Result(int models, int[] winners, long[] noMajority, BoyerMooreMajorityVote.Metrics metrics) {
+            this.models = models;
+            this.winners = winners;
+            this.noMajority = noMajority;
+            this.metrics = metrics;
+            this.errorMessage = null;
+        }
+
+        public Result(String errorMessage, BoyerMooreMajorityVote.Metrics metrics) {
+            this.models = 0;
+            this.winners = new int[0];
+            this.noMajority = new long[0];
+            this.metrics = metrics;
+            this.errorMessage = errorMessage;
+        }
+
+        public int getModels() { return models; }
+        public int getPositions() { return winners.length; }
+
+        /**
+         * Majority label per position; only meaningful where {@link #hasMajority(int)} holds
+         */
+        public int[] getWinners() { return winners.clone(); }
+
+        /**
+         * Bit p set means position p has no majority; same layout as {@link java.util.BitSet#toLongArray()}
+         */
+        public long[] getNoMajorityBitmap() { return noMajority.clone(); }
+
+        public boolean hasMajority(int position) {
+            Objects.checkIndex(position, winners.length);
+            return (noMajority[position >>> 6] & (1L << position)) == 0;
+        }
+
+        public int getWinner(int position) {
+            if (!hasMajority(position)) {
+                throw new IllegalStateException("No majority at position " + position);
+            }
+            return winners[position];
+        }
+
+        public int getNoMajorityCount() {
+            int count = 0;
+            for (long word : noMajority) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        public BoyerMooreMajorityVote.Metrics getMetrics() { return metrics; }
+        public String getErrorMessage() { return errorMessage; }
+        public boolean hasError() { return errorMessage != null; }
+
+        @Override
+        public String toString() {
+            if (hasError()) {
+                return String.format("Result{error='%s', %s}", errorMessage, metrics);
+            }
+            return String.format("Result{models=%d, positions=%d, noMajority=%d, %s}",
+                    models, winners.length, getNoMajorityCount(), metrics);
+        }
+    }
+
+
+    public static Result findMajorityElements(int[][] predictions) {
+        return findMajorityElements(predictions, false);
+    }
+
+
+    /**
+     * @param predictions K arrays of equal length n; row k holds model k's label per position
+     */
+    public static Result findMajorityElements(int[][] predictions, boolean parallel) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        String error = validate(predictions);
+        if (error != null) {
+            metrics.endTimer();
+            return new Result(error, metrics);
+        }
+
+        int models = predictions.length;
+        int positions = predictions[0].length;
+        int[] winners = new int[positions];
+        long[] noMajority = new long[(positions + 63) >>> 6];
+        metrics.incrementMemoryAllocations(); // Winners
+        metrics.incrementMemoryAllocations(); // Bitmap
+
+        int tiles = (positions + TILE - 1) / TILE;
+        IntStream tileIndexes = IntStream.range(0, tiles);
+        if (parallel) {
+            tileIndexes = tileIndexes.parallel();
+        }
+        tileIndexes.forEach(tile -> voteTile(predictions, tile * TILE, Math.min(positions, (tile + 1) * TILE),
+                winners, noMajority));
+
+        // Candidate sweep and count sweep each read every prediction once
+        long votes = (long) models * positions;
+        metrics.addArrayAccesses(2 * votes);
+        metrics.addComparisons(2 * votes);
+        metrics.endTimer();
+        return new Result(models, winners, noMajority, metrics);
+    }
+
+
+    private static String validate(int[][] predictions) {
+        if (predictions == null) {
+            return "Predictions cannot be null";
+        }
+        if (predictions.length == 0) {
+            return "At least one prediction array is required";
+        }
+        for (int k = 0; k < predictions.length; k++) {
+            if (predictions[k] == null) {
+                return "Prediction array " + k + " is null";
+            }
+            if (predictions[k].length != predictions[0].length) {
+                return "Prediction array " + k + " has length " + predictions[k].length
+                        + ", expected " + predictions[0].length;
+            }
+        }
+        return null;
+    }
+
+
+    private static void voteTile(int[][] predictions, int from, int to, int[] winners, long[] noMajority) {
+        int width = to - from;
+        int[] candidates = new int[width];
+        int[] counts = new int[width];
+
+        for (int[] row : predictions) {
+            for (int i = 0; i < width; i++) {
+                int value = row[from + i];
+                if (counts[i] == 0) {
+                    candidates[i] = value;
+                    counts[i] = 1;
+                } else if (value == candidates[i]) {
+                    counts[i]++;
+                } else {
+                    counts[i]--;
+                }
+            }
+        }
+
+        Arrays.fill(counts, 0);
+        for (int[] row : predictions) {
+            for (int i = 0; i < width; i++) {
+                // Branch-free: add 1 when the prediction matches the column's candidate
+                counts[i] += row[from + i] == candidates[i] ? 1 : 0;
+            }
+        }
+
+        int half = predictions.length / 2;
+        for (int i = 0; i < width; i++) {
+            int position = from + i;
+            winners[position] = candidates[i];
+            if (counts[i] <= half) {
+                noMajority[position >>> 6] |= 1L << position;
+            }
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+
+/**
+ * Majority value per key over (key, value) records, in the style of
+ * {@code SELECT key, MAJORITY(value) ... GROUP BY key}.
+ *
+ * <p>The first pass keeps one Boyer-Moore state per key in a primitive open-addressing table.
+ * The state is the candidate in the high 32 bits of a long and the count in the low 32 bits.
+ * The second pass counts each key's records and its candidate's occurrences in the same slot
+ * layout, which confirms or rejects every candidate. Parallel mode first scatters record
+ * indexes into hash partitions, then runs both passes per partition with a private table and
+ * no shared state.
+ */
+public class GroupedMajorityAggregator {
+
+    /**
+     * Inputs at or below this many records are aggregated on the calling thread even in parallel mode
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    public static class Result {
+        private final long[] keys;
+        private final long[] majorities;
+        private final int[] groupSizes;
+        private final StateTable index;
+        private final BoyerMooreMajorityVote.Metrics metrics;
+        private final String errorMessage;
+
+        Result(long[] keys, long[] majorities, int[] groupSizes, BoyerMooreMajorityVote.Metrics metrics) {
+            this.keys = keys;
+            this.majorities = majorities;
+            this.groupSizes = groupSizes;
+            this.index = new StateTable(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                index.state[index.insert(keys[i])] = i;
+            }
+            this.metrics = metrics;
+            this.errorMessage = null;
+        }
+
+        Result(String errorMessage, BoyerMooreMajorityVote.Metrics metrics) {
+            this.keys = new long[0];
+            this.majorities = new long[0];
+            this.groupSizes = new int[0];
+            this.index = new StateTable(0);
+            this.metrics = metrics;
+            this.errorMessage = errorMessage;
+        }
+
+        public int getGroupCount() { return keys.length; }
+
+        /**
+         * Distinct keys, in no particular order; the other arrays are aligned with this one
+         */
+        public long[] getKeys() { return keys.clone(); }
+
+        /**
+         * Majority value per group widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+         */
+        public long[] getMajorities() { return majorities.clone(); }
+        public int[] getGroupSizes() { return groupSizes.clone(); }
+
+        /**
+         * @return the key's majority widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+         *         when the key has no majority or never occurred
+         */
+        public long majority(long key) {
+            int slot = index.find(key);
+            return slot < 0 ? PrimitiveMajorityVote.NO_MAJORITY : majorities[(int) index.state[slot]];
+        }
+
+        public int groupSize(long key) {
+            int slot = index.find(key);
+            return slot < 0 ? 0 : groupSizes[(int) index.state[slot]];
+        }
+
+        public int getGroupsWithMajority() {
+            int count = 0;
+            for (long majority : majorities) {
+                if (majority != PrimitiveMajorityVote.NO_MAJORITY) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public BoyerMooreMajorityVote.Metrics getMetrics() { return metrics; }
+        public String getErrorMessage() { return errorMessage; }
+        public boolean hasError() { return errorMessage != null; }
+
+        @Override
+        public String toString() {
+            if (hasError()) {
+                return String.format("Result{error='%s', %s}", errorMessage, metrics);
+            }
+            return String.format("Result{groups=%d, withMajority=%d, %s}",
+                    keys.length, getGroupsWithMajority(), metrics);
+        }
+    }
+
+
+    public static Result aggregate(long[] keys, int[] values) {
+        return aggregate(keys, values, false);
+    }
+
+
+    /**
+     * @param keys   record keys; keys[i] goes with values[i]
+     * @param values record values
+     */
+    public static Result aggregate(long[] keys, int[] values, boolean parallel) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (keys == null || values == null) {
+            metrics.endTimer();
+            return new Result("Keys and values cannot be null", metrics);
+        }
+        if (keys.length != values.length) {
+            metrics.endTimer();
+            return new Result("Keys and values differ in length: " + keys.length + " vs " + values.length, metrics);
+        }
+
+        int n = keys.length;
+        // About four partitions per worker, rounded up to a power of two, to even out skewed keys
+        int partitions = parallel && n > PARALLEL_THRESHOLD
+                ? Integer.highestOneBit(ForkJoinPool.getCommonPoolParallelism() * 4 - 1) << 1
+                : 1;
+
+        Result result;
+        if (partitions == 1) {
+            Partial partial = aggregateRange(keys, values, null, 0, n);
+            result = new Result(partial.keys, partial.majorities, partial.groupSizes, metrics);
+        } else {
+            int[] order = new int[n];
+            int[] bounds = scatter(keys, partitions, order);
+            metrics.incrementMemoryAllocations(); // Partition order
+            metrics.addArrayAccesses(2L * n);
+
+            Partial[] partials = IntStream.range(0, partitions).parallel()
+                    .mapToObj(p -> aggregateRange(keys, values, order, bounds[p], bounds[p + 1]))
+                    .toArray(Partial[]::new);
+            result = concat(partials, metrics);
+        }
+
+        // Two passes, each reading a key and a value per record; one value comparison per record per pass
+        metrics.incrementMemoryAllocations(); // State table
+        metrics.addArrayAccesses(4L * n);
+        metrics.addComparisons(2L * n);
+        metrics.endTimer();
+        return result;
+    }
+
+
+    /**
+     * Groups of one partition, or of the whole input
+     */
+    private static final class Partial {
+        final long[] keys;
+        final long[] majorities;
+        final int[] groupSizes;
+
+        Partial(long[] keys, long[] majorities, int[] groupSizes) {
+            this.keys = keys;
+            this.majorities = majorities;
+            this.groupSizes = groupSizes;
+        }
+    }
+
+
+    /**
+     * Both passes over records order[from..to), or records from..to when order is null
+     */
+    private static Partial aggregateRange(long[] keys, int[] values, int[] order, int from, int to) {
+        StateTable table = new StateTable(Math.min(to - from, 1 << 16));
+
+        // Candidate pass: Boyer-Moore per key, state = candidate << 32 | count
+        for (int i = from; i < to; i++) {
+            int record = order == null ? i : order[i];
+            int slot = table.insert(keys[record]);
+            long state = table.state[slot];
+            int candidate = (int) (state >>> 32);
+            int count = (int) state;
+            int value = values[record];
+            if (count == 0) {
+                table.state[slot] = (long) value << 32 | 1;
+            } else if (value == candidate) {
+                table.state[slot] = state + 1;
+            } else {
+                table.state[slot] = state - 1;
+            }
+        }
+
+        // Verification pass: tally = group size << 32 | candidate occurrences, slot-aligned with state
+        long[] tally = new long[table.capacity()];
+        for (int i = from; i < to; i++) {
+            int record = order == null ? i : order[i];
+            int slot = table.find(keys[record]);
+            int candidate = (int) (table.state[slot] >>> 32);
+            tally[slot] += (1L << 32) + (values[record] == candidate ? 1 : 0);
+        }
+
+        int groups = table.size();
+        long[] groupKeys = new long[groups];
+        long[] majorities = new long[groups];
+        int[] groupSizes = new int[groups];
+        int g = 0;
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.used[slot]) {
+                int size = (int) (tally[slot] >>> 32);
+                int occurrences = (int) tally[slot];
+                groupKeys[g] = table.keys[slot];
+                groupSizes[g] = size;
+                majorities[g] = occurrences > size / 2 ? (int) (table.state[slot] >>> 32) : PrimitiveMajorityVote.NO_MAJORITY;
+                g++;
+            }
+        }
+        return new Partial(groupKeys, majorities, groupSizes);
+    }
+
+
+    /**
+     * Counting sort of record indexes by partition
+     *
+     * @return partition p owns order[bounds[p] .. bounds[p + 1])
+     */
+    private static int[] scatter(long[] keys, int partitions, int[] order) {
+        int shift = Integer.SIZE - Integer.numberOfTrailingZeros(partitions);
+        int[] bounds = new int[partitions + 1];
+        for (long key : keys) {
+            bounds[partitionOf(key, shift) + 1]++;
+        }
+        for (int p = 0; p < partitions; p++) {
+            bounds[p + 1] += bounds[p];
+        }
+        int[] next = Arrays.copyOf(bounds, partitions);
+        for (int i = 0; i < keys.length; i++) {
+            order[next[partitionOf(keys[i], shift)]++] = i;
+        }
+        return bounds;
+    }
+
+
+    /**
+     * Top bits of the hash pick the partition, so they do not correlate with the low bits
+     * that pick a slot inside the partition's table
+     */
+    private static int partitionOf(long key, int shift) {
+        return StateTable.hash(key) >>> shift;
+    }
+
+
+    private static Result concat(Partial[] partials, BoyerMooreMajorityVote.Metrics metrics) {
+        int groups = 0;
+        for (Partial partial : partials) {
+            groups += partial.keys.length;
+        }
+        long[] keys = new long[groups];
+        long[] majorities = new long[groups];
+        int[] groupSizes = new int[groups];
+        int offset = 0;
+        for (Partial partial : partials) {
+            int length = partial.keys.length;
+            System.arraycopy(partial.keys, 0, keys, offset, length);
+            System.arraycopy(partial.majorities, 0, majorities, offset, length);
+            System.arraycopy(partial.groupSizes, 0, groupSizes, offset, length);
+            offset += length;
+        }
+        return new Result(keys, majorities, groupSizes, metrics);
+    }
+
+
+    /**
+     * Open-addressing long -> long table with linear probing. Callers address values by slot,
+     * so a state can be read and written with a single probe sequence.
+     */
+    static final class StateTable {
+        private static final float LOAD_FACTOR = 0.5f;
+
+        long[] keys;
+        long[] state;
+        boolean[] used;
+        private int mask;
+        private int size;
+        private int resizeAt;
+
+        StateTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+            allocate(capacity);
+        }
+
+        /**
+         * @return the key's slot, or -1 if absent
+         */
+        int find(long key) {
+            for (int slot = hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return the key's slot, claiming one with state 0 if the key is new
+         */
+        int insert(long key) {
+            int slot = hash(key) & mask;
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size + 1 > resizeAt) {
+                rehash(keys.length << 1);
+                return insert(key);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+            return slot;
+        }
+
+        int size() { return size; }
+        int capacity() { return keys.length; }
+
+        static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            state = new long[capacity];
+            used = new boolean[capacity];
+            mask = capacity - 1;
+            resizeAt = (int) (capacity * LOAD_FACTOR);
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldState = state;
+            boolean[] oldUsed = used;
+            allocate(capacity);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = hash(oldKeys[i]) & mask;
+                    while (used[slot]) {
+                        slot = (slot + 1) & mask;
+                    }
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    state[slot] = oldState[i];
+                }
+            }
+        }
+    }
+}
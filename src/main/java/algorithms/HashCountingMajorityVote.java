@@ -0,0 +1,68 @@
+package algorithms;
+
+
+/**
+ * Majority by exact per-value counting in an {@link IntIntHashMap}.
+ * One pass, stopping as soon as some count exceeds n/2. The cost is memory
+ * proportional to the number of distinct values seen.
+ */
+public class HashCountingMajorityVote {
+
+    /**
+     * Cap on the pre-sized table; the map grows past it when the input has more distinct values
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+    /**
+     * @return the majority element widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     */
+    public static long findMajority(int[] array) {
+        if (array == null || array.length == 0) {
+            return PrimitiveMajorityVote.NO_MAJORITY;
+        }
+        IntIntHashMap counts = new IntIntHashMap(Math.min(array.length, MAX_INITIAL_CAPACITY));
+        int half = array.length / 2;
+        for (int value : array) {
+            if (counts.addTo(value, 1) > half) {
+                return value;
+            }
+        }
+        return PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (array == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input array cannot be null", metrics);
+        }
+
+        if (array.length == 0) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+
+        IntIntHashMap counts = new IntIntHashMap(Math.min(array.length, MAX_INITIAL_CAPACITY));
+        metrics.incrementMemoryAllocations(); // Count table
+        int half = array.length / 2;
+
+        for (int i = 0; i < array.length; i++) {
+            int value = array[i];
+            if (counts.addTo(value, 1) > half) {
+                metrics.addArrayAccesses(i + 1L);
+                metrics.addComparisons(i + 1L);
+                metrics.endTimer();
+                return new BoyerMooreMajorityVote.Result(value, true, metrics);
+            }
+        }
+
+        metrics.addArrayAccesses(array.length);
+        metrics.addComparisons(array.length);
+        metrics.endTimer();
+        return new BoyerMooreMajorityVote.Result(null, false, metrics);
+    }
+}
@@ -0,0 +1,310 @@
+package algorithms;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+
+/**
+ * Running Boyer-Moore candidate for each of many independent keys, with every key's state
+ * held off-heap. Use it, for example, to track one stream per user or per device.
+ *
+ * <p>Entries live in an open-addressing table with linear probing, spread over direct
+ * {@link ByteBuffer} slabs of {@link #SLAB_SLOTS} slots each. An entry takes
+ * {@link #ENTRY_BYTES} bytes: key, candidate, count, total, and the epoch of its last update.
+ * So the footprint per key depends only on the load factor, not on how many keys there are,
+ * and the GC never sees one object per key.
+ *
+ * <p>Idle keys are dropped by {@link #evictIdle(int)}, which uses epochs the caller advances
+ * with {@link #advanceEpoch()}, for example once a second. Deletion shifts entries back, so the
+ * table never fills with tombstones. Per-key counts are 32-bit. Like {@link MajorityAccumulator},
+ * candidates are not verified; {@link #isConfirmedMajority(long)} holds only when the count alone
+ * proves a majority. Not thread-safe.
+ */
+public class KeyedStreamingMajority {
+
+    /**
+     * Key (8), candidate (4), count (4), total (4), last epoch (4)
+     */
+    public static final int ENTRY_BYTES = 24;
+
+    /**
+     * Slots per slab; slabs stay small enough to allocate in fragmented direct memory
+     */
+    public static final int SLAB_SLOTS = 1 << 16;
+
+    private static final int SLAB_SHIFT = Integer.numberOfTrailingZeros(SLAB_SLOTS);
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int KEY = 0;
+    private static final int CANDIDATE = 8;
+    private static final int COUNT = 12;
+    private static final int TOTAL = 16;
+    private static final int EPOCH = 20;
+
+    private ByteBuffer[] slabs;
+    private int capacity;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private int epoch = 1; // Epoch 0 marks an empty slot
+    private long updates;
+    private long evictions;
+
+    public KeyedStreamingMajority(int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("Expected key count cannot be negative: " + expectedKeys);
+        }
+        long wanted = Math.max(4, (long) Math.ceil(expectedKeys / LOAD_FACTOR));
+        if (wanted > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Too many expected keys: " + expectedKeys);
+        }
+        allocate(Integer.highestOneBit((int) wanted - 1) << 1);
+    }
+
+    public void accept(long key, int value) {
+        int slot = insert(key);
+        ByteBuffer slab = slabs[slot >>> SLAB_SHIFT];
+        int base = offset(slot);
+
+        int count = slab.getInt(base + COUNT);
+        if (count == 0) {
+            slab.putInt(base + CANDIDATE, value);
+            slab.putInt(base + COUNT, 1);
+        } else if (slab.getInt(base + CANDIDATE) == value) {
+            slab.putInt(base + COUNT, count + 1);
+        } else {
+            slab.putInt(base + COUNT, count - 1);
+        }
+        slab.putInt(base + TOTAL, slab.getInt(base + TOTAL) + 1);
+        slab.putInt(base + EPOCH, epoch);
+        updates++;
+    }
+
+    /**
+     * Applies records off..off+len-1; keys[i] goes with values[i]
+     */
+    public void accept(long[] keys, int[] values, int off, int len) {
+        Objects.checkFromIndexSize(off, len, keys.length);
+        Objects.checkFromIndexSize(off, len, values.length);
+        for (int i = off, end = off + len; i < end; i++) {
+            accept(keys[i], values[i]);
+        }
+    }
+
+    public boolean contains(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return the key's candidate widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     *         when the key is unknown or its votes have cancelled out
+     */
+    public long candidate(long key) {
+        int slot = find(key);
+        if (slot < 0 || readInt(slot, COUNT) == 0) {
+            return PrimitiveMajorityVote.NO_MAJORITY;
+        }
+        return readInt(slot, CANDIDATE);
+    }
+
+    public int getCount(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : readInt(slot, COUNT);
+    }
+
+    public int getTotal(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : readInt(slot, TOTAL);
+    }
+
+    /**
+     * True when the candidate's count exceeds half of the key's updates, which proves a majority
+     */
+    public boolean isConfirmedMajority(long key) {
+        int slot = find(key);
+        return slot >= 0 && readInt(slot, COUNT) > readInt(slot, TOTAL) / 2;
+    }
+
+    /**
+     * Starts a new epoch; later updates are stamped with it
+     *
+     * @return the new epoch
+     */
+    public int advanceEpoch() {
+        if (epoch == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Epoch counter exhausted");
+        }
+        return ++epoch;
+    }
+
+    public int getEpoch() { return epoch; }
+
+    /**
+     * Removes every key whose last update is more than idleEpochs epochs old.
+     * With idleEpochs 0, only keys updated in the current epoch survive.
+     *
+     * @return the number of keys removed
+     */
+    public int evictIdle(int idleEpochs) {
+        if (idleEpochs < 0) {
+            throw new IllegalArgumentException("Idle epochs cannot be negative: " + idleEpochs);
+        }
+        int oldest = epoch - idleEpochs;
+        int removed = 0;
+        int slot = 0;
+        while (slot < capacity) {
+            int stamp = readInt(slot, EPOCH);
+            if (stamp != 0 && stamp < oldest) {
+                // Re-examine this slot: the shift may have moved a later entry into it
+                removeAt(slot);
+                removed++;
+            } else {
+                slot++;
+            }
+        }
+        evictions += removed;
+        return removed;
+    }
+
+    public void clear() {
+        for (int slot = 0; slot < capacity; slot++) {
+            writeInt(slot, EPOCH, 0);
+        }
+        size = 0;
+    }
+
+    public int size() { return size; }
+    public int capacity() { return capacity; }
+    public long getUpdates() { return updates; }
+    public long getEvictions() { return evictions; }
+
+    /**
+     * Off-heap bytes held by the slabs
+     */
+    public long footprintBytes() {
+        return (long) capacity * ENTRY_BYTES;
+    }
+
+    public double bytesPerKey() {
+        return size > 0 ? (double) footprintBytes() / size : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("KeyedStreamingMajority{keys=%d, capacity=%d, epoch=%d, updates=%d, evictions=%d, %.1f bytes/key}",
+                size, capacity, epoch, updates, evictions, bytesPerKey());
+    }
+
+
+    private int find(long key) {
+        for (int slot = GroupedMajorityAggregator.StateTable.hash(key) & mask;
+             readInt(slot, EPOCH) != 0; slot = (slot + 1) & mask) {
+            if (readLong(slot, KEY) == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the key's slot, claiming a zeroed one if the key is new
+     */
+    private int insert(long key) {
+        int slot = GroupedMajorityAggregator.StateTable.hash(key) & mask;
+        while (readInt(slot, EPOCH) != 0) {
+            if (readLong(slot, KEY) == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size + 1 > resizeAt) {
+            rehash(capacity << 1);
+            return insert(key);
+        }
+        ByteBuffer slab = slabs[slot >>> SLAB_SHIFT];
+        int base = offset(slot);
+        slab.putLong(base + KEY, key);
+        slab.putInt(base + CANDIDATE, 0);
+        slab.putInt(base + COUNT, 0);
+        slab.putInt(base + TOTAL, 0);
+        slab.putInt(base + EPOCH, epoch);
+        size++;
+        return slot;
+    }
+
+    /**
+     * Backward-shift deletion, as in {@link IntIntHashMap}
+     */
+    private void removeAt(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (readInt(slot, EPOCH) == 0) {
+                break;
+            }
+            int home = GroupedMajorityAggregator.StateTable.hash(readLong(slot, KEY)) & mask;
+            // Move the entry only if its home bucket is not in the cyclic range (gap, slot]
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                copyEntry(slot, gap);
+                gap = slot;
+            }
+        }
+        writeInt(gap, EPOCH, 0);
+        size--;
+    }
+
+    private void copyEntry(int from, int to) {
+        slabs[to >>> SLAB_SHIFT].put(offset(to), slabs[from >>> SLAB_SHIFT], offset(from), ENTRY_BYTES);
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        resizeAt = (int) (newCapacity * LOAD_FACTOR);
+        int slabSlots = Math.min(newCapacity, SLAB_SLOTS);
+        slabs = new ByteBuffer[(newCapacity + slabSlots - 1) / slabSlots];
+        for (int i = 0; i < slabs.length; i++) {
+            // Direct buffers start zeroed, so every slot starts empty
+            slabs[i] = ByteBuffer.allocateDirect(slabSlots * ENTRY_BYTES).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Key table cannot grow past " + MAX_CAPACITY + " slots");
+        }
+        ByteBuffer[] oldSlabs = slabs;
+        int oldCapacity = capacity;
+        allocate(newCapacity);
+        for (int old = 0; old < oldCapacity; old++) {
+            ByteBuffer oldSlab = oldSlabs[old >>> SLAB_SHIFT];
+            int oldBase = offset(old);
+            if (oldSlab.getInt(oldBase + EPOCH) == 0) {
+                continue;
+            }
+            int slot = GroupedMajorityAggregator.StateTable.hash(oldSlab.getLong(oldBase + KEY)) & mask;
+            while (readInt(slot, EPOCH) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slabs[slot >>> SLAB_SHIFT].put(offset(slot), oldSlab, oldBase, ENTRY_BYTES);
+        }
+    }
+
+    private static int offset(int slot) {
+        return (slot & (SLAB_SLOTS - 1)) * ENTRY_BYTES;
+    }
+
+    private int readInt(int slot, int field) {
+        return slabs[slot >>> SLAB_SHIFT].getInt(offset(slot) + field);
+    }
+
+    private long readLong(int slot, int field) {
+        return slabs[slot >>> SLAB_SHIFT].getLong(offset(slot) + field);
+    }
+
+    private void writeInt(int slot, int field, int value) {
+        slabs[slot >>> SLAB_SHIFT].putInt(offset(slot) + field, value);
+    }
+}
@@ -0,0 +1,125 @@
+package algorithms;
+
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+
+/**
+ * Incremental Boyer-Moore candidate phase for unbounded feeds.
+ * Keeps only (candidate, count, total), so memory is O(1) and the current
+ * candidate can be read at any time without rescanning.
+ *
+ * <p>Without a second pass the candidate is not verified; {@link #isConfirmedMajority()}
+ * is true only when the count alone proves a majority of everything seen so far.
+ * Not thread-safe; use one accumulator per thread and {@link #combine}.
+ */
+public class MajorityAccumulator implements IntConsumer {
+
+    private int candidate;
+    private long count;
+    private long total;
+
+    @Override
+    public void accept(int value) {
+        total++;
+        if (count == 0) {
+            candidate = value;
+            count = 1;
+        } else if (value == candidate) {
+            count++;
+        } else {
+            count--;
+        }
+    }
+
+    public void accept(int[] batch, int off, int len) {
+        Objects.checkFromIndexSize(off, len, batch.length);
+
+        int c = candidate;
+        long k = count;
+        for (int i = off, end = off + len; i < end; i++) {
+            int value = batch[i];
+            if (k == 0) {
+                c = value;
+                k = 1;
+            } else if (value == c) {
+                k++;
+            } else {
+                k--;
+            }
+        }
+
+        candidate = c;
+        count = k;
+        total += len;
+    }
+
+    /**
+     * Fold another accumulator's state into this one; the result is the same
+     * as if this accumulator had seen both feeds
+     */
+    public MajorityAccumulator combine(MajorityAccumulator other) {
+        MajoritySummary merged = toSummary().merge(other.toSummary());
+        candidate = merged.getCandidate();
+        count = merged.getCount();
+        total += other.total;
+        return this;
+    }
+
+    public boolean hasCandidate() { return count > 0; }
+
+    public int getCandidate() {
+        if (count == 0) {
+            throw new IllegalStateException("No candidate: every element seen so far has been cancelled out");
+        }
+        return candidate;
+    }
+
+    public long getCount() { return count; }
+    public long getTotal() { return total; }
+
+    /**
+     * The count is a lower bound on the candidate's frequency, so once it exceeds
+     * half of the total the candidate is a majority without verification
+     */
+    public boolean isConfirmedMajority() {
+        return count > total / 2;
+    }
+
+    public MajoritySummary toSummary() {
+        return count == 0 ? MajoritySummary.EMPTY : new MajoritySummary(candidate, count);
+    }
+
+    public void reset() {
+        candidate = 0;
+        count = 0;
+        total = 0;
+    }
+
+    /**
+     * Collector for boxed streams; combines partial results of parallel streams
+     */
+    public static Collector<Integer, MajorityAccumulator, MajorityAccumulator> collector() {
+        return Collector.of(
+                MajorityAccumulator::new,
+                MajorityAccumulator::accept,
+                MajorityAccumulator::combine,
+                Collector.Characteristics.IDENTITY_FINISH,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Primitive counterpart of {@link #collector()} for IntStream pipelines
+     */
+    public static MajorityAccumulator collect(IntStream stream) {
+        return stream.collect(MajorityAccumulator::new, MajorityAccumulator::accept, MajorityAccumulator::combine);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MajorityAccumulator{candidate=%s, count=%d, total=%d}",
+                count > 0 ? String.valueOf(candidate) : "none", count, total);
+    }
+}
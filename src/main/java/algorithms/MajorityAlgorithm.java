@@ -0,0 +1,25 @@
+package algorithms;
+
+
+/**
+ * Service interface for majority engines over int[].
+ *
+ * <p>Every engine reports through the shared {@link BoyerMooreMajorityVote.Result} and
+ * {@link BoyerMooreMajorityVote.Metrics} types, so the tracker can benchmark them side by side.
+ * Implementations are discovered with {@link java.util.ServiceLoader} from
+ * {@code META-INF/services/algorithms.MajorityAlgorithm}; look them up through
+ * {@link MajorityAlgorithms}.
+ */
+public interface MajorityAlgorithm {
+
+    /**
+     * Registry key, unique across engines
+     */
+    String name();
+
+    /**
+     * A null array yields an error Result, an empty array yields no majority. Without a majority
+     * the Result's element is null, never the rejected candidate.
+     */
+    BoyerMooreMajorityVote.Result findMajorityElement(int[] array);
+}
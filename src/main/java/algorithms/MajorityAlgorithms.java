@@ -0,0 +1,58 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+
+/**
+ * Name-indexed registry of the {@link MajorityAlgorithm} providers on the class path
+ */
+public final class MajorityAlgorithms {
+
+    private static final Map<String, MajorityAlgorithm> REGISTRY = load();
+
+    private MajorityAlgorithms() {
+    }
+
+    private static Map<String, MajorityAlgorithm> load() {
+        Map<String, MajorityAlgorithm> registry = new LinkedHashMap<>();
+        for (MajorityAlgorithm algorithm : ServiceLoader.load(MajorityAlgorithm.class)) {
+            MajorityAlgorithm previous = registry.putIfAbsent(algorithm.name(), algorithm);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate majority algorithm name: " + algorithm.name());
+            }
+        }
+        return Collections.unmodifiableMap(registry);
+    }
+
+
+    /**
+     * @return engines in registration order
+     */
+    public static List<MajorityAlgorithm> all() {
+        return new ArrayList<>(REGISTRY.values());
+    }
+
+
+    public static List<String> names() {
+        return new ArrayList<>(REGISTRY.keySet());
+    }
+
+
+    public static boolean contains(String name) {
+        return REGISTRY.containsKey(name);
+    }
+
+
+    public static MajorityAlgorithm get(String name) {
+        MajorityAlgorithm algorithm = REGISTRY.get(name);
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Unknown majority algorithm: " + name + ", expected one of " + names());
+        }
+        return algorithm;
+    }
+}
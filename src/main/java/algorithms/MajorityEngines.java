@@ -0,0 +1,102 @@
+package algorithms;
+
+
+/**
+ * {@link MajorityAlgorithm} providers for the engines in this package.
+ * Each adapter only forwards to the engine's static entry point.
+ */
+public final class MajorityEngines {
+
+    private MajorityEngines() {
+    }
+
+    public static final class BoyerMoore implements MajorityAlgorithm {
+        @Override
+        public String name() { return "BoyerMoore"; }
+
+        @Override
+        public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+            return PrimitiveMajorityVote.findMajorityElement(array);
+        }
+    }
+
+    public static final class HashCounting implements MajorityAlgorithm {
+        @Override
+        public String name() { return "HashCounting"; }
+
+        @Override
+        public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+            return HashCountingMajorityVote.findMajorityElement(array);
+        }
+    }
+
+    public static final class SortBased implements MajorityAlgorithm {
+        @Override
+        public String name() { return "SortBased"; }
+
+        @Override
+        public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+            return SortBasedMajorityVote.findMajorityElement(array);
+        }
+    }
+
+    public static final class Bitwise implements MajorityAlgorithm {
+        @Override
+        public String name() { return "Bitwise"; }
+
+        @Override
+        public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+            return VectorizedMajorityVote.findMajorityElement(array, false);
+        }
+    }
+
+    public static final class DivideAndConquer implements MajorityAlgorithm {
+        @Override
+        public String name() { return "DivideAndConquer"; }
+
+        @Override
+        public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+            return DivideAndConquerMajorityVote.findMajorityElement(array);
+        }
+    }
+
+    public static final class Randomized implements MajorityAlgorithm {
+        @Override
+        public String name() { return "Randomized"; }
+
+        @Override
+        public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+            return RandomizedMajorityVote.findMajorityElement(array);
+        }
+    }
+
+    public static final class Counting implements MajorityAlgorithm {
+        @Override
+        public String name() { return "Counting"; }
+
+        @Override
+        public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+            return CountingMajorityVote.findMajorityElement(array);
+        }
+    }
+
+    public static final class Parallel implements MajorityAlgorithm {
+        @Override
+        public String name() { return "Parallel"; }
+
+        @Override
+        public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+            return ParallelMajorityVote.findMajorityElement(array);
+        }
+    }
+
+    public static final class Vectorized implements MajorityAlgorithm {
+        @Override
+        public String name() { return "Vectorized"; }
+
+        @Override
+        public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+            return VectorizedMajorityVote.findMajorityElement(array);
+        }
+    }
+}
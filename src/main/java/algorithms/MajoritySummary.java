@@ -0,0 +1,67 @@
+package algorithms;
+
+
+/**
+ * Boyer-Moore (candidate, count) state for a block of elements.
+ * Two summaries of adjacent (or arbitrary disjoint) blocks merge associatively,
+ * and the merged candidate is the only element that can be a majority of the union.
+ * The count is a lower bound on the candidate's real frequency in the block.
+ */
+public final class MajoritySummary {
+
+    public static final MajoritySummary EMPTY = new MajoritySummary(0, 0);
+
+    private final int candidate;
+    private final long count;
+
+    public MajoritySummary(int candidate, long count) {
+        this.candidate = candidate;
+        this.count = count;
+    }
+
+    /**
+     * First Boyer-Moore pass over array[from, to)
+     */
+    public static MajoritySummary of(int[] array, int from, int to) {
+        int candidate = 0;
+        long count = 0;
+
+        for (int i = from; i < to; i++) {
+            int value = array[i];
+            if (count == 0) {
+                candidate = value;
+                count = 1;
+            } else if (value == candidate) {
+                count++;
+            } else {
+                count--;
+            }
+        }
+
+        return count == 0 ? EMPTY : new MajoritySummary(candidate, count);
+    }
+
+    public MajoritySummary merge(MajoritySummary other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        if (candidate == other.candidate) {
+            return new MajoritySummary(candidate, count + other.count);
+        }
+        return count >= other.count
+                ? new MajoritySummary(candidate, count - other.count)
+                : new MajoritySummary(other.candidate, other.count - count);
+    }
+
+    public int getCandidate() { return candidate; }
+    public long getCount() { return count; }
+    public boolean isEmpty() { return count == 0; }
+
+    @Override
+    public String toString() {
+        return String.format("MajoritySummary{candidate=%d, count=%d}", candidate, count);
+    }
+}
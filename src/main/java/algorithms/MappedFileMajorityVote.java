@@ -0,0 +1,164 @@
+package algorithms;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+
+/**
+ * Boyer-Moore over a binary file of little-endian int32 values.
+ * The file is mapped in regions with FileChannel.map, so datasets larger than
+ * the heap (and larger than 2 GB) are scanned in place through IntBuffer views.
+ */
+public class MappedFileMajorityVote {
+
+    /**
+     * A single mapping is limited to Integer.MAX_VALUE bytes; 1 GiB keeps regions int-aligned
+     */
+    public static final long DEFAULT_REGION_BYTES = 1L << 30;
+
+    /**
+     * Regions are further split into chunks of this many ints for the parallel passes
+     */
+    static final int CHUNK_INTS = 1 << 22;
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(Path file) {
+        return findMajorityElement(file, DEFAULT_REGION_BYTES, true);
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(Path file, long regionBytes, boolean parallel) {
+        if (regionBytes <= 0 || regionBytes > Integer.MAX_VALUE || regionBytes % Integer.BYTES != 0) {
+            throw new IllegalArgumentException("Region size must be a positive multiple of 4 below 2 GB: " + regionBytes);
+        }
+
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (file == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input file cannot be null", metrics);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                metrics.endTimer();
+                return new BoyerMooreMajorityVote.Result("File size is not a multiple of 4 bytes: " + size, metrics);
+            }
+
+            long length = size / Integer.BYTES;
+            if (length == 0) {
+                metrics.endTimer();
+                return new BoyerMooreMajorityVote.Result(null, false, metrics);
+            }
+
+            List<Chunk> chunks = mapChunks(channel, size, regionBytes, metrics);
+
+            // First pass: chunk summaries merged in file order
+            IntStream indices = IntStream.range(0, chunks.size());
+            MajoritySummary summary = (parallel ? indices.parallel() : indices)
+                    .mapToObj(i -> chunks.get(i).summarize())
+                    .reduce(MajoritySummary.EMPTY, MajoritySummary::merge);
+            addAccesses(metrics, length);
+
+            boolean isMajority = false;
+            if (!summary.isEmpty()) {
+                int candidate = summary.getCandidate();
+                IntStream countIndices = IntStream.range(0, chunks.size());
+                long occurrences = (parallel ? countIndices.parallel() : countIndices)
+                        .mapToLong(i -> chunks.get(i).count(candidate))
+                        .sum();
+                addAccesses(metrics, length);
+                isMajority = occurrences > length / 2;
+            }
+
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(summary.getCandidate(), isMajority, metrics);
+
+        } catch (IOException e) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("I/O error: " + e.getMessage(), metrics);
+        }
+    }
+
+
+    private static List<Chunk> mapChunks(FileChannel channel, long size, long regionBytes,
+                                         BoyerMooreMajorityVote.Metrics metrics) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+
+        for (long offset = 0; offset < size; offset += regionBytes) {
+            long regionLength = Math.min(regionBytes, size - offset);
+            IntBuffer view = channel.map(FileChannel.MapMode.READ_ONLY, offset, regionLength)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer();
+            metrics.incrementMemoryAllocations(); // One mapping per region
+
+            int ints = view.limit();
+            for (int from = 0; from < ints; from += CHUNK_INTS) {
+                chunks.add(new Chunk(view, from, Math.min(from + CHUNK_INTS, ints)));
+            }
+        }
+
+        return chunks;
+    }
+
+
+    private static void addAccesses(BoyerMooreMajorityVote.Metrics metrics, long accesses) {
+        metrics.addArrayAccesses(accesses);
+        metrics.addComparisons(accesses);
+    }
+
+
+    /**
+     * A slice of one mapped region; reads use absolute gets, so the shared view is never mutated
+     */
+    private static class Chunk {
+        private final IntBuffer view;
+        private final int from;
+        private final int to;
+
+        Chunk(IntBuffer view, int from, int to) {
+            this.view = view;
+            this.from = from;
+            this.to = to;
+        }
+
+        MajoritySummary summarize() {
+            int candidate = 0;
+            long count = 0;
+
+            for (int i = from; i < to; i++) {
+                int value = view.get(i);
+                if (count == 0) {
+                    candidate = value;
+                    count = 1;
+                } else if (value == candidate) {
+                    count++;
+                } else {
+                    count--;
+                }
+            }
+
+            return count == 0 ? MajoritySummary.EMPTY : new MajoritySummary(candidate, count);
+        }
+
+        long count(int candidate) {
+            long count = 0;
+            for (int i = from; i < to; i++) {
+                if (view.get(i) == candidate) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
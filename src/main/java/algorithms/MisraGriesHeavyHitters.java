@@ -0,0 +1,360 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Misra-Gries generalisation of Boyer-Moore: finds every value occurring more than n/k times.
+ * A first pass keeps k-1 (value, count) counters in primitive arrays, a second pass counts
+ * the surviving candidates exactly. With k = 2 this is the strict majority problem.
+ */
+public class MisraGriesHeavyHitters {
+
+    /**
+     * Chunks at or below this many elements are summarised sequentially in parallel mode
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    /**
+     * Up to k-1 counters with an open-addressing index from value to counter slot.
+     * Summaries of disjoint blocks merge with the usual "subtract the k-th largest count" rule,
+     * which keeps the Misra-Gries error bound of n/k.
+     */
+    public static final class Summary {
+        private final int capacity;
+        private final int[] keys;
+        private final long[] counts;
+        private final int[] index; // counter slot + 1, 0 marks an empty bucket
+        private final int mask;
+        private int size;
+
+        public Summary(int k) {
+            if (k < 2) {
+                throw new IllegalArgumentException("k must be at least 2: " + k);
+            }
+            this.capacity = k - 1;
+            this.keys = new int[capacity];
+            this.counts = new long[capacity];
+            int tableSize = Integer.highestOneBit(Math.max(4, capacity * 2) - 1) << 1;
+            this.index = new int[tableSize];
+            this.mask = tableSize - 1;
+        }
+
+        public void offer(int value) {
+            int slot = find(value);
+            if (slot >= 0) {
+                counts[slot]++;
+            } else if (size < capacity) {
+                insert(value, 1);
+            } else {
+                // The new value cancels out together with one occurrence of every counter
+                decrementAll();
+            }
+        }
+
+        public void offer(int[] array, int from, int to) {
+            for (int i = from; i < to; i++) {
+                offer(array[i]);
+            }
+        }
+
+        /**
+         * Fold another summary (built with the same k) into this one
+         */
+        public Summary merge(Summary other) {
+            if (other.capacity != capacity) {
+                throw new IllegalArgumentException("Cannot merge summaries with different k");
+            }
+
+            int[] mergedKeys = Arrays.copyOf(keys, size + other.size);
+            long[] mergedCounts = Arrays.copyOf(counts, size + other.size);
+            int merged = size;
+            for (int j = 0; j < other.size; j++) {
+                int slot = find(other.keys[j]);
+                if (slot >= 0) {
+                    mergedCounts[slot] += other.counts[j];
+                } else {
+                    mergedKeys[merged] = other.keys[j];
+                    mergedCounts[merged] = other.counts[j];
+                    merged++;
+                }
+            }
+
+            long cut = 0;
+            if (merged > capacity) {
+                long[] sorted = Arrays.copyOf(mergedCounts, merged);
+                Arrays.sort(sorted);
+                cut = sorted[merged - capacity - 1]; // k-th largest count
+            }
+
+            size = 0;
+            for (int i = 0; i < merged; i++) {
+                long count = mergedCounts[i] - cut;
+                if (count > 0) {
+                    keys[size] = mergedKeys[i];
+                    counts[size] = count;
+                    size++;
+                }
+            }
+            rebuildIndex();
+            return this;
+        }
+
+        /**
+         * @return counter slot holding value, or -1
+         */
+        int find(int value) {
+            for (int h = hash(value) & mask; ; h = (h + 1) & mask) {
+                int entry = index[h];
+                if (entry == 0) {
+                    return -1;
+                }
+                if (keys[entry - 1] == value) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        private void insert(int value, long count) {
+            keys[size] = value;
+            counts[size] = count;
+            size++;
+            place(size - 1);
+        }
+
+        private void decrementAll() {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                long count = counts[i] - 1;
+                if (count > 0) {
+                    keys[kept] = keys[i];
+                    counts[kept] = count;
+                    kept++;
+                }
+            }
+            size = kept;
+            rebuildIndex();
+        }
+
+        private void rebuildIndex() {
+            Arrays.fill(index, 0);
+            for (int i = 0; i < size; i++) {
+                place(i);
+            }
+        }
+
+        private void place(int slot) {
+            int h = hash(keys[slot]) & mask;
+            while (index[h] != 0) {
+                h = (h + 1) & mask;
+            }
+            index[h] = slot + 1;
+        }
+
+        private static int hash(int value) {
+            int h = value * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        public int size() { return size; }
+        public int[] getCandidates() { return Arrays.copyOf(keys, size); }
+        public long[] getCounts() { return Arrays.copyOf(counts, size); }
+    }
+
+    /**
+     * Verified heavy hitters, ordered by descending frequency
+     */
+    public static class Result {
+        private final int k;
+        private final int[] heavyHitters;
+        private final long[] frequencies;
+        private final BoyerMooreMajorityVote.Metrics metrics;
+        private final String errorMessage;
+
+        public Result(int k, int[] heavyHitters, long[] frequencies, BoyerMooreMajorityVote.Metrics metrics) {
+            this.k = k;
+            this.heavyHitters = heavyHitters;
+            this.frequencies = frequencies;
+            this.metrics = metrics;
+            this.errorMessage = null;
+        }
+
+        public Result(int k, String errorMessage, BoyerMooreMajorityVote.Metrics metrics) {
+            this.k = k;
+            this.heavyHitters = new int[0];
+            this.frequencies = new long[0];
+            this.metrics = metrics;
+            this.errorMessage = errorMessage;
+        }
+
+        public int getK() { return k; }
+        public int[] getHeavyHitters() { return heavyHitters.clone(); }
+        public long[] getFrequencies() { return frequencies.clone(); }
+        public boolean hasHeavyHitters() { return heavyHitters.length > 0; }
+        public BoyerMooreMajorityVote.Metrics getMetrics() { return metrics; }
+        public String getErrorMessage() { return errorMessage; }
+        public boolean hasError() { return errorMessage != null; }
+
+        @Override
+        public String toString() {
+            if (hasError()) {
+                return String.format("Result{k=%d, error='%s', %s}", k, errorMessage, metrics);
+            }
+            return String.format("Result{k=%d, heavyHitters=%s, frequencies=%s, %s}",
+                    k, Arrays.toString(heavyHitters), Arrays.toString(frequencies), metrics);
+        }
+    }
+
+
+    public static Result findHeavyHitters(int[] array, int k) {
+        return findHeavyHitters(array, k, false);
+    }
+
+
+    public static Result findHeavyHitters(int[] array, int k, boolean parallel) {
+        if (k < 2) {
+            throw new IllegalArgumentException("k must be at least 2: " + k);
+        }
+
+        BoyerMooreMajorityVote.Metrics metrics = parallel
+                ? new BoyerMooreMajorityVote.ConcurrentMetrics()
+                : new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (array == null) {
+            metrics.endTimer();
+            return new Result(k, "Input array cannot be null", metrics);
+        }
+
+        // First pass: k-1 counters, one index lookup per element
+        Summary summary;
+        if (parallel) {
+            summary = ForkJoinPool.commonPool().invoke(new SummaryTask(array, 0, array.length, k, metrics));
+        } else {
+            summary = new Summary(k);
+            summary.offer(array, 0, array.length);
+            metrics.incrementMemoryAllocations();
+        }
+        metrics.addArrayAccesses(array.length);
+        metrics.addComparisons(array.length);
+
+        // Second pass: exact counts for the surviving candidates only
+        long[] exact = new long[summary.size()];
+        if (summary.size() > 0) {
+            exact = parallel
+                    ? ForkJoinPool.commonPool().invoke(new CountTask(array, 0, array.length, summary))
+                    : countCandidates(array, 0, array.length, summary);
+            metrics.addArrayAccesses(array.length);
+            metrics.addComparisons(array.length);
+        }
+
+        Result result = collectHeavyHitters(k, array.length, summary, exact, metrics);
+        metrics.endTimer();
+        return result;
+    }
+
+
+    private static long[] countCandidates(int[] array, int from, int to, Summary candidates) {
+        long[] exact = new long[candidates.size()];
+        for (int i = from; i < to; i++) {
+            int slot = candidates.find(array[i]);
+            if (slot >= 0) {
+                exact[slot]++;
+            }
+        }
+        return exact;
+    }
+
+
+    private static Result collectHeavyHitters(int k, int length, Summary summary, long[] exact,
+                                              BoyerMooreMajorityVote.Metrics metrics) {
+        long threshold = length / k;
+        int[] candidates = summary.getCandidates();
+
+        Integer[] order = new Integer[candidates.length];
+        int found = 0;
+        for (int i = 0; i < candidates.length; i++) {
+            if (exact[i] > threshold) {
+                order[found++] = i;
+            }
+        }
+        Arrays.sort(order, 0, found, (a, b) -> Long.compare(exact[b], exact[a]));
+
+        int[] heavyHitters = new int[found];
+        long[] frequencies = new long[found];
+        for (int i = 0; i < found; i++) {
+            heavyHitters[i] = candidates[order[i]];
+            frequencies[i] = exact[order[i]];
+        }
+
+        return new Result(k, heavyHitters, frequencies, metrics);
+    }
+
+
+    private static class SummaryTask extends RecursiveTask<Summary> {
+        private final int[] array;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final BoyerMooreMajorityVote.Metrics metrics;
+
+        SummaryTask(int[] array, int from, int to, int k, BoyerMooreMajorityVote.Metrics metrics) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.metrics = metrics;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (to - from <= DEFAULT_THRESHOLD) {
+                Summary summary = new Summary(k);
+                summary.offer(array, from, to);
+                metrics.incrementMemoryAllocations();
+                return summary;
+            }
+
+            int mid = (from + to) >>> 1;
+            SummaryTask left = new SummaryTask(array, from, mid, k, metrics);
+            left.fork();
+            Summary right = new SummaryTask(array, mid, to, k, metrics).compute();
+            return left.join().merge(right);
+        }
+    }
+
+
+    private static class CountTask extends RecursiveTask<long[]> {
+        private final int[] array;
+        private final int from;
+        private final int to;
+        private final Summary candidates;
+
+        CountTask(int[] array, int from, int to, Summary candidates) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.candidates = candidates;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= DEFAULT_THRESHOLD) {
+                return countCandidates(array, from, to, candidates);
+            }
+
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(array, from, mid, candidates);
+            left.fork();
+            long[] right = new CountTask(array, mid, to, candidates).compute();
+            long[] total = left.join();
+            for (int i = 0; i < total.length; i++) {
+                total[i] += right[i];
+            }
+            return total;
+        }
+    }
+}
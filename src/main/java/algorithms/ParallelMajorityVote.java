@@ -0,0 +1,133 @@
+package algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Fork/join Boyer-Moore over int[].
+ * The candidate pass splits the array, summarises each chunk with {@link MajoritySummary}
+ * and merges the summaries; the verification pass is a parallel count of the candidate.
+ */
+public class ParallelMajorityVote {
+
+    /**
+     * Chunks at or below this many elements are scanned sequentially
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+        return findMajorityElement(array, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array, int threshold) {
+        return findMajorityElement(array, threshold, ForkJoinPool.commonPool());
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array, int threshold, ForkJoinPool pool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallelism threshold must be positive: " + threshold);
+        }
+
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.ConcurrentMetrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (array == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input array cannot be null", metrics);
+        }
+
+        if (array.length == 0) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+
+        MajoritySummary summary = pool.invoke(new CandidateTask(array, 0, array.length, threshold, metrics));
+        int candidate = summary.getCandidate();
+
+        // A fully cancelled summary proves there is no majority, so the count pass is skipped
+        boolean isMajority = false;
+        if (!summary.isEmpty()) {
+            long occurrences = pool.invoke(new CountTask(array, 0, array.length, candidate, threshold));
+            isMajority = occurrences > array.length / 2;
+            metrics.addArrayAccesses(array.length);
+            metrics.addComparisons(array.length);
+        }
+
+        metrics.endTimer();
+        return new BoyerMooreMajorityVote.Result(candidate, isMajority, metrics);
+    }
+
+
+    private static class CandidateTask extends RecursiveTask<MajoritySummary> {
+        private final int[] array;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final BoyerMooreMajorityVote.Metrics metrics;
+
+        CandidateTask(int[] array, int from, int to, int threshold, BoyerMooreMajorityVote.Metrics metrics) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.metrics = metrics;
+        }
+
+        @Override
+        protected MajoritySummary compute() {
+            if (to - from <= threshold) {
+                MajoritySummary summary = MajoritySummary.of(array, from, to);
+                metrics.addArrayAccesses(to - from);
+                metrics.addComparisons(to - from);
+                return summary;
+            }
+
+            int mid = (from + to) >>> 1;
+            CandidateTask left = new CandidateTask(array, from, mid, threshold, metrics);
+            left.fork();
+            MajoritySummary right = new CandidateTask(array, mid, to, threshold, metrics).compute();
+            return left.join().merge(right);
+        }
+    }
+
+
+    private static class CountTask extends RecursiveTask<Long> {
+        private final int[] array;
+        private final int from;
+        private final int to;
+        private final int candidate;
+        private final int threshold;
+
+        CountTask(int[] array, int from, int to, int candidate, int threshold) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.candidate = candidate;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= threshold) {
+                long count = 0;
+                for (int i = from; i < to; i++) {
+                    if (array[i] == candidate) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(array, from, mid, candidate, threshold);
+            left.fork();
+            long right = new CountTask(array, mid, to, candidate, threshold).compute();
+            return left.join() + right;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package algorithms;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Boyer-Moore majority vote over primitive arrays.
+ * The same two-pass algorithm as {@link BoyerMooreMajorityVote}, but without
+ * boxing and without Objects.equals in the hot loops.
+ */
+public class PrimitiveMajorityVote {
+
+    /**
+     * Packed value returned by {@link #findMajority(int[])} when there is no majority element.
+     * It lies outside the int and short ranges, so it never collides with a real element.
+     */
+    public static final long NO_MAJORITY = Long.MIN_VALUE;
+
+    /**
+     * Caller-supplied result holder so repeated calls do not allocate
+     */
+    public static class Holder {
+        private long value;
+        private boolean hasMajority;
+
+        public long getValue() { return value; }
+        public boolean hasMajority() { return hasMajority; }
+
+        void set(long value, boolean hasMajority) {
+            this.value = value;
+            this.hasMajority = hasMajority;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Holder{value=%d, hasMajority=%s}", value, hasMajority);
+        }
+    }
+
+
+    public static boolean isMajority(long packed) {
+        return packed != NO_MAJORITY;
+    }
+
+
+    public static int unpackInt(long packed) {
+        if (packed == NO_MAJORITY) {
+            throw new IllegalStateException("No majority element");
+        }
+        return (int) packed;
+    }
+
+
+    /**
+     * @return the majority element widened to long, or {@link #NO_MAJORITY}
+     */
+    public static long findMajority(int[] array) {
+        if (array == null || array.length == 0) {
+            return NO_MAJORITY;
+        }
+        int candidate = findCandidate(array);
+        return verifyCandidate(array, candidate) >= 0 ? candidate : NO_MAJORITY;
+    }
+
+
+    /**
+     * @return the majority element widened to long, or {@link #NO_MAJORITY}
+     */
+    public static long findMajority(short[] array) {
+        if (array == null || array.length == 0) {
+            return NO_MAJORITY;
+        }
+        short candidate = findCandidate(array);
+        return verifyCandidate(array, candidate) ? candidate : NO_MAJORITY;
+    }
+
+
+    public static boolean findMajority(int[] array, Holder out) {
+        long packed = findMajority(array);
+        boolean found = packed != NO_MAJORITY;
+        out.set(found ? packed : 0, found);
+        return found;
+    }
+
+
+    public static boolean findMajority(short[] array, Holder out) {
+        long packed = findMajority(array);
+        boolean found = packed != NO_MAJORITY;
+        out.set(found ? packed : 0, found);
+        return found;
+    }
+
+
+    /**
+     * long values use the whole 64-bit range, so the result can only be reported through a holder
+     */
+    public static boolean findMajority(long[] array, Holder out) {
+        if (array == null || array.length == 0) {
+            out.set(0, false);
+            return false;
+        }
+        long candidate = findCandidate(array);
+        boolean found = verifyCandidate(array, candidate);
+        out.set(found ? candidate : 0, found);
+        return found;
+    }
+
+
+    /**
+     * int[] counterpart of {@link BoyerMooreMajorityVote#findMajorityElement(Integer[], BoyerMooreMajorityVote.InputOrder)}
+     */
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array, BoyerMooreMajorityVote.InputOrder order) {
+        if (order == BoyerMooreMajorityVote.InputOrder.UNKNOWN || array == null || array.length < 2) {
+            return findMajorityElement(array);
+        }
+
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (order == BoyerMooreMajorityVote.InputOrder.DETECT) {
+            int samples = Math.min(array.length, BoyerMooreMajorityVote.SORTEDNESS_SAMPLE);
+            metrics.addArrayAccesses(samples);
+            metrics.addComparisons(samples - 1L);
+            if (!AdaptiveMajoritySelector.Features.sample(array).looksSorted()) {
+                // Probe failed: run the full vote and charge the probe to it
+                BoyerMooreMajorityVote.Result result = findMajorityElement(array);
+                result.getMetrics().addArrayAccesses(samples);
+                result.getMetrics().addComparisons(samples - 1L);
+                return result;
+            }
+        }
+
+        return SortBasedMajorityVote.findMajorityElementInSorted(array, metrics);
+    }
+
+
+    /**
+     * Metrics-reporting variant used for benchmarking against the boxed engine.
+     * Counts follow the same conventions as {@link BoyerMooreMajorityVote#findMajorityElement(Integer[])},
+     * but are accumulated in locals and flushed once, so the loops stay free of field writes.
+     */
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (array == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input array cannot be null", metrics);
+        }
+
+        metrics.incrementArrayAccesses(); // For null check
+
+        if (array.length == 0) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+
+        metrics.incrementArrayAccesses(); // For length check
+
+        if (array.length == 1) {
+            metrics.incrementArrayAccesses(); // Access array[0]
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(array[0], true, metrics);
+        }
+
+        // First pass: every element is read, all but the candidate resets are compared
+        int candidate = array[0];
+        int count = 1;
+        int resets = 1;
+        for (int i = 1; i < array.length; i++) {
+            int value = array[i];
+            if (count == 0) {
+                candidate = value;
+                count = 1;
+                resets++;
+            } else if (value == candidate) {
+                count++;
+            } else {
+                count--;
+            }
+        }
+        metrics.addArrayAccesses(array.length);
+        metrics.addComparisons(array.length - resets);
+
+        // Second pass: stops as soon as the threshold is reached
+        int stoppedAt = verifyCandidate(array, candidate);
+        int scanned = stoppedAt >= 0 ? stoppedAt + 1 : array.length;
+        metrics.addArrayAccesses(scanned);
+        metrics.addComparisons(scanned);
+
+        metrics.endTimer();
+        return new BoyerMooreMajorityVote.Result(candidate, stoppedAt >= 0, metrics);
+    }
+
+
+    static int findCandidate(int[] array) {
+        int candidate = array[0];
+        int count = 0;
+
+        for (int value : array) {
+            if (count == 0) {
+                candidate = value;
+                count = 1;
+            } else if (value == candidate) {
+                count++;
+            } else {
+                count--;
+            }
+        }
+
+        return candidate;
+    }
+
+
+    /**
+     * @return index at which the majority threshold was reached, or -1 if it never was
+     */
+    static int verifyCandidate(int[] array, int candidate) {
+        int count = 0;
+        int majorityThreshold = array.length / 2 + 1;
+
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == candidate && ++count >= majorityThreshold) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+
+    private static short findCandidate(short[] array) {
+        short candidate = array[0];
+        int count = 0;
+
+        for (short value : array) {
+            if (count == 0) {
+                candidate = value;
+                count = 1;
+            } else if (value == candidate) {
+                count++;
+            } else {
+                count--;
+            }
+        }
+
+        return candidate;
+    }
+
+
+    private static boolean verifyCandidate(short[] array, short candidate) {
+        int count = 0;
+        int majorityThreshold = array.length / 2 + 1;
+
+        for (short value : array) {
+            if (value == candidate && ++count >= majorityThreshold) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    private static long findCandidate(long[] array) {
+        long candidate = array[0];
+        int count = 0;
+
+        for (long value : array) {
+            if (count == 0) {
+                candidate = value;
+                count = 1;
+            } else if (value == candidate) {
+                count++;
+            } else {
+                count--;
+            }
+        }
+
+        return candidate;
+    }
+
+
+    private static boolean verifyCandidate(long[] array, long candidate) {
+        int count = 0;
+        int majorityThreshold = array.length / 2 + 1;
+
+        for (long value : array) {
+            if (value == candidate && ++count >= majorityThreshold) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Primitive counterpart of {@link BoyerMooreMajorityVote#generateTestArray(int, boolean)}
+     */
+    public static int[] generateTestArray(int size, boolean hasMajority) {
+        if (size <= 0) {
+            return new int[0];
+        }
+
+        int[] array = new int[size];
+
+        if (hasMajority && size > 1) {
+            int majorityCount = size / 2 + 1;
+            for (int i = 0; i < majorityCount; i++) {
+                array[i] = 1;
+            }
+            for (int i = majorityCount; i < size; i++) {
+                array[i] = i - majorityCount + 2;
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                array[i] = i % (size / 2 + 1);
+            }
+        }
+
+        return array;
+    }
+
+
+    public static void shuffleArray(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package algorithms;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Sample-and-verify majority.
+ *
+ * <p>A Boyer-Moore vote over a small random sample proposes a candidate, and one counting pass
+ * checks it. A true majority wins the sample vote with high probability, so the usual cost is
+ * one read of the array. If the check fails, the engine falls back to the full two-pass
+ * vote, so the answer is always exact; only the running time is randomized.
+ */
+public class RandomizedMajorityVote {
+
+    static final int SAMPLE_SIZE = 64;
+
+    /**
+     * @return the majority element widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     */
+    public static long findMajority(int[] array) {
+        if (array == null || array.length == 0) {
+            return PrimitiveMajorityVote.NO_MAJORITY;
+        }
+        int sampled = sampleCandidate(array);
+        if (count(array, sampled) > array.length / 2) {
+            return sampled;
+        }
+        return PrimitiveMajorityVote.findMajority(array);
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (array == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input array cannot be null", metrics);
+        }
+
+        if (array.length == 0) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+
+        int n = array.length;
+        int sampled = sampleCandidate(array);
+        metrics.addArrayAccesses(Math.min(SAMPLE_SIZE, n) + (long) n);
+        metrics.addComparisons(Math.min(SAMPLE_SIZE, n) + (long) n);
+
+        if (count(array, sampled) > n / 2) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(sampled, true, metrics);
+        }
+
+        // Sample missed (or there is no majority): settle it deterministically
+        long packed = PrimitiveMajorityVote.findMajority(array);
+        metrics.addArrayAccesses(2L * n);
+        metrics.addComparisons(2L * n);
+        metrics.endTimer();
+
+        if (packed == PrimitiveMajorityVote.NO_MAJORITY) {
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+        return new BoyerMooreMajorityVote.Result((int) packed, true, metrics);
+    }
+
+
+    private static int sampleCandidate(int[] array) {
+        // Short arrays are voted over in full, which is cheaper than drawing random indices
+        boolean full = array.length <= SAMPLE_SIZE;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int candidate = 0;
+        int votes = 0;
+        for (int i = 0, draws = Math.min(SAMPLE_SIZE, array.length); i < draws; i++) {
+            int value = array[full ? i : random.nextInt(array.length)];
+            if (votes == 0) {
+                candidate = value;
+                votes = 1;
+            } else if (value == candidate) {
+                votes++;
+            } else {
+                votes--;
+            }
+        }
+        return candidate;
+    }
+
+
+    private static int count(int[] array, int value) {
+        int count = 0;
+        for (int element : array) {
+            if (element == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
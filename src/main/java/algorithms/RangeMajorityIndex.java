@@ -0,0 +1,203 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * Prebuilt index answering "is there a majority in array[left..right]?" in O(log n).
+ *
+ * <p>Values are compressed to dense ids. A bottom-up segment tree stores a Boyer-Moore
+ * (candidate id, count) summary per node, so a range query merges O(log n) nodes to get
+ * the only possible candidate. The candidate is then verified by two binary searches in
+ * its sorted position list. Everything lives in flat int arrays.
+ */
+public class RangeMajorityIndex {
+
+    private final int length;
+    private final int leaves;
+    private final int[] treeCandidate;
+    private final int[] treeCount;
+    private final int[] values;        // id -> value
+    private final int[] positionStart; // id -> first slot in positions, length distinct + 1
+    private final int[] positions;     // indices grouped by id, ascending within each group
+    private final long buildTimeNanos;
+
+    public RangeMajorityIndex(int[] array) {
+        Objects.requireNonNull(array, "Input array cannot be null");
+        long start = System.nanoTime();
+        this.length = array.length;
+
+        // Sort (value, index) pairs once: gives the id mapping and the position lists together
+        long[] pairs = new long[length];
+        for (int i = 0; i < length; i++) {
+            pairs[i] = ((long) (array[i] ^ Integer.MIN_VALUE) << 32) | i;
+        }
+        Arrays.sort(pairs);
+
+        int[] ids = new int[length];
+        int[] distinctValues = new int[length];
+        int[] starts = new int[length + 1];
+        this.positions = new int[length];
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            int value = (int) (pairs[i] >>> 32) ^ Integer.MIN_VALUE;
+            int index = (int) pairs[i];
+            if (i == 0 || value != distinctValues[distinct - 1]) {
+                distinctValues[distinct] = value;
+                starts[distinct] = i;
+                distinct++;
+            }
+            ids[index] = distinct - 1;
+            positions[i] = index;
+        }
+        starts[distinct] = length;
+        this.values = Arrays.copyOf(distinctValues, distinct);
+        this.positionStart = Arrays.copyOf(starts, distinct + 1);
+
+        int size = 1;
+        while (size < Math.max(1, length)) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.treeCandidate = new int[2 * size];
+        this.treeCount = new int[2 * size];
+        for (int i = 0; i < length; i++) {
+            treeCandidate[size + i] = ids[i];
+            treeCount[size + i] = 1;
+        }
+        for (int node = size - 1; node >= 1; node--) {
+            combine(node, 2 * node, 2 * node + 1);
+        }
+
+        this.buildTimeNanos = System.nanoTime() - start;
+    }
+
+
+    /**
+     * @return the majority of array[left..right] (inclusive) widened to long,
+     *         or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     */
+    public long query(int left, int right) {
+        checkRange(left, right);
+
+        int candidate = 0;
+        int count = 0;
+        for (int lo = left + leaves, hi = right + leaves + 1; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                int nodeCandidate = treeCandidate[lo];
+                int nodeCount = treeCount[lo];
+                if (nodeCandidate == candidate) {
+                    count += nodeCount;
+                } else if (count >= nodeCount) {
+                    count -= nodeCount;
+                } else {
+                    candidate = nodeCandidate;
+                    count = nodeCount - count;
+                }
+                lo++;
+            }
+            if ((hi & 1) == 1) {
+                hi--;
+                int nodeCandidate = treeCandidate[hi];
+                int nodeCount = treeCount[hi];
+                if (nodeCandidate == candidate) {
+                    count += nodeCount;
+                } else if (count >= nodeCount) {
+                    count -= nodeCount;
+                } else {
+                    candidate = nodeCandidate;
+                    count = nodeCount - count;
+                }
+            }
+        }
+
+        if (count == 0) {
+            return PrimitiveMajorityVote.NO_MAJORITY;
+        }
+
+        int occurrences = countInRange(candidate, left, right);
+        return occurrences > (right - left + 1) / 2 ? values[candidate] : PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+
+    public boolean hasMajority(int left, int right) {
+        return query(left, right) != PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+
+    /**
+     * Occurrences of value in array[left..right] (inclusive), in O(log n)
+     */
+    public int frequency(int value, int left, int right) {
+        checkRange(left, right);
+        int id = Arrays.binarySearch(values, value);
+        return id < 0 ? 0 : countInRange(id, left, right);
+    }
+
+
+    private void checkRange(int left, int right) {
+        if (left > right) {
+            throw new IndexOutOfBoundsException("Empty range [" + left + ", " + right + "]");
+        }
+        Objects.checkFromToIndex(left, right + 1, length);
+    }
+
+
+    private int countInRange(int id, int left, int right) {
+        int from = positionStart[id];
+        int to = positionStart[id + 1];
+        return lowerBound(positions, from, to, right + 1) - lowerBound(positions, from, to, left);
+    }
+
+
+    private static int lowerBound(int[] sorted, int from, int to, int key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (sorted[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+
+    private void combine(int node, int left, int right) {
+        int leftCandidate = treeCandidate[left];
+        int leftCount = treeCount[left];
+        int rightCandidate = treeCandidate[right];
+        int rightCount = treeCount[right];
+
+        if (leftCandidate == rightCandidate) {
+            treeCandidate[node] = leftCandidate;
+            treeCount[node] = leftCount + rightCount;
+        } else if (leftCount >= rightCount) {
+            treeCandidate[node] = leftCandidate;
+            treeCount[node] = leftCount - rightCount;
+        } else {
+            treeCandidate[node] = rightCandidate;
+            treeCount[node] = rightCount - leftCount;
+        }
+    }
+
+
+    public int size() { return length; }
+    public int distinctValues() { return values.length; }
+    public long getBuildTimeNanos() { return buildTimeNanos; }
+
+    /**
+     * Bytes held by the index arrays (array headers excluded)
+     */
+    public long memoryFootprintBytes() {
+        return (long) Integer.BYTES * (treeCandidate.length + treeCount.length
+                + values.length + positionStart.length + positions.length);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RangeMajorityIndex{size=%d, distinct=%d, footprint=%d bytes, buildTime=%.3f ms}",
+                length, values.length, memoryFootprintBytes(), buildTimeNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,107 @@
+package algorithms;
+
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Majority of the last W elements of a stream, updated on every arrival in amortised O(1).
+ *
+ * <p>Values are kept in a primitive ring buffer with exact per-value counts in an
+ * {@link IntIntHashMap}. Once the window is full its length stays fixed, and before that it
+ * only grows. So a value's share of the window can rise only when that value arrives. Each
+ * step therefore only checks the arriving value and the current majority; nothing is rescanned.
+ */
+public class SlidingWindowMajority implements IntConsumer {
+
+    private final int[] window;
+    private final IntIntHashMap counts;
+    private int head;
+    private int filled;
+    private long total;
+    private boolean hasMajority;
+    private int majority;
+
+    public SlidingWindowMajority(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.window = new int[windowSize];
+        this.counts = new IntIntHashMap(Math.min(windowSize, 1 << 16));
+    }
+
+    @Override
+    public void accept(int value) {
+        if (filled == window.length) {
+            int evicted = window[head];
+            if (counts.addTo(evicted, -1) == 0) {
+                counts.remove(evicted);
+            }
+        } else {
+            filled++;
+        }
+
+        window[head] = value;
+        if (++head == window.length) {
+            head = 0;
+        }
+        total++;
+
+        int half = filled / 2;
+        if (counts.addTo(value, 1) > half) {
+            hasMajority = true;
+            majority = value;
+        } else if (hasMajority && counts.get(majority, 0) <= half) {
+            hasMajority = false;
+        }
+    }
+
+    public void accept(int[] batch, int off, int len) {
+        Objects.checkFromIndexSize(off, len, batch.length);
+        for (int i = off, end = off + len; i < end; i++) {
+            accept(batch[i]);
+        }
+    }
+
+    public boolean hasMajority() { return hasMajority; }
+
+    public int getMajority() {
+        if (!hasMajority) {
+            throw new IllegalStateException("No majority in the current window");
+        }
+        return majority;
+    }
+
+    /**
+     * @return current window majority widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     */
+    public long majority() {
+        return hasMajority ? majority : PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+    /**
+     * Exact occurrences of value in the current window
+     */
+    public int frequency(int value) {
+        return counts.get(value, 0);
+    }
+
+    public int getWindowSize() { return window.length; }
+    public int size() { return filled; }
+    public long getTotal() { return total; }
+    public int distinctValues() { return counts.size(); }
+
+    public void reset() {
+        counts.clear();
+        head = 0;
+        filled = 0;
+        total = 0;
+        hasMajority = false;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SlidingWindowMajority{window=%d, filled=%d, majority=%s, distinct=%d}",
+                window.length, filled, hasMajority ? String.valueOf(majority) : "none", counts.size());
+    }
+}
@@ -0,0 +1,152 @@
+package algorithms;
+
+import java.util.Arrays;
+
+
+/**
+ * Majority by sorting a copy with {@link Arrays#parallelSort(int[])}.
+ * A majority element must occupy the middle position of the sorted copy, so only
+ * that value's run is measured, by binary search for both of its ends.
+ */
+public class SortBasedMajorityVote {
+
+    /**
+     * @return the majority element widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     */
+    public static long findMajority(int[] array) {
+        if (array == null || array.length == 0) {
+            return PrimitiveMajorityVote.NO_MAJORITY;
+        }
+        int[] sorted = array.clone();
+        Arrays.parallelSort(sorted);
+        int median = sorted[sorted.length / 2];
+        return runLength(sorted, median) > sorted.length / 2 ? median : PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (array == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input array cannot be null", metrics);
+        }
+
+        if (array.length == 0) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+
+        int[] sorted = array.clone();
+        metrics.incrementMemoryAllocations(); // Sorted copy
+        Arrays.parallelSort(sorted);
+
+        int n = sorted.length;
+        int median = sorted[n / 2];
+        int occurrences = runLength(sorted, median);
+
+        // The sort is not instrumented; charge the n log2 n comparison bound plus the copy
+        int log2 = 32 - Integer.numberOfLeadingZeros(n);
+        metrics.addComparisons((long) n * log2 + 2L * log2);
+        metrics.addArrayAccesses(2L * n + 2L * log2 + 1);
+        metrics.endTimer();
+        return new BoyerMooreMajorityVote.Result(median, occurrences > n / 2, metrics);
+    }
+
+
+    /**
+     * Majority of an array that is already sorted ascending. Only the median can qualify, and it
+     * does exactly when its run, from its first index, still covers n/2 positions further on:
+     * one binary search plus one probe. The input is not checked for order.
+     */
+    public static BoyerMooreMajorityVote.Result findMajorityElementInSorted(int[] sorted) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (sorted == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input array cannot be null", metrics);
+        }
+
+        if (sorted.length == 0) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+
+        return findMajorityElementInSorted(sorted, metrics);
+    }
+
+
+    /**
+     * Sorted-input check for a non-empty array, adding its work to metrics.
+     * The timer must already be running.
+     */
+    static BoyerMooreMajorityVote.Result findMajorityElementInSorted(int[] sorted, BoyerMooreMajorityVote.Metrics metrics) {
+        int n = sorted.length;
+        int median = sorted[n / 2];
+
+        // First index of the median; it cannot lie past n/2
+        int low = 0;
+        int high = n / 2;
+        int probes = 0;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            probes++;
+            if (sorted[mid] < median) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        int covered = low + n / 2;
+        boolean isMajority = covered < n && sorted[covered] == median;
+
+        metrics.addArrayAccesses(probes + (covered < n ? 2L : 1L));
+        metrics.addComparisons(probes + (covered < n ? 1L : 0L));
+        metrics.recordAvoidedFullScan(n);
+        metrics.endTimer();
+        return new BoyerMooreMajorityVote.Result(median, isMajority, metrics);
+    }
+
+
+    /**
+     * Occurrences of value in a sorted array
+     */
+    static int runLength(int[] sorted, int value) {
+        return upperBound(sorted, value) - lowerBound(sorted, value);
+    }
+
+
+    private static int lowerBound(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+
+    private static int upperBound(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,78 @@
+package algorithms;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * SIMD loops behind {@link VectorizedMajorityVote}. This class links against the incubating
+ * jdk.incubator.vector module, so it must only be touched after the module has been found
+ * in the boot layer.
+ */
+final class VectorKernels {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Lane counters are flushed once per block so they cannot overflow, and the bitwise
+     * kernel rereads each block once per bit while it is still in L1
+     */
+    private static final int BLOCK = 4096;
+
+    private VectorKernels() {
+    }
+
+    static int laneCount() {
+        return SPECIES.length();
+    }
+
+    static long count(int[] array, int value) {
+        IntVector ones = IntVector.broadcast(SPECIES, 1);
+        int bound = SPECIES.loopBound(array.length);
+        long count = 0;
+
+        for (int blockStart = 0; blockStart < bound; blockStart += BLOCK) {
+            int blockEnd = Math.min(blockStart + BLOCK, bound);
+            IntVector acc = IntVector.zero(SPECIES);
+            for (int i = blockStart; i < blockEnd; i += SPECIES.length()) {
+                IntVector v = IntVector.fromArray(SPECIES, array, i);
+                acc = acc.add(ones, v.eq(value));
+            }
+            count += acc.reduceLanes(VectorOperators.ADD);
+        }
+
+        for (int i = bound; i < array.length; i++) {
+            if (array[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Per-bit population counts: bitCounts[b] = number of elements with bit b set
+     */
+    static void bitCounts(int[] array, long[] bitCounts) {
+        int bound = SPECIES.loopBound(array.length);
+
+        for (int blockStart = 0; blockStart < bound; blockStart += BLOCK) {
+            int blockEnd = Math.min(blockStart + BLOCK, bound);
+            for (int bit = 0; bit < Integer.SIZE; bit++) {
+                IntVector acc = IntVector.zero(SPECIES);
+                for (int i = blockStart; i < blockEnd; i += SPECIES.length()) {
+                    IntVector v = IntVector.fromArray(SPECIES, array, i);
+                    acc = acc.add(v.lanewise(VectorOperators.LSHR, bit).and(1));
+                }
+                bitCounts[bit] += acc.reduceLanes(VectorOperators.ADD);
+            }
+        }
+
+        for (int i = bound; i < array.length; i++) {
+            int value = array[i];
+            for (int bit = 0; bit < Integer.SIZE; bit++) {
+                bitCounts[bit] += (value >>> bit) & 1;
+            }
+        }
+    }
+}
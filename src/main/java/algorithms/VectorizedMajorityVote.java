@@ -0,0 +1,154 @@
+package algorithms;
+
+
+/**
+ * SIMD majority vote for int[] using the incubating Vector API.
+ *
+ * <p>The candidate comes from a bitwise vote: if a majority exists, each of its bits is set in
+ * more than half of the elements, so per-bit population counts rebuild it. Verification is a
+ * vectorised equality count with no early-exit branch. Both steps fall back to scalar loops
+ * when the JVM was started without {@code --add-modules jdk.incubator.vector}.
+ */
+public class VectorizedMajorityVote {
+
+    private static final boolean VECTOR_AVAILABLE = detectVectorSupport();
+
+    private static boolean detectVectorSupport() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorKernels.laneCount() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+
+    public static boolean isVectorAvailable() {
+        return VECTOR_AVAILABLE;
+    }
+
+
+    /**
+     * @return int lanes per vector, or 1 when running scalar
+     */
+    public static int laneCount() {
+        return VECTOR_AVAILABLE ? VectorKernels.laneCount() : 1;
+    }
+
+
+    /**
+     * @return the majority element widened to long, or {@link PrimitiveMajorityVote#NO_MAJORITY}
+     */
+    public static long findMajority(int[] array) {
+        if (array == null || array.length == 0) {
+            return PrimitiveMajorityVote.NO_MAJORITY;
+        }
+        int candidate = bitwiseCandidate(array);
+        return countOccurrences(array, candidate) > array.length / 2 ? candidate : PrimitiveMajorityVote.NO_MAJORITY;
+    }
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+        return findMajorityElement(array, VECTOR_AVAILABLE);
+    }
+
+
+    /**
+     * @param useVector false forces the scalar loops even when the Vector API is present
+     */
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array, boolean useVector) {
+        BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (array == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Input array cannot be null", metrics);
+        }
+
+        if (array.length == 0) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(null, false, metrics);
+        }
+
+        boolean vector = useVector && VECTOR_AVAILABLE;
+        int candidate = vector ? bitwiseCandidate(array) : bitwiseCandidateScalar(array);
+        metrics.incrementMemoryAllocations(); // Per-bit counters
+        long occurrences = vector ? countOccurrences(array, candidate) : countOccurrencesScalar(array, candidate);
+
+        // Two full reads; the count pass does one equality test per element
+        metrics.addArrayAccesses(2L * array.length);
+        metrics.addComparisons(array.length);
+        metrics.endTimer();
+        return new BoyerMooreMajorityVote.Result(candidate, occurrences > array.length / 2, metrics);
+    }
+
+
+    /**
+     * The only value that can be a majority, assembled bit by bit
+     */
+    public static int bitwiseCandidate(int[] array) {
+        long[] bitCounts = new long[Integer.SIZE];
+        if (VECTOR_AVAILABLE) {
+            VectorKernels.bitCounts(array, bitCounts);
+        } else {
+            scalarBitCounts(array, bitCounts);
+        }
+
+        int candidate = 0;
+        long half = array.length / 2;
+        for (int bit = 0; bit < Integer.SIZE; bit++) {
+            if (bitCounts[bit] > half) {
+                candidate |= 1 << bit;
+            }
+        }
+        return candidate;
+    }
+
+
+    public static long countOccurrences(int[] array, int value) {
+        return VECTOR_AVAILABLE ? VectorKernels.count(array, value) : countOccurrencesScalar(array, value);
+    }
+
+
+    /**
+     * Scalar reference for {@link #countOccurrences}; also the fallback path
+     */
+    public static long countOccurrencesScalar(int[] array, int value) {
+        long count = 0;
+        for (int element : array) {
+            if (element == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * Scalar reference for {@link #bitwiseCandidate}; also the fallback path
+     */
+    public static int bitwiseCandidateScalar(int[] array) {
+        long[] bitCounts = new long[Integer.SIZE];
+        scalarBitCounts(array, bitCounts);
+
+        int candidate = 0;
+        for (int bit = 0; bit < Integer.SIZE; bit++) {
+            if (bitCounts[bit] > array.length / 2) {
+                candidate |= 1 << bit;
+            }
+        }
+        return candidate;
+    }
+
+
+    private static void scalarBitCounts(int[] array, long[] bitCounts) {
+        for (int value : array) {
+            for (int bit = 0; bit < Integer.SIZE; bit++) {
+                bitCounts[bit] += (value >>> bit) & 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package algorithms;
+
+import java.util.Objects;
+
+
+/**
+ * Streaming counterpart of {@link WeightedMajorityVote}: the weighted candidate phase for
+ * (value, weight) votes that keep arriving. Keeps only (candidate, surplus weight, total weight).
+ *
+ * <p>As in {@link MajorityAccumulator}, the candidate is not verified.
+ * {@link #isConfirmedMajority()} is true only when the surplus alone proves that the candidate
+ * holds more than half of all weight seen so far. Not thread-safe; use one accumulator per
+ * thread and {@link #combine}.
+ */
+public class WeightedMajorityAccumulator {
+
+    private int candidate;
+    private long weight;
+    private long totalWeight;
+
+    /**
+     * @throws IllegalArgumentException if weight is negative
+     * @throws ArithmeticException      if the total weight overflows a long
+     */
+    public void accept(int value, long voteWeight) {
+        if (voteWeight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative: " + voteWeight);
+        }
+        totalWeight = Math.addExact(totalWeight, voteWeight);
+        if (value == candidate) {
+            weight += voteWeight;
+        } else if (voteWeight <= weight) {
+            weight -= voteWeight;
+        } else {
+            candidate = value;
+            weight = voteWeight - weight;
+        }
+    }
+
+    /**
+     * Applies votes off..off+len-1; weights[i] goes with values[i]
+     */
+    public void accept(int[] values, long[] weights, int off, int len) {
+        Objects.checkFromIndexSize(off, len, values.length);
+        Objects.checkFromIndexSize(off, len, weights.length);
+        for (int i = off, end = off + len; i < end; i++) {
+            accept(values[i], weights[i]);
+        }
+    }
+
+    /**
+     * Fold another accumulator's state into this one; the result is the same
+     * as if this accumulator had seen both feeds
+     */
+    public WeightedMajorityAccumulator combine(WeightedMajorityAccumulator other) {
+        long combinedTotal = Math.addExact(totalWeight, other.totalWeight);
+        MajoritySummary merged = toSummary().merge(other.toSummary());
+        candidate = merged.getCandidate();
+        weight = merged.getCount();
+        totalWeight = combinedTotal;
+        return this;
+    }
+
+    public boolean hasCandidate() { return weight > 0; }
+
+    public int getCandidate() {
+        if (weight == 0) {
+            throw new IllegalStateException("No candidate: every vote seen so far has been cancelled out");
+        }
+        return candidate;
+    }
+
+    /**
+     * Candidate's surplus weight; a lower bound on its real weight
+     */
+    public long getWeight() { return weight; }
+    public long getTotalWeight() { return totalWeight; }
+
+    public boolean isConfirmedMajority() {
+        return weight > totalWeight - weight;
+    }
+
+    public MajoritySummary toSummary() {
+        return weight == 0 ? MajoritySummary.EMPTY : new MajoritySummary(candidate, weight);
+    }
+
+    public void reset() {
+        candidate = 0;
+        weight = 0;
+        totalWeight = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WeightedMajorityAccumulator{candidate=%s, weight=%d, totalWeight=%d}",
+                weight > 0 ? String.valueOf(candidate) : "none", weight, totalWeight);
+    }
+}
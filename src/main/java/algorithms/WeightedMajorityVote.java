@@ -0,0 +1,199 @@
+package algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Weighted Boyer-Moore over aligned int[] values and long[] weights: finds the value whose
+ * total weight is more than half of the total weight of all votes.
+ *
+ * <p>The candidate pass is Boyer-Moore with weighted counts. A vote for the candidate adds its
+ * weight. A vote for another value subtracts its weight, and if the count would go negative,
+ * that value becomes the candidate with the remainder. The state is a {@link MajoritySummary}
+ * whose count is a weight, so block summaries merge exactly as in {@link ParallelMajorityVote}.
+ * The verification pass sums the candidate's weight and the total weight, and rejects
+ * negative weights and totals that overflow a long.
+ */
+public class WeightedMajorityVote {
+
+    /**
+     * Chunks at or below this many votes are scanned sequentially
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] values, long[] weights) {
+        return findMajorityElement(values, weights, false);
+    }
+
+
+    /**
+     * @param values  votes
+     * @param weights non-negative weight of each vote; weights[i] goes with values[i]
+     */
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] values, long[] weights, boolean parallel) {
+        BoyerMooreMajorityVote.Metrics metrics = parallel
+                ? new BoyerMooreMajorityVote.ConcurrentMetrics()
+                : new BoyerMooreMajorityVote.Metrics();
+        metrics.startTimer();
+        metrics.incrementMemoryAllocations(); // For metrics object
+
+        if (values == null || weights == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Values and weights cannot be null", metrics);
+        }
+        if (values.length != weights.length) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result(
+                    "Values and weights differ in length: " + values.length + " vs " + weights.length, metrics);
+        }
+
+        int n = values.length;
+        int threshold = parallel ? DEFAULT_THRESHOLD : Integer.MAX_VALUE;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        MajoritySummary summary = n <= threshold
+                ? summarize(values, weights, 0, n)
+                : pool.invoke(new CandidateTask(values, weights, 0, n, threshold));
+        int candidate = summary.getCandidate();
+        metrics.addArrayAccesses(2L * n);
+        metrics.addComparisons(n);
+
+        long[] sums;
+        try {
+            sums = n <= threshold
+                    ? weightOf(values, weights, 0, n, candidate)
+                    : pool.invoke(new WeightTask(values, weights, 0, n, candidate, threshold));
+        } catch (ArithmeticException e) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Total weight overflows a long", metrics);
+        }
+        metrics.addArrayAccesses(2L * n);
+        metrics.addComparisons(n);
+
+        if (sums == null) {
+            metrics.endTimer();
+            return new BoyerMooreMajorityVote.Result("Weights cannot be negative", metrics);
+        }
+
+        long candidateWeight = sums[0];
+        long totalWeight = sums[1];
+        // candidateWeight > totalWeight / 2, without the rounding of integer halving
+        boolean isMajority = candidateWeight > totalWeight - candidateWeight;
+        metrics.endTimer();
+        return new BoyerMooreMajorityVote.Result(n == 0 ? null : candidate, isMajority, metrics);
+    }
+
+
+    /**
+     * Weighted candidate pass over values[from, to); the summary's count is the candidate's surplus weight
+     */
+    public static MajoritySummary summarize(int[] values, long[] weights, int from, int to) {
+        int candidate = 0;
+        long count = 0;
+
+        for (int i = from; i < to; i++) {
+            int value = values[i];
+            long weight = weights[i];
+            if (value == candidate) {
+                count += weight;
+            } else if (weight <= count) {
+                count -= weight;
+            } else {
+                candidate = value;
+                count = weight - count;
+            }
+        }
+
+        return count == 0 ? MajoritySummary.EMPTY : new MajoritySummary(candidate, count);
+    }
+
+
+    /**
+     * Weight of the votes for candidate and weight of all votes in values[from, to)
+     *
+     * @return {candidate weight, total weight}, or null if any weight in the range is negative
+     * @throws ArithmeticException if the total overflows a long
+     */
+    private static long[] weightOf(int[] values, long[] weights, int from, int to, int candidate) {
+        long candidateWeight = 0;
+        long totalWeight = 0;
+        for (int i = from; i < to; i++) {
+            long weight = weights[i];
+            if (weight < 0) {
+                return null;
+            }
+            totalWeight = Math.addExact(totalWeight, weight);
+            // Branch-free: the candidate's weight never exceeds the checked total
+            candidateWeight += values[i] == candidate ? weight : 0;
+        }
+        return new long[]{candidateWeight, totalWeight};
+    }
+
+
+    private static class CandidateTask extends RecursiveTask<MajoritySummary> {
+        private final int[] values;
+        private final long[] weights;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        CandidateTask(int[] values, long[] weights, int from, int to, int threshold) {
+            this.values = values;
+            this.weights = weights;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected MajoritySummary compute() {
+            if (to - from <= threshold) {
+                return summarize(values, weights, from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            CandidateTask left = new CandidateTask(values, weights, from, mid, threshold);
+            left.fork();
+            MajoritySummary right = new CandidateTask(values, weights, mid, to, threshold).compute();
+            return left.join().merge(right);
+        }
+    }
+
+
+    private static class WeightTask extends RecursiveTask<long[]> {
+        private final int[] values;
+        private final long[] weights;
+        private final int from;
+        private final int to;
+        private final int candidate;
+        private final int threshold;
+
+        WeightTask(int[] values, long[] weights, int from, int to, int candidate, int threshold) {
+            this.values = values;
+            this.weights = weights;
+            this.from = from;
+            this.to = to;
+            this.candidate = candidate;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= threshold) {
+                return weightOf(values, weights, from, to, candidate);
+            }
+
+            int mid = (from + to) >>> 1;
+            WeightTask left = new WeightTask(values, weights, from, mid, candidate, threshold);
+            left.fork();
+            long[] right = new WeightTask(values, weights, mid, to, candidate, threshold).compute();
+            long[] leftSums = left.join();
+            if (leftSums == null || right == null) {
+                return null;
+            }
+            return new long[]{leftSums[0] + right[0], Math.addExact(leftSums[1], right[1])};
+        }
+    }
+}
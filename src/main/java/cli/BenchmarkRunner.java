@@ -1,7 +1,12 @@
 package cli;
 
 import algorithms.BoyerMooreMajorityVote;
+import algorithms.MajorityAlgorithms;
 import metrics.PerformanceTracker;
+import metrics.ResultExporter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.stream.IntStream;
 
@@ -38,6 +43,7 @@ public class BenchmarkRunner {
                     case "7" -> exportResults();
                     case "8" -> displayMemoryStats();
                     case "9" -> runStressTest();
+                    case "10" -> runEngineBenchmark();
                     case "0" -> {
                         System.out.println("Goodbye!");
                         return;
@@ -65,6 +71,7 @@ public class BenchmarkRunner {
         System.out.println("7. Export Results");
         System.out.println("8. Memory Statistics");
         System.out.println("9. Stress Test");
+        System.out.println("10. Engine Benchmark (by name or all)");
         System.out.println("0. Exit");
         System.out.print("Enter your choice: ");
     }
@@ -99,6 +106,7 @@ public class BenchmarkRunner {
                     new PerformanceTracker.PerformanceSummary("BoyerMooreMajorityVote", size, results);
             System.out.println(summary);
         }
+        System.out.println(performanceTracker.getWarmupReport("BoyerMooreMajorityVote", size, hasMajority));
     }
 
     /**
@@ -269,16 +277,15 @@ public class BenchmarkRunner {
         }
 
         try {
-            String csvData = performanceTracker.exportToCSV();
-            String reportData = performanceTracker.generateReport();
-
-            // In a real implementation, you would write to files
-            System.out.println("CSV Data:");
-            System.out.println(csvData);
-            System.out.println("\nReport Data:");
-            System.out.println(reportData);
+            for (ResultExporter.Format format : ResultExporter.Format.values()) {
+                Path path = Paths.get(filename + format.getExtension());
+                long rows = performanceTracker.exportResults(path, format);
+                System.out.println(String.format("Wrote %d rows to %s", rows, path.toAbsolutePath()));
+            }
 
-            System.out.println(String.format("Results exported to %s.csv and %s.txt", filename, filename));
+            Path reportPath = Paths.get(filename + ".txt");
+            Files.writeString(reportPath, performanceTracker.generateReport());
+            System.out.println("Wrote report to " + reportPath.toAbsolutePath());
 
         } catch (Exception e) {
             System.out.println("Error exporting results: " + e.getMessage());
@@ -329,6 +336,42 @@ public class BenchmarkRunner {
         System.out.println(String.format("Stress test completed in %d ms", endTime - startTime));
     }
 
+    /**
+     * Benchmark one registered engine by name, or all of them on shared inputs
+     */
+    private void runEngineBenchmark() {
+        System.out.println("\n=== Engine Benchmark ===");
+        System.out.println("Available engines: " + String.join(", ", MajorityAlgorithms.names()));
+
+        System.out.print("Engine name (or 'all'): ");
+        String name = scanner.nextLine().trim();
+
+        System.out.print("Enter array size: ");
+        int size = Integer.parseInt(scanner.nextLine().trim());
+
+        System.out.print("Should array have majority element? (y/n): ");
+        boolean hasMajority = scanner.nextLine().trim().toLowerCase().startsWith("y");
+
+        System.out.print("Number of runs: ");
+        int runs = Integer.parseInt(scanner.nextLine().trim());
+
+        System.out.println("\nRunning benchmark...");
+
+        if (name.equalsIgnoreCase("all")) {
+            Map<String, PerformanceTracker.PerformanceSummary> summaries =
+                    performanceTracker.benchmarkAll(size, hasMajority, runs);
+            for (PerformanceTracker.PerformanceSummary summary : summaries.values()) {
+                System.out.println(summary);
+            }
+        } else {
+            List<PerformanceTracker.PerformanceResult> results =
+                    performanceTracker.benchmark(name, size, hasMajority, runs);
+            if (!results.isEmpty()) {
+                System.out.println(new PerformanceTracker.PerformanceSummary(name, size, results));
+            }
+        }
+    }
+
     /**
      * Run predefined demo
      */
@@ -0,0 +1,247 @@
+package metrics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+
+/**
+ * Log-bucketed histogram of non-negative nanosecond latencies, after HdrHistogram.
+ *
+ * <p>Values below 2^precisionBits get one exact bucket each. Above that, each power-of-two
+ * range is split into 2^precisionBits equal sub-buckets. So every recorded value is known to
+ * within a relative error of 2^-precisionBits, and the bucket array has a fixed size whatever
+ * the values or how many are recorded. Minimum and maximum are tracked exactly. Buckets are
+ * allocated lazily, covering only the range between the lowest and highest recorded bucket, so
+ * latencies spanning a few octaves cost a few KB rather than the full bucket range.
+ *
+ * <p>Histograms with the same precision merge by adding bucket counts, which loses nothing.
+ * Record into one histogram per thread and {@link #merge} them. To combine sessions, write the
+ * histogram out with {@link #encode()} and read it back with {@link #decode(byte[])}.
+ * Not thread-safe.
+ */
+public class LatencyHistogram {
+
+    /**
+     * 2^-7, under 0.8% relative error, in 57 * 128 buckets
+     */
+    public static final int DEFAULT_PRECISION_BITS = 7;
+
+    private static final int MAX_PRECISION_BITS = 16;
+    private static final long[] NO_COUNTS = new long[0];
+
+    private final int precisionBits;
+    private final int subBuckets;
+    private final int bucketCount;
+    /**
+     * counts[i] holds bucket offset + i
+     */
+    private long[] counts = NO_COUNTS;
+    private int offset;
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public LatencyHistogram() {
+        this(DEFAULT_PRECISION_BITS);
+    }
+
+    public LatencyHistogram(int precisionBits) {
+        if (precisionBits < 1 || precisionBits > MAX_PRECISION_BITS) {
+            throw new IllegalArgumentException("Precision must be 1.." + MAX_PRECISION_BITS + " bits: " + precisionBits);
+        }
+        this.precisionBits = precisionBits;
+        this.subBuckets = 1 << precisionBits;
+        // One exact range below 2^precisionBits, then one range per exponent up to 62
+        this.bucketCount = (Long.SIZE - precisionBits) * subBuckets;
+    }
+
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    /**
+     * Records count occurrences of value
+     */
+    public void record(long value, long count) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative: " + value);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + count);
+        }
+        if (count == 0) {
+            return;
+        }
+        int index = indexOf(value);
+        ensureBucket(index);
+        counts[index - offset] += count;
+        totalCount += count;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds other's counts to this histogram
+     *
+     * @throws IllegalArgumentException if the precisions differ
+     */
+    public LatencyHistogram merge(LatencyHistogram other) {
+        if (other.precisionBits != precisionBits) {
+            throw new IllegalArgumentException("Cannot merge histograms of " + precisionBits
+                    + " and " + other.precisionBits + " precision bits");
+        }
+        if (other.counts.length > 0) {
+            ensureBucket(other.offset);
+            ensureBucket(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        totalCount += other.totalCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Smallest recorded value v such that at least percentile% of the values are at most v,
+     * to within the bucket width (reported as the bucket's upper end, capped at the maximum)
+     *
+     * @param percentile 0 to 100
+     * @return the value, or 0 if nothing was recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be within 0..100: " + percentile);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, highestEquivalentValue(offset + i)));
+            }
+        }
+        return max;
+    }
+
+    public long getTotalCount() { return totalCount; }
+    public long getMin() { return totalCount == 0 ? 0 : min; }
+    public long getMax() { return max; }
+    public int getPrecisionBits() { return precisionBits; }
+
+    /**
+     * Bytes held by the allocated buckets
+     */
+    public long footprintBytes() { return (long) counts.length * Long.BYTES; }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Compact form holding only the non-empty buckets: precision, total count, min, max,
+     * then (bucket index, count) pairs
+     */
+    public byte[] encode() {
+        int used = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                used++;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2 + Long.BYTES * 3 + used * (Integer.BYTES + Long.BYTES));
+        buffer.putInt(precisionBits).putLong(totalCount).putLong(min).putLong(max).putInt(used);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                buffer.putInt(offset + i).putLong(counts[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException if bytes is not the output of {@link #encode()}
+     */
+    public static LatencyHistogram decode(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            LatencyHistogram histogram = new LatencyHistogram(buffer.getInt());
+            histogram.totalCount = buffer.getLong();
+            histogram.min = buffer.getLong();
+            histogram.max = buffer.getLong();
+            int used = buffer.getInt();
+            for (int i = 0; i < used; i++) {
+                int index = buffer.getInt();
+                if (index < 0 || index >= histogram.bucketCount) {
+                    throw new IllegalArgumentException("Bucket out of range: " + index);
+                }
+                histogram.ensureBucket(index);
+                histogram.counts[index - histogram.offset] = buffer.getLong();
+            }
+            return histogram;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed histogram encoding", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LatencyHistogram{count=%d, min=%d ns, p50=%d ns, p90=%d ns, p99=%d ns, p99.9=%d ns, max=%d ns}",
+                totalCount, getMin(), valueAtPercentile(50), valueAtPercentile(90), valueAtPercentile(99),
+                valueAtPercentile(99.9), max);
+    }
+
+
+    /**
+     * Widens the allocated range to include index, with slack in the direction of growth so a
+     * drifting range does not copy on every new bucket
+     */
+    private void ensureBucket(int index) {
+        if (index >= offset && index < offset + counts.length) {
+            return;
+        }
+        int low = counts.length == 0 ? index : Math.min(offset, index);
+        int high = counts.length == 0 ? index + 1 : Math.max(offset + counts.length, index + 1);
+        int slack = Math.max(16, (high - low) / 2);
+        if (counts.length == 0 || index < offset) {
+            low = Math.max(0, low - slack);
+        }
+        if (counts.length == 0 || index >= offset + counts.length) {
+            high = Math.min(bucketCount, high + slack);
+        }
+        long[] widened = new long[high - low];
+        if (counts.length > 0) {
+            System.arraycopy(counts, 0, widened, offset - low, counts.length);
+        }
+        counts = widened;
+        offset = low;
+    }
+
+    private int indexOf(long value) {
+        if (value < subBuckets) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - precisionBits;
+        // The precisionBits bits after the leading one pick the sub-bucket
+        int sub = (int) (value >>> shift) & (subBuckets - 1);
+        return subBuckets + shift * subBuckets + sub;
+    }
+
+    private long highestEquivalentValue(int index) {
+        if (index < subBuckets) {
+            return index;
+        }
+        int shift = (index - subBuckets) / subBuckets;
+        long sub = (index - subBuckets) % subBuckets;
+        long low = (1L << (shift + precisionBits)) | (sub << shift);
+        return low + (1L << shift) - 1;
+    }
+}
@@ -1,8 +1,29 @@
 package metrics;
 
+import algorithms.BitsetMajorityVote;
 import algorithms.BoyerMooreMajorityVote;
+import algorithms.DynamicMajorityStructure;
+import algorithms.EnsembleMajorityVote;
+import algorithms.GroupedMajorityAggregator;
+import algorithms.KeyedStreamingMajority;
+import algorithms.MajorityAlgorithm;
+import algorithms.MajorityAlgorithms;
+import algorithms.MisraGriesHeavyHitters;
+import algorithms.ParallelMajorityVote;
+import algorithms.PrimitiveMajorityVote;
+import algorithms.RangeMajorityIndex;
+import algorithms.SlidingWindowMajority;
+import algorithms.VectorizedMajorityVote;
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 
 public class PerformanceTracker {
@@ -11,16 +32,26 @@ public class PerformanceTracker {
     public static class PerformanceResult {
         private final int inputSize;
         private final long executionTimeNanos;
-        private final int comparisons;
-        private final int arrayAccesses;
-        private final int memoryAllocations;
+        private final long comparisons;
+        private final long arrayAccesses;
+        private final long memoryAllocations;
         private final boolean hasMajority;
         private final String algorithmName;
         private final long timestamp;
 
-        public PerformanceResult(int inputSize, long executionTimeNanos, int comparisons,
-                                 int arrayAccesses, int memoryAllocations, boolean hasMajority,
+        public PerformanceResult(int inputSize, long executionTimeNanos, long comparisons,
+                                 long arrayAccesses, long memoryAllocations, boolean hasMajority,
                                  String algorithmName) {
+            this(inputSize, executionTimeNanos, comparisons, arrayAccesses, memoryAllocations, hasMajority,
+                    algorithmName, System.currentTimeMillis());
+        }
+
+        /**
+         * Rebuilds a stored run with its original timestamp
+         */
+        public PerformanceResult(int inputSize, long executionTimeNanos, long comparisons,
+                                 long arrayAccesses, long memoryAllocations, boolean hasMajority,
+                                 String algorithmName, long timestamp) {
             this.inputSize = inputSize;
             this.executionTimeNanos = executionTimeNanos;
             this.comparisons = comparisons;
@@ -28,15 +59,15 @@ public class PerformanceTracker {
             this.memoryAllocations = memoryAllocations;
             this.hasMajority = hasMajority;
             this.algorithmName = algorithmName;
-            this.timestamp = System.currentTimeMillis();
+            this.timestamp = timestamp;
         }
 
         public int getInputSize() { return inputSize; }
         public long getExecutionTimeNanos() { return executionTimeNanos; }
         public double getExecutionTimeMillis() { return executionTimeNanos / 1_000_000.0; }
-        public int getComparisons() { return comparisons; }
-        public int getArrayAccesses() { return arrayAccesses; }
-        public int getMemoryAllocations() { return memoryAllocations; }
+        public long getComparisons() { return comparisons; }
+        public long getArrayAccesses() { return arrayAccesses; }
+        public long getMemoryAllocations() { return memoryAllocations; }
         public boolean hasMajority() { return hasMajority; }
         public String getAlgorithmName() { return algorithmName; }
         public long getTimestamp() { return timestamp; }
@@ -60,32 +91,37 @@ public class PerformanceTracker {
         private final double avgComparisons;
         private final double avgArrayAccesses;
         private final double avgMemoryAllocations;
-        private final List<PerformanceResult> results;
+        private final LatencyHistogram latencies;
+        private final Supplier<List<PerformanceResult>> results;
 
         public PerformanceSummary(String algorithmName, int inputSize, List<PerformanceResult> results) {
+            this(algorithmName, inputSize, ResultStore.Aggregate.of(results), snapshot(results));
+        }
+
+        /**
+         * From running totals; the result list is only built if {@link #getResults()} is called
+         */
+        PerformanceSummary(String algorithmName, int inputSize, ResultStore.Aggregate aggregate,
+                           Supplier<List<PerformanceResult>> results) {
             this.algorithmName = algorithmName;
             this.inputSize = inputSize;
-            this.runCount = results.size();
-            this.results = new ArrayList<>(results);
+            this.runCount = (int) aggregate.count();
+            this.results = results;
 
-            // Calculate statistics
-            double[] times = results.stream().mapToDouble(PerformanceResult::getExecutionTimeMillis).toArray();
-            this.avgExecutionTime = Arrays.stream(times).average().orElse(0.0);
-            this.minExecutionTime = Arrays.stream(times).min().orElse(0.0);
-            this.maxExecutionTime = Arrays.stream(times).max().orElse(0.0);
-            this.stdDevExecutionTime = calculateStandardDeviation(times, avgExecutionTime);
-
-            this.avgComparisons = results.stream().mapToInt(PerformanceResult::getComparisons).average().orElse(0.0);
-            this.avgArrayAccesses = results.stream().mapToInt(PerformanceResult::getArrayAccesses).average().orElse(0.0);
-            this.avgMemoryAllocations = results.stream().mapToInt(PerformanceResult::getMemoryAllocations).average().orElse(0.0);
+            RunningStatistics times = aggregate.timesMillis;
+            this.avgExecutionTime = times.getMean();
+            this.minExecutionTime = times.getMin();
+            this.maxExecutionTime = times.getMax();
+            this.stdDevExecutionTime = times.getStandardDeviation();
+            this.avgComparisons = runCount > 0 ? (double) aggregate.comparisons / runCount : 0.0;
+            this.avgArrayAccesses = runCount > 0 ? (double) aggregate.arrayAccesses / runCount : 0.0;
+            this.avgMemoryAllocations = runCount > 0 ? (double) aggregate.memoryAllocations / runCount : 0.0;
+            this.latencies = new LatencyHistogram(aggregate.latencies.getPrecisionBits()).merge(aggregate.latencies);
         }
 
-        private double calculateStandardDeviation(double[] values, double mean) {
-            double variance = Arrays.stream(values)
-                    .map(x -> Math.pow(x - mean, 2))
-                    .average()
-                    .orElse(0.0);
-            return Math.sqrt(variance);
+        private static Supplier<List<PerformanceResult>> snapshot(List<PerformanceResult> results) {
+            List<PerformanceResult> copy = new ArrayList<>(results);
+            return () -> copy;
         }
 
         public String getAlgorithmName() { return algorithmName; }
@@ -98,61 +134,1177 @@ public class PerformanceTracker {
         public double getAvgComparisons() { return avgComparisons; }
         public double getAvgArrayAccesses() { return avgArrayAccesses; }
         public double getAvgMemoryAllocations() { return avgMemoryAllocations; }
-        public List<PerformanceResult> getResults() { return new ArrayList<>(results); }
+        public List<PerformanceResult> getResults() { return new ArrayList<>(results.get()); }
+
+        /**
+         * Execution time at the given percentile (0 to 100) in milliseconds, within the histogram's precision
+         */
+        public double getPercentileExecutionTime(double percentile) {
+            return latencies.valueAtPercentile(percentile) / 1_000_000.0;
+        }
+
+        public double getP50ExecutionTime() { return getPercentileExecutionTime(50); }
+        public double getP90ExecutionTime() { return getPercentileExecutionTime(90); }
+        public double getP99ExecutionTime() { return getPercentileExecutionTime(99); }
+        public double getP999ExecutionTime() { return getPercentileExecutionTime(99.9); }
+
+        /**
+         * Copy of the execution time histogram, for merging with other summaries or sessions
+         */
+        public LatencyHistogram getLatencyHistogram() {
+            return new LatencyHistogram(latencies.getPrecisionBits()).merge(latencies);
+        }
 
         @Override
         public String toString() {
             return String.format("PerformanceSummary{algorithm='%s', size=%d, runs=%d, avgTime=%.3f±%.3f ms, " +
-                            "min=%.3f ms, max=%.3f ms, avgComparisons=%.1f, avgAccesses=%.1f, avgAllocations=%.1f}",
+                            "min=%.3f ms, max=%.3f ms, p50=%.3f ms, p90=%.3f ms, p99=%.3f ms, p99.9=%.3f ms, " +
+                            "avgComparisons=%.1f, avgAccesses=%.1f, avgAllocations=%.1f}",
                     algorithmName, inputSize, runCount, avgExecutionTime, stdDevExecutionTime,
-                    minExecutionTime, maxExecutionTime, avgComparisons, avgArrayAccesses, avgMemoryAllocations);
+                    minExecutionTime, maxExecutionTime, getP50ExecutionTime(), getP90ExecutionTime(),
+                    getP99ExecutionTime(), getP999ExecutionTime(), avgComparisons, avgArrayAccesses, avgMemoryAllocations);
         }
     }
 
-    private final Map<String, List<PerformanceResult>> results;
+    /**
+     * When warmup stops: once the last window runs vary by at most maxCoefficientOfVariation
+     * and the JIT compiled nothing while they ran, but never before minRuns or after maxRuns
+     */
+    public static class WarmupPolicy {
+        public static final WarmupPolicy DEFAULT = new WarmupPolicy(5, 100, 5, 0.05);
+        public static final WarmupPolicy NONE = new WarmupPolicy(0, 0, 2, 0.0);
+
+        private final int minRuns;
+        private final int maxRuns;
+        private final int window;
+        private final double maxCoefficientOfVariation;
+
+        public WarmupPolicy(int minRuns, int maxRuns, int window, double maxCoefficientOfVariation) {
+            if (minRuns < 0 || maxRuns < minRuns) {
+                throw new IllegalArgumentException("Need 0 <= minRuns <= maxRuns: " + minRuns + ", " + maxRuns);
+            }
+            if (window < 2) {
+                throw new IllegalArgumentException("Window must hold at least two runs: " + window);
+            }
+            if (!(maxCoefficientOfVariation >= 0)) {
+                throw new IllegalArgumentException("Coefficient of variation must be non-negative: " + maxCoefficientOfVariation);
+            }
+            this.minRuns = minRuns;
+            this.maxRuns = maxRuns;
+            this.window = window;
+            this.maxCoefficientOfVariation = maxCoefficientOfVariation;
+        }
+
+        public int getMinRuns() { return minRuns; }
+        public int getMaxRuns() { return maxRuns; }
+        public int getWindow() { return window; }
+        public double getMaxCoefficientOfVariation() { return maxCoefficientOfVariation; }
+    }
+
+    /**
+     * Warmup runs of one benchmark, kept out of its {@link PerformanceSummary}, and how long
+     * the JIT took to settle. Compilation times come from the {@link CompilationMXBean} and
+     * are -1 when the JVM does not monitor them.
+     */
+    public static class WarmupReport {
+        private final String algorithmName;
+        private final int inputSize;
+        private final List<PerformanceResult> warmupRuns;
+        private final boolean steadyState;
+        private final double finalCoefficientOfVariation;
+        private final long warmupNanos;
+        private final long warmupCompilationMillis;
+        private final long measurementCompilationMillis;
+
+        public WarmupReport(String algorithmName, int inputSize, List<PerformanceResult> warmupRuns, boolean steadyState,
+                            double finalCoefficientOfVariation, long warmupNanos,
+                            long warmupCompilationMillis, long measurementCompilationMillis) {
+            this.algorithmName = algorithmName;
+            this.inputSize = inputSize;
+            this.warmupRuns = new ArrayList<>(warmupRuns);
+            this.steadyState = steadyState;
+            this.finalCoefficientOfVariation = finalCoefficientOfVariation;
+            this.warmupNanos = warmupNanos;
+            this.warmupCompilationMillis = warmupCompilationMillis;
+            this.measurementCompilationMillis = measurementCompilationMillis;
+        }
+
+        public String getAlgorithmName() { return algorithmName; }
+        public int getInputSize() { return inputSize; }
+        public List<PerformanceResult> getWarmupRuns() { return new ArrayList<>(warmupRuns); }
+        public int getWarmupRunCount() { return warmupRuns.size(); }
+
+        /**
+         * False when warmup hit its run limit before the timings settled
+         */
+        public boolean isSteadyState() { return steadyState; }
+        public double getFinalCoefficientOfVariation() { return finalCoefficientOfVariation; }
+
+        /**
+         * Wall-clock time from the first warmup run until steady state (or the run limit)
+         */
+        public double getTimeToSteadyStateMillis() { return warmupNanos / 1_000_000.0; }
+        public long getWarmupCompilationMillis() { return warmupCompilationMillis; }
+
+        /**
+         * JIT time spent during the measured runs; nonzero means they were not all steady-state
+         */
+        public long getMeasurementCompilationMillis() { return measurementCompilationMillis; }
+
+        public double getFirstRunMillis() {
+            return warmupRuns.isEmpty() ? 0.0 : warmupRuns.get(0).getExecutionTimeMillis();
+        }
+
+        public double getLastRunMillis() {
+            return warmupRuns.isEmpty() ? 0.0 : warmupRuns.get(warmupRuns.size() - 1).getExecutionTimeMillis();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("WarmupReport{algorithm='%s', size=%d, warmupRuns=%d, steady=%s, cv=%.3f, " +
+                            "timeToSteady=%.3f ms, first=%.3f ms, last=%.3f ms, jit=%d ms, jitDuringMeasurement=%d ms}",
+                    algorithmName, inputSize, warmupRuns.size(), steadyState, finalCoefficientOfVariation,
+                    getTimeToSteadyStateMillis(), getFirstRunMillis(), getLastRunMillis(),
+                    warmupCompilationMillis, measurementCompilationMillis);
+        }
+    }
+
+    /**
+     * Parallel engine timings relative to the sequential primitive engine on the same inputs
+     */
+    public static class SpeedupReport {
+        private final int inputSize;
+        private final int parallelism;
+        private final PerformanceSummary sequential;
+        private final PerformanceSummary parallel;
+
+        public SpeedupReport(int inputSize, int parallelism, PerformanceSummary sequential, PerformanceSummary parallel) {
+            this.inputSize = inputSize;
+            this.parallelism = parallelism;
+            this.sequential = sequential;
+            this.parallel = parallel;
+        }
+
+        public int getInputSize() { return inputSize; }
+        public int getParallelism() { return parallelism; }
+        public PerformanceSummary getSequential() { return sequential; }
+        public PerformanceSummary getParallel() { return parallel; }
+
+        public double getSpeedup() {
+            double parallelTime = parallel.getAvgExecutionTime();
+            return parallelTime > 0 ? sequential.getAvgExecutionTime() / parallelTime : 0.0;
+        }
+
+        /**
+         * Speedup divided by worker count; 1.0 is perfectly linear
+         */
+        public double getEfficiency() {
+            return parallelism > 0 ? getSpeedup() / parallelism : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SpeedupReport{size=%d, parallelism=%d, sequential=%.3f ms, parallel=%.3f ms, speedup=%.2fx, efficiency=%.2f}",
+                    inputSize, parallelism, sequential.getAvgExecutionTime(), parallel.getAvgExecutionTime(),
+                    getSpeedup(), getEfficiency());
+        }
+    }
+
+    /**
+     * Build cost, footprint and query throughput of a {@link RangeMajorityIndex}
+     */
+    public static class RangeIndexReport {
+        private final int inputSize;
+        private final long buildTimeNanos;
+        private final long footprintBytes;
+        private final int queries;
+        private final double queriesPerSecond;
+        private final double baselineQueriesPerSecond;
+
+        public RangeIndexReport(int inputSize, long buildTimeNanos, long footprintBytes, int queries,
+                                double queriesPerSecond, double baselineQueriesPerSecond) {
+            this.inputSize = inputSize;
+            this.buildTimeNanos = buildTimeNanos;
+            this.footprintBytes = footprintBytes;
+            this.queries = queries;
+            this.queriesPerSecond = queriesPerSecond;
+            this.baselineQueriesPerSecond = baselineQueriesPerSecond;
+        }
+
+        public int getInputSize() { return inputSize; }
+        public long getBuildTimeNanos() { return buildTimeNanos; }
+        public double getBuildTimeMillis() { return buildTimeNanos / 1_000_000.0; }
+        public long getFootprintBytes() { return footprintBytes; }
+        public int getQueries() { return queries; }
+        public double getQueriesPerSecond() { return queriesPerSecond; }
+        public double getBaselineQueriesPerSecond() { return baselineQueriesPerSecond; }
+
+        @Override
+        public String toString() {
+            return String.format("RangeIndexReport{size=%d, build=%.3f ms, footprint=%.1f bytes/element, " +
+                            "queries=%d, indexed=%.0f q/s, copy+scan=%.0f q/s}",
+                    inputSize, getBuildTimeMillis(), inputSize > 0 ? (double) footprintBytes / inputSize : 0.0,
+                    queries, queriesPerSecond, baselineQueriesPerSecond);
+        }
+    }
+
+    /**
+     * Update rate and off-heap footprint of a {@link KeyedStreamingMajority} store
+     */
+    public static class KeyedStoreReport {
+        private final int keys;
+        private final long updates;
+        private final long elapsedNanos;
+        private final long footprintBytes;
+
+        public KeyedStoreReport(int keys, long updates, long elapsedNanos, long footprintBytes) {
+            this.keys = keys;
+            this.updates = updates;
+            this.elapsedNanos = elapsedNanos;
+            this.footprintBytes = footprintBytes;
+        }
+
+        public int getKeys() { return keys; }
+        public long getUpdates() { return updates; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public long getFootprintBytes() { return footprintBytes; }
+        public double getUpdatesPerSecond() { return perSecond(updates, elapsedNanos); }
+        public double getBytesPerKey() { return keys > 0 ? (double) footprintBytes / keys : 0.0; }
+
+        @Override
+        public String toString() {
+            return String.format("KeyedStoreReport{keys=%d, updates=%d, time=%.3f ms, %.0f updates/s, %.1f bytes/key}",
+                    keys, updates, elapsedNanos / 1_000_000.0, getUpdatesPerSecond(), getBytesPerKey());
+        }
+    }
+
+    /**
+     * Operations completed over a timed interval
+     */
+    public static class ThroughputReport {
+        private final String label;
+        private final long operations;
+        private final long elapsedNanos;
+
+        public ThroughputReport(String label, long operations, long elapsedNanos) {
+            this.label = label;
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getLabel() { return label; }
+        public long getOperations() { return operations; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public double getOperationsPerSecond() { return perSecond(operations, elapsedNanos); }
+        public double getNanosPerOperation() { return operations > 0 ? (double) elapsedNanos / operations : 0.0; }
+
+        @Override
+        public String toString() {
+            return String.format("ThroughputReport{%s, operations=%d, time=%.3f ms, %.0f ops/s, %.1f ns/op}",
+                    label, operations, elapsedNanos / 1_000_000.0, getOperationsPerSecond(), getNanosPerOperation());
+        }
+    }
+
+    /**
+     * Per-operation latency distribution from individually timed operations
+     */
+    public static class LatencyReport {
+        private final String label;
+        private final long samples;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+        private final double meanNanos;
+
+        public LatencyReport(String label, long[] latenciesNanos) {
+            long[] sorted = latenciesNanos.clone();
+            Arrays.sort(sorted);
+            this.label = label;
+            this.samples = sorted.length;
+            this.p50Nanos = percentile(sorted, 0.50);
+            this.p99Nanos = percentile(sorted, 0.99);
+            this.maxNanos = sorted.length > 0 ? sorted[sorted.length - 1] : 0;
+            this.meanNanos = Arrays.stream(sorted).average().orElse(0.0);
+        }
+
+        private static long percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(fraction * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+        }
+
+        public String getLabel() { return label; }
+        public long getSamples() { return samples; }
+        public long getP50Nanos() { return p50Nanos; }
+        public long getP99Nanos() { return p99Nanos; }
+        public long getMaxNanos() { return maxNanos; }
+        public double getMeanNanos() { return meanNanos; }
+
+        @Override
+        public String toString() {
+            return String.format("LatencyReport{%s, samples=%d, p50=%d ns, p99=%d ns, max=%d ns, mean=%.1f ns}",
+                    label, samples, p50Nanos, p99Nanos, maxNanos, meanNanos);
+        }
+    }
+
+    /**
+     * Input bytes streamed per second by one engine
+     */
+    public static class BandwidthReport {
+        private final String label;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        public BandwidthReport(String label, long bytes, long elapsedNanos) {
+            this.label = label;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getLabel() { return label; }
+        public long getBytes() { return bytes; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public double getGigabytesPerSecond() { return elapsedNanos > 0 ? (double) bytes / elapsedNanos : 0.0; }
+
+        @Override
+        public String toString() {
+            return String.format("BandwidthReport{%s, bytes=%d, time=%.3f ms, %.2f GB/s}",
+                    label, bytes, elapsedNanos / 1_000_000.0, getGigabytesPerSecond());
+        }
+    }
+
+    private final ResultStore store;
+    private final Map<String, WarmupReport> warmupReports;
+
+    /**
+     * Benchmark loops publish a checksum here so the JIT cannot drop the measured work
+     */
+    private volatile long blackhole;
 
     public PerformanceTracker() {
-        this.results = new ConcurrentHashMap<>();
+        this.store = new ResultStore();
+        this.warmupReports = new ConcurrentHashMap<>();
     }
 
 
     public List<PerformanceResult> benchmarkBoyerMoore(int inputSize, boolean hasMajority, int runs) {
-        List<PerformanceResult> runResults = new ArrayList<>();
+        return benchmarkBoyerMoore(inputSize, hasMajority, runs, WarmupPolicy.DEFAULT);
+    }
+
+
+    /**
+     * Warms up until steady state, then times the measured runs, each on a fresh shuffled input.
+     * Only the measured runs are returned and stored; see {@link #getWarmupReport}.
+     */
+    public List<PerformanceResult> benchmarkBoyerMoore(int inputSize, boolean hasMajority, int runs, WarmupPolicy warmup) {
+        return measure("BoyerMooreMajorityVote", inputSize, hasMajority, runs, warmup,
+                () -> {
+                    // Generate and shuffle outside the engine's timer
+                    Integer[] testArray = BoyerMooreMajorityVote.generateTestArray(inputSize, hasMajority);
+                    BoyerMooreMajorityVote.shuffleArray(testArray);
+                    return BoyerMooreMajorityVote.findMajorityElement(testArray);
+                });
+    }
+
+
+    /**
+     * Same workload as {@link #benchmarkBoyerMoore(int, boolean, int)}, run through the int[] engine
+     */
+    public List<PerformanceResult> benchmarkPrimitive(int inputSize, boolean hasMajority, int runs) {
+        return measure("PrimitiveMajorityVote", inputSize, hasMajority, runs, WarmupPolicy.DEFAULT,
+                () -> {
+                    int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, hasMajority);
+                    PrimitiveMajorityVote.shuffleArray(testArray);
+                    return PrimitiveMajorityVote.findMajorityElement(testArray);
+                });
+    }
+
+
+    /**
+     * Benchmark any registered {@link MajorityAlgorithm}; results are stored under its name
+     *
+     * @throws IllegalArgumentException if no engine is registered under algorithmName
+     */
+    public List<PerformanceResult> benchmark(String algorithmName, int inputSize, boolean hasMajority, int runs) {
+        MajorityAlgorithm algorithm = MajorityAlgorithms.get(algorithmName);
+        return measure(algorithm.name(), inputSize, hasMajority, runs, WarmupPolicy.DEFAULT,
+                () -> {
+                    int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, hasMajority);
+                    PrimitiveMajorityVote.shuffleArray(testArray);
+                    return algorithm.findMajorityElement(testArray);
+                });
+    }
+
+
+    /**
+     * Every registered engine on the same shuffled array in each round, in rotating order,
+     * after each engine has warmed up on its own
+     */
+    public Map<String, PerformanceSummary> benchmarkAll(int inputSize, boolean hasMajority, int runs) {
+        List<MajorityAlgorithm> algorithms = MajorityAlgorithms.all();
+        Map<String, List<PerformanceResult>> runResults = new LinkedHashMap<>();
+        List<WarmupPhase> warmups = new ArrayList<>();
+        for (MajorityAlgorithm algorithm : algorithms) {
+            runResults.put(algorithm.name(), new ArrayList<>());
+            warmups.add(warmUp(algorithm.name(), inputSize, hasMajority, WarmupPolicy.DEFAULT, () -> {
+                int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, hasMajority);
+                PrimitiveMajorityVote.shuffleArray(testArray);
+                return algorithm.findMajorityElement(testArray);
+            }));
+        }
 
+        long measurementStart = totalCompilationMillis();
         for (int i = 0; i < runs; i++) {
-            // Generate test array
-            Integer[] testArray = BoyerMooreMajorityVote.generateTestArray(inputSize, hasMajority);
+            int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, hasMajority);
+            PrimitiveMajorityVote.shuffleArray(testArray);
+
+            for (int j = 0; j < algorithms.size(); j++) {
+                MajorityAlgorithm algorithm = algorithms.get((i + j) % algorithms.size());
+                BoyerMooreMajorityVote.Result result = algorithm.findMajorityElement(testArray);
+
+                if (!result.hasError()) {
+                    runResults.get(algorithm.name()).add(toPerformanceResult(inputSize, result, algorithm.name()));
+                }
+            }
+        }
+        recordWarmups(warmups, totalCompilationMillis() - measurementStart);
+
+        Map<String, PerformanceSummary> summaries = new LinkedHashMap<>();
+        for (Map.Entry<String, List<PerformanceResult>> entry : runResults.entrySet()) {
+            storeResults(entry.getKey(), inputSize, hasMajority, entry.getValue());
+            summaries.put(entry.getKey(), new PerformanceSummary(entry.getKey(), inputSize, entry.getValue()));
+        }
+
+        return summaries;
+    }
+
+
+    /**
+     * Sorted inputs through each {@link BoyerMooreMajorityVote.InputOrder}: the full vote, the
+     * declared sorted path and the sampled detection, all on the same array in each round,
+     * after each mode has warmed up on its own
+     */
+    public Map<BoyerMooreMajorityVote.InputOrder, PerformanceSummary> benchmarkSortedInput(
+            int inputSize, boolean hasMajority, int runs) {
+        BoyerMooreMajorityVote.InputOrder[] orders = BoyerMooreMajorityVote.InputOrder.values();
+        Map<BoyerMooreMajorityVote.InputOrder, List<PerformanceResult>> runResults =
+                new EnumMap<>(BoyerMooreMajorityVote.InputOrder.class);
+        List<WarmupPhase> warmups = new ArrayList<>();
+        for (BoyerMooreMajorityVote.InputOrder order : orders) {
+            warmups.add(warmUp("PrimitiveMajorityVote[" + order + "]", inputSize, hasMajority, WarmupPolicy.DEFAULT, () -> {
+                int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, hasMajority);
+                Arrays.sort(testArray);
+                return PrimitiveMajorityVote.findMajorityElement(testArray, order);
+            }));
+        }
+
+        long measurementStart = totalCompilationMillis();
+        for (int i = 0; i < runs; i++) {
+            int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, hasMajority);
+            Arrays.sort(testArray);
+
+            for (int j = 0; j < orders.length; j++) {
+                BoyerMooreMajorityVote.InputOrder order = orders[(i + j) % orders.length];
+                BoyerMooreMajorityVote.Result result = PrimitiveMajorityVote.findMajorityElement(testArray, order);
+
+                if (!result.hasError()) {
+                    runResults.computeIfAbsent(order, k -> new ArrayList<>())
+                            .add(toPerformanceResult(inputSize, result, "PrimitiveMajorityVote[" + order + "]"));
+                }
+            }
+        }
+        recordWarmups(warmups, totalCompilationMillis() - measurementStart);
+
+        Map<BoyerMooreMajorityVote.InputOrder, PerformanceSummary> summaries =
+                new EnumMap<>(BoyerMooreMajorityVote.InputOrder.class);
+        for (Map.Entry<BoyerMooreMajorityVote.InputOrder, List<PerformanceResult>> entry : runResults.entrySet()) {
+            String name = "PrimitiveMajorityVote[" + entry.getKey() + "]";
+            storeResults(name, inputSize, hasMajority, entry.getValue());
+            summaries.put(entry.getKey(), new PerformanceSummary(name, inputSize, entry.getValue()));
+        }
+
+        return summaries;
+    }
 
-            // Shuffle for randomization
+
+    /**
+     * Cost of the instrumentation itself: each level warms up on its own, then every level runs
+     * on the same shuffled array in each round, with the level order rotated
+     */
+    public Map<BoyerMooreMajorityVote.InstrumentationLevel, PerformanceSummary> benchmarkInstrumentationOverhead(
+            int inputSize, boolean hasMajority, int runs) {
+        BoyerMooreMajorityVote.InstrumentationLevel[] levels = BoyerMooreMajorityVote.InstrumentationLevel.values();
+        Map<BoyerMooreMajorityVote.InstrumentationLevel, List<PerformanceResult>> runResults =
+                new EnumMap<>(BoyerMooreMajorityVote.InstrumentationLevel.class);
+        List<WarmupPhase> warmups = new ArrayList<>();
+        for (BoyerMooreMajorityVote.InstrumentationLevel level : levels) {
+            warmups.add(warmUp(instrumentedName(level), inputSize, hasMajority, WarmupPolicy.DEFAULT, () -> {
+                Integer[] testArray = BoyerMooreMajorityVote.generateTestArray(inputSize, hasMajority);
+                BoyerMooreMajorityVote.shuffleArray(testArray);
+                return BoyerMooreMajorityVote.findMajorityElement(testArray, level);
+            }));
+        }
+
+        long measurementStart = totalCompilationMillis();
+        for (int i = 0; i < runs; i++) {
+            Integer[] testArray = BoyerMooreMajorityVote.generateTestArray(inputSize, hasMajority);
             BoyerMooreMajorityVote.shuffleArray(testArray);
 
-            // Run algorithm and measure performance
-            BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(testArray);
+            for (int j = 0; j < levels.length; j++) {
+                BoyerMooreMajorityVote.InstrumentationLevel level = levels[(i + j) % levels.length];
+                BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(testArray, level);
 
-            if (!result.hasError()) {
-                BoyerMooreMajorityVote.Metrics metrics = result.getMetrics();
-                PerformanceResult perfResult = new PerformanceResult(
-                        inputSize,
-                        metrics.getExecutionTimeNanos(),
-                        metrics.getComparisons(),
-                        metrics.getArrayAccesses(),
-                        metrics.getMemoryAllocations(),
-                        result.hasMajority(),
-                        "BoyerMooreMajorityVote"
-                );
-
-                runResults.add(perfResult);
+                if (!result.hasError()) {
+                    runResults.computeIfAbsent(level, k -> new ArrayList<>())
+                            .add(toPerformanceResult(inputSize, result, instrumentedName(level)));
+                }
             }
         }
+        recordWarmups(warmups, totalCompilationMillis() - measurementStart);
+
+        Map<BoyerMooreMajorityVote.InstrumentationLevel, PerformanceSummary> summaries =
+                new EnumMap<>(BoyerMooreMajorityVote.InstrumentationLevel.class);
+        for (Map.Entry<BoyerMooreMajorityVote.InstrumentationLevel, List<PerformanceResult>> entry : runResults.entrySet()) {
+            String name = instrumentedName(entry.getKey());
+            storeResults(name, inputSize, hasMajority, entry.getValue());
+            summaries.put(entry.getKey(), new PerformanceSummary(name, inputSize, entry.getValue()));
+        }
+
+        return summaries;
+    }
+
+
+    private static String instrumentedName(BoyerMooreMajorityVote.InstrumentationLevel level) {
+        return "BoyerMooreMajorityVote[" + level + "]";
+    }
+
+
+    /**
+     * Same workload and warmup as {@link #benchmarkPrimitive}, so speedups compare steady states
+     */
+    public List<PerformanceResult> benchmarkParallel(int inputSize, boolean hasMajority, int runs, int threshold) {
+        return measure("ParallelMajorityVote", inputSize, hasMajority, runs, WarmupPolicy.DEFAULT,
+                () -> {
+                    int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, hasMajority);
+                    PrimitiveMajorityVote.shuffleArray(testArray);
+                    return ParallelMajorityVote.findMajorityElement(testArray, threshold);
+                });
+    }
+
+
+    /**
+     * Run the sequential primitive engine and the fork/join engine on the same sizes and report speedup
+     */
+    public Map<Integer, SpeedupReport> measureParallelSpeedup(int[] inputSizes, boolean hasMajority, int runs, int threshold) {
+        Map<Integer, SpeedupReport> reports = new LinkedHashMap<>();
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+
+        for (int size : inputSizes) {
+            PerformanceSummary sequential = new PerformanceSummary("PrimitiveMajorityVote", size,
+                    benchmarkPrimitive(size, hasMajority, runs));
+            PerformanceSummary parallel = new PerformanceSummary("ParallelMajorityVote", size,
+                    benchmarkParallel(size, hasMajority, runs, threshold));
+            reports.put(size, new SpeedupReport(size, parallelism, sequential, parallel));
+        }
+
+        return reports;
+    }
+
+
+    /**
+     * Warmed up like {@link #benchmarkPrimitive}; a run's majority flag records whether it found heavy hitters
+     */
+    public List<PerformanceResult> benchmarkMisraGries(int inputSize, boolean hasMajority, int k, int runs) {
+        return measure("MisraGries[k=" + k + "]", inputSize, hasMajority, runs, WarmupPolicy.DEFAULT,
+                () -> {
+                    int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, hasMajority);
+                    PrimitiveMajorityVote.shuffleArray(testArray);
+
+                    MisraGriesHeavyHitters.Result result = MisraGriesHeavyHitters.findHeavyHitters(testArray, k);
+                    return result.hasError()
+                            ? new BoyerMooreMajorityVote.Result(result.getErrorMessage(), result.getMetrics())
+                            : new BoyerMooreMajorityVote.Result(null, result.hasHeavyHitters(), result.getMetrics());
+                });
+    }
+
+
+    /**
+     * Misra-Gries at several k against the primitive Boyer-Moore engine (the k = 2 special case)
+     */
+    public Map<String, PerformanceSummary> compareHeavyHitters(int inputSize, boolean hasMajority, int[] ks, int runs) {
+        Map<String, PerformanceSummary> comparison = new LinkedHashMap<>();
+
+        comparison.put("PrimitiveMajorityVote", new PerformanceSummary("PrimitiveMajorityVote", inputSize,
+                benchmarkPrimitive(inputSize, hasMajority, runs)));
+        for (int k : ks) {
+            String algorithmName = "MisraGries[k=" + k + "]";
+            comparison.put(algorithmName, new PerformanceSummary(algorithmName, inputSize,
+                    benchmarkMisraGries(inputSize, hasMajority, k, runs)));
+        }
+
+        return comparison;
+    }
 
-        // Store results
-        String key = "BoyerMooreMajorityVote_" + inputSize + "_" + hasMajority;
-        results.computeIfAbsent(key, k -> new ArrayList<>()).addAll(runResults);
+
+    /**
+     * Random range queries against a prebuilt index, with copying the slice and
+     * scanning it (capped at 1000 queries) as the baseline
+     */
+    public RangeIndexReport benchmarkRangeIndex(int inputSize, boolean hasMajority, int queries) {
+        int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, hasMajority);
+        PrimitiveMajorityVote.shuffleArray(testArray);
+
+        RangeMajorityIndex index = new RangeMajorityIndex(testArray);
+        Random random = new Random(inputSize);
+        int[][] ranges = new int[queries][2];
+        for (int[] range : ranges) {
+            int a = random.nextInt(inputSize);
+            int b = random.nextInt(inputSize);
+            range[0] = Math.min(a, b);
+            range[1] = Math.max(a, b);
+        }
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int[] range : ranges) {
+            sink += index.query(range[0], range[1]);
+        }
+        long indexedNanos = System.nanoTime() - start;
+
+        int baselineQueries = Math.min(queries, 1000);
+        start = System.nanoTime();
+        for (int i = 0; i < baselineQueries; i++) {
+            int[] slice = Arrays.copyOfRange(testArray, ranges[i][0], ranges[i][1] + 1);
+            sink += PrimitiveMajorityVote.findMajority(slice);
+        }
+        long baselineNanos = System.nanoTime() - start;
+        blackhole = sink;
+
+        return new RangeIndexReport(inputSize, index.getBuildTimeNanos(), index.memoryFootprintBytes(), queries,
+                perSecond(queries, indexedNanos), perSecond(baselineQueries, baselineNanos));
+    }
+
+
+    /**
+     * Mixed point updates and range queries on a {@link DynamicMajorityStructure},
+     * one report per update fraction (0.9 means nine updates for every query)
+     */
+    public Map<String, ThroughputReport> benchmarkDynamicMajority(int inputSize, int operations, double[] updateFractions) {
+        Map<String, ThroughputReport> reports = new LinkedHashMap<>();
+        int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, true);
+        PrimitiveMajorityVote.shuffleArray(testArray);
+
+        for (double updateFraction : updateFractions) {
+            DynamicMajorityStructure structure = new DynamicMajorityStructure(testArray);
+            Random random = new Random(operations);
+
+            // Draw the workload up front so the timed loop only touches the structure
+            boolean[] isUpdate = new boolean[operations];
+            int[] first = new int[operations];
+            int[] second = new int[operations];
+            for (int i = 0; i < operations; i++) {
+                isUpdate[i] = random.nextDouble() < updateFraction;
+                int a = random.nextInt(inputSize);
+                int b = isUpdate[i] ? random.nextInt(4) : random.nextInt(inputSize);
+                first[i] = isUpdate[i] ? a : Math.min(a, b);
+                second[i] = isUpdate[i] ? b : Math.max(a, b);
+            }
+
+            long sink = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < operations; i++) {
+                if (isUpdate[i]) {
+                    structure.set(first[i], second[i]);
+                } else {
+                    sink += structure.query(first[i], second[i]);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            blackhole = sink;
+
+            String label = String.format("updates=%.0f%%", updateFraction * 100);
+            reports.put(label, new ThroughputReport(label, operations, elapsed));
+        }
+
+        return reports;
+    }
+
+
+    /**
+     * Per-element update latency of {@link SlidingWindowMajority} for each window size.
+     * The stream alternates between stretches dominated by one value and uniform noise,
+     * so the window majority keeps appearing and disappearing. The first full window is
+     * fed untimed; each timed sample includes one System.nanoTime() pair of overhead.
+     */
+    public Map<Integer, LatencyReport> benchmarkSlidingWindow(int[] windowSizes, int timedElements) {
+        Map<Integer, LatencyReport> reports = new LinkedHashMap<>();
+
+        for (int windowSize : windowSizes) {
+            SlidingWindowMajority slidingWindow = new SlidingWindowMajority(windowSize);
+            Random random = new Random(windowSize);
+
+            for (int i = 0; i < windowSize; i++) {
+                slidingWindow.accept(streamValue(random, i));
+            }
+
+            long[] latencies = new long[timedElements];
+            long sink = 0;
+            for (int i = 0; i < timedElements; i++) {
+                int value = streamValue(random, windowSize + i);
+                long start = System.nanoTime();
+                slidingWindow.accept(value);
+                latencies[i] = System.nanoTime() - start;
+                sink += slidingWindow.majority();
+            }
+            blackhole = sink;
+
+            reports.put(windowSize, new LatencyReport("window=" + windowSize, latencies));
+        }
+
+        return reports;
+    }
+
+
+    private static int streamValue(Random random, int position) {
+        boolean dominated = (position >>> 16 & 1) == 0;
+        return dominated && random.nextInt(10) < 7 ? 42 : random.nextInt(1 << 20);
+    }
+
+
+    /**
+     * Binary votes three ways: boxed Integer[] 0/1 through the original engine, and the same
+     * votes packed into a long[] bitset, counted sequentially and in parallel
+     */
+    public Map<String, PerformanceSummary> benchmarkBitset(int voteCount, int runs) {
+        Map<String, List<PerformanceResult>> runResults = new LinkedHashMap<>();
+        Random random = new Random();
+
+        List<WarmupPhase> warmups = new ArrayList<>();
+        warmups.add(warmUp("BoyerMooreMajorityVote[Integer[] votes]", voteCount, true, WarmupPolicy.DEFAULT,
+                () -> BoyerMooreMajorityVote.findMajorityElement(randomVotes(voteCount, random))));
+        for (boolean parallel : new boolean[]{false, true}) {
+            warmups.add(warmUp(parallel ? "BitsetMajorityVote[parallel]" : "BitsetMajorityVote", voteCount, true,
+                    WarmupPolicy.DEFAULT, () -> BitsetMajorityVote.findMajorityElement(
+                            packVotes(randomVotes(voteCount, random)), voteCount, parallel)));
+        }
+
+        long measurementStart = totalCompilationMillis();
+        for (int i = 0; i < runs; i++) {
+            Integer[] boxed = randomVotes(voteCount, random);
+            long[] words = packVotes(boxed);
+
+            addRun(runResults, voteCount, "BoyerMooreMajorityVote[Integer[] votes]", BoyerMooreMajorityVote.findMajorityElement(boxed));
+            addRun(runResults, voteCount, "BitsetMajorityVote", BitsetMajorityVote.findMajorityElement(words, voteCount, false));
+            addRun(runResults, voteCount, "BitsetMajorityVote[parallel]", BitsetMajorityVote.findMajorityElement(words, voteCount, true));
+        }
+        recordWarmups(warmups, totalCompilationMillis() - measurementStart);
+
+        Map<String, PerformanceSummary> summaries = new LinkedHashMap<>();
+        for (Map.Entry<String, List<PerformanceResult>> entry : runResults.entrySet()) {
+            storeResults(entry.getKey(), voteCount, true, entry.getValue());
+            summaries.put(entry.getKey(), new PerformanceSummary(entry.getKey(), voteCount, entry.getValue()));
+        }
+
+        return summaries;
+    }
+
+
+    /**
+     * Roughly 55% yes votes, as 1 and 0
+     */
+    private static Integer[] randomVotes(int voteCount, Random random) {
+        Integer[] votes = new Integer[voteCount];
+        for (int j = 0; j < voteCount; j++) {
+            votes[j] = random.nextInt(100) < 55 ? 1 : 0;
+        }
+        return votes;
+    }
+
+
+    private static long[] packVotes(Integer[] votes) {
+        BitSet bits = new BitSet(votes.length);
+        for (int j = 0; j < votes.length; j++) {
+            bits.set(j, votes[j] == 1);
+        }
+        return Arrays.copyOf(bits.toLongArray(),
+                (votes.length + BitsetMajorityVote.BITS_PER_WORD - 1) / BitsetMajorityVote.BITS_PER_WORD);
+    }
+
+
+    private void addRun(Map<String, List<PerformanceResult>> runResults, int inputSize, String name,
+                        BoyerMooreMajorityVote.Result result) {
+        if (!result.hasError()) {
+            runResults.computeIfAbsent(name, k -> new ArrayList<>()).add(toPerformanceResult(inputSize, result, name));
+        }
+    }
+
+
+    /**
+     * Positions voted per second across K prediction arrays: one boxed Integer[] column per
+     * position through the original engine, then the tiled ensemble engine sequentially and
+     * in parallel
+     */
+    public Map<String, ThroughputReport> benchmarkEnsemble(int models, int positions, int runs) {
+        Random random = new Random();
+        int[][] predictions = new int[models][positions];
+        for (int[] row : predictions) {
+            for (int p = 0; p < positions; p++) {
+                // Ten labels with label 0 favoured, so most positions have a majority
+                row[p] = random.nextInt(100) < 60 ? 0 : random.nextInt(10);
+            }
+        }
+
+        Map<String, ThroughputReport> reports = new LinkedHashMap<>();
+        long sink = 0;
+
+        long start = System.nanoTime();
+        for (int run = 0; run < runs; run++) {
+            Integer[] column = new Integer[models];
+            for (int p = 0; p < positions; p++) {
+                for (int k = 0; k < models; k++) {
+                    column[k] = predictions[k][p];
+                }
+                sink += BoyerMooreMajorityVote.findMajorityElement(column, BoyerMooreMajorityVote.InstrumentationLevel.OFF)
+                        .hasMajority() ? 1 : 0;
+            }
+        }
+        reports.put("per-column Integer[]",
+                new ThroughputReport("per-column Integer[]", (long) positions * runs, System.nanoTime() - start));
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            String label = parallel ? "EnsembleMajorityVote[parallel]" : "EnsembleMajorityVote";
+            start = System.nanoTime();
+            for (int run = 0; run < runs; run++) {
+                sink += EnsembleMajorityVote.findMajorityElements(predictions, parallel).getNoMajorityCount();
+            }
+            reports.put(label, new ThroughputReport(label, (long) positions * runs, System.nanoTime() - start));
+        }
+
+        blackhole = sink;
+        return reports;
+    }
+
+
+    /**
+     * Records aggregated per second by {@link GroupedMajorityAggregator}, sequential and
+     * partitioned, as the number of distinct keys grows (the request range is 10^3 to 10^7).
+     * Each key gets recordsPerKey records, about 60% of them carrying the key's favoured value.
+     */
+    public Map<String, ThroughputReport> benchmarkGroupedAggregation(int[] distinctKeyCounts, int recordsPerKey, int runs) {
+        Map<String, ThroughputReport> reports = new LinkedHashMap<>();
+        Random random = new Random();
+
+        for (int distinctKeys : distinctKeyCounts) {
+            int records = Math.multiplyExact(distinctKeys, recordsPerKey);
+            long[] keys = new long[records];
+            int[] values = new int[records];
+            for (int i = 0; i < records; i++) {
+                long key = random.nextInt(distinctKeys);
+                keys[i] = key * 0x100000001L; // Spread keys over the full long range
+                values[i] = random.nextInt(100) < 60 ? (int) key : random.nextInt(16);
+            }
+
+            for (boolean parallel : new boolean[]{false, true}) {
+                String label = String.format("keys=%d%s", distinctKeys, parallel ? " parallel" : "");
+                long sink = GroupedMajorityAggregator.aggregate(keys, values, parallel).getGroupCount(); // Warmup
+                long start = System.nanoTime();
+                for (int run = 0; run < runs; run++) {
+                    sink += GroupedMajorityAggregator.aggregate(keys, values, parallel).getGroupsWithMajority();
+                }
+                long elapsed = System.nanoTime() - start;
+                blackhole = sink;
+                reports.put(label, new ThroughputReport(label, (long) records * runs, elapsed));
+            }
+        }
+
+        return reports;
+    }
+
+
+    /**
+     * Streams updatesPerKey updates per key, in scrambled key order, into a
+     * {@link KeyedStreamingMajority} sized for the key count. Each value matches the key's
+     * favoured value two times in three. Keys are not pre-inserted, so the times include growth.
+     */
+    public Map<Integer, KeyedStoreReport> benchmarkKeyedStreaming(int[] keyCounts, int updatesPerKey) {
+        Map<Integer, KeyedStoreReport> reports = new LinkedHashMap<>();
+
+        for (int keyCount : keyCounts) {
+            KeyedStreamingMajority store = new KeyedStreamingMajority(keyCount);
+            long updates = (long) keyCount * updatesPerKey;
+            long sink = 0;
+
+            long start = System.nanoTime();
+            for (long i = 0; i < updates; i++) {
+                long key = ((i * 0x9E3779B97F4A7C15L) >>> 1) % keyCount;
+                store.accept(key, i % 3 == 0 ? (int) i : (int) key);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            sink += store.candidate(0);
+            blackhole = sink;
+            reports.put(keyCount, new KeyedStoreReport(store.size(), updates, elapsed, store.footprintBytes()));
+        }
+
+        return reports;
+    }
+
+
+    /**
+     * Rows per second written by {@link ResultExporter} in each format as the stored run count
+     * grows. The runs are synthetic and go into a separate store; files are written to directory
+     * and deleted afterwards. Each export gets one untimed warmup pass.
+     */
+    public Map<String, ThroughputReport> benchmarkExport(Path directory, int[] rowCounts) throws IOException {
+        Map<String, ThroughputReport> reports = new LinkedHashMap<>();
+        ResultExporter exporter = new ResultExporter();
+        Random random = new Random();
+
+        for (int rowCount : rowCounts) {
+            ResultStore rows = new ResultStore();
+            List<PerformanceResult> runs = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                runs.add(new PerformanceResult(1_000, 10_000 + random.nextInt(10_000_000), random.nextInt(2_000),
+                        2_000, 0, random.nextBoolean(), "Export", System.currentTimeMillis()));
+            }
+            rows.addAll("Export", 1_000, true, runs);
+
+            for (ResultExporter.Format format : ResultExporter.Format.values()) {
+                Path file = directory.resolve("export-benchmark" + format.getExtension());
+                try {
+                    exporter.export(rows, file, format);
+                    long start = System.nanoTime();
+                    long written = exporter.export(rows, file, format);
+                    long elapsed = System.nanoTime() - start;
+                    String label = String.format("%s rows=%d", format, rowCount);
+                    reports.put(label, new ThroughputReport(label, written, elapsed));
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        return reports;
+    }
+
+
+    /**
+     * Scalar against SIMD bandwidth for the verification count, the bitwise candidate step and
+     * the full two-pass search, all over the same array. Each kernel gets one untimed warmup run.
+     */
+    public Map<String, BandwidthReport> benchmarkVectorized(int inputSize, int runs) {
+        int[] testArray = PrimitiveMajorityVote.generateTestArray(inputSize, true);
+        PrimitiveMajorityVote.shuffleArray(testArray);
+        long bytesPerRun = (long) inputSize * Integer.BYTES;
+
+        Map<String, ToLongFunction<int[]>> kernels = new LinkedHashMap<>();
+        kernels.put("count[scalar]", a -> VectorizedMajorityVote.countOccurrencesScalar(a, 1));
+        kernels.put("count[" + simdLabel() + "]", a -> VectorizedMajorityVote.countOccurrences(a, 1));
+        kernels.put("bitwiseCandidate[scalar]", VectorizedMajorityVote::bitwiseCandidateScalar);
+        kernels.put("bitwiseCandidate[" + simdLabel() + "]", VectorizedMajorityVote::bitwiseCandidate);
+        kernels.put("findMajority[boyer-moore scalar]", PrimitiveMajorityVote::findMajority);
+        kernels.put("findMajority[" + simdLabel() + "]", VectorizedMajorityVote::findMajority);
+
+        Map<String, BandwidthReport> reports = new LinkedHashMap<>();
+        for (Map.Entry<String, ToLongFunction<int[]>> kernel : kernels.entrySet()) {
+            long sink = kernel.getValue().applyAsLong(testArray);
+            long start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                sink += kernel.getValue().applyAsLong(testArray);
+            }
+            long elapsed = System.nanoTime() - start;
+            blackhole = sink;
+            reports.put(kernel.getKey(), new BandwidthReport(kernel.getKey(), bytesPerRun * runs, elapsed));
+        }
+
+        return reports;
+    }
+
+
+    private static String simdLabel() {
+        return VectorizedMajorityVote.isVectorAvailable()
+                ? "simd x" + VectorizedMajorityVote.laneCount()
+                : "simd unavailable, scalar fallback";
+    }
+
+
+    private static double perSecond(long operations, long nanos) {
+        return nanos > 0 ? operations * 1_000_000_000.0 / nanos : 0.0;
+    }
+
+
+    /**
+     * Benchmark the boxed Integer[] engine and the primitive int[] engine side by side
+     */
+    public Map<String, Map<Integer, PerformanceSummary>> compareBoxedVsPrimitive(int[] inputSizes, boolean hasMajority, int runs) {
+        Map<String, Map<Integer, PerformanceSummary>> comparison = new LinkedHashMap<>();
+        Map<Integer, PerformanceSummary> boxed = new LinkedHashMap<>();
+        Map<Integer, PerformanceSummary> primitive = new LinkedHashMap<>();
+
+        for (int size : inputSizes) {
+            boxed.put(size, new PerformanceSummary("BoyerMooreMajorityVote", size,
+                    benchmarkBoyerMoore(size, hasMajority, runs)));
+            primitive.put(size, new PerformanceSummary("PrimitiveMajorityVote", size,
+                    benchmarkPrimitive(size, hasMajority, runs)));
+        }
+
+        comparison.put("BoyerMooreMajorityVote", boxed);
+        comparison.put("PrimitiveMajorityVote", primitive);
+
+        return comparison;
+    }
+
+
+    /**
+     * Warmup phase, then the given number of measured runs of the same workload. Warmup runs go
+     * into a {@link WarmupReport}, not into the results.
+     */
+    private List<PerformanceResult> measure(String algorithmName, int inputSize, boolean hasMajority, int runs,
+                                            WarmupPolicy policy, Supplier<BoyerMooreMajorityVote.Result> run) {
+        WarmupPhase warmup = warmUp(algorithmName, inputSize, hasMajority, policy, run);
+
+        List<PerformanceResult> runResults = new ArrayList<>();
+        long measurementStart = totalCompilationMillis();
+        for (int i = 0; i < runs; i++) {
+            BoyerMooreMajorityVote.Result result = run.get();
+            if (!result.hasError()) {
+                runResults.add(toPerformanceResult(inputSize, result, algorithmName));
+            }
+        }
+        recordWarmup(warmup, totalCompilationMillis() - measurementStart);
+        storeResults(algorithmName, inputSize, hasMajority, runResults);
 
         return runResults;
     }
 
 
+    /**
+     * A finished warmup, waiting for the JIT activity of its measured runs to complete its report
+     */
+    private static final class WarmupPhase {
+        final String algorithmName;
+        final int inputSize;
+        final boolean hasMajority;
+        final List<PerformanceResult> runs;
+        final boolean steady;
+        final double coefficientOfVariation;
+        final long nanos;
+        final long compilationMillis;
+
+        WarmupPhase(String algorithmName, int inputSize, boolean hasMajority, List<PerformanceResult> runs,
+                    boolean steady, double coefficientOfVariation, long nanos, long compilationMillis) {
+            this.algorithmName = algorithmName;
+            this.inputSize = inputSize;
+            this.hasMajority = hasMajority;
+            this.runs = runs;
+            this.steady = steady;
+            this.coefficientOfVariation = coefficientOfVariation;
+            this.nanos = nanos;
+            this.compilationMillis = compilationMillis;
+        }
+    }
+
+
+    /**
+     * Runs the workload until the run times of the last window runs have a coefficient of
+     * variation within the policy and the JIT's total compilation time did not change while they
+     * ran, or until the policy's run limit. Input generation runs inside that window too, so its
+     * compilation also has to settle. Benchmarks that interleave engines warm each one up with
+     * this before their measured rounds.
+     */
+    private WarmupPhase warmUp(String algorithmName, int inputSize, boolean hasMajority, WarmupPolicy policy,
+                               Supplier<BoyerMooreMajorityVote.Result> run) {
+        List<PerformanceResult> warmupResults = new ArrayList<>();
+        // compiledAfter[i + 1] is the JIT total after warmup run i; compiledAfter[0] is the total before
+        long[] compiledAfter = new long[policy.getMaxRuns() + 1];
+        compiledAfter[0] = totalCompilationMillis();
+        boolean steady = false;
+        double cv = Double.NaN;
+
+        long warmupStart = System.nanoTime();
+        for (int i = 0; i < policy.getMaxRuns() && !steady; i++) {
+            BoyerMooreMajorityVote.Result result = run.get();
+            if (result.hasError()) {
+                break;
+            }
+            warmupResults.add(toPerformanceResult(inputSize, result, algorithmName));
+            compiledAfter[i + 1] = totalCompilationMillis();
+
+            int done = i + 1;
+            int window = policy.getWindow();
+            if (done >= window) {
+                cv = coefficientOfVariation(warmupResults.subList(done - window, done));
+                boolean jitQuiet = compiledAfter[done] == compiledAfter[done - window];
+                steady = done >= policy.getMinRuns() && jitQuiet && cv <= policy.getMaxCoefficientOfVariation();
+            }
+        }
+        long warmupNanos = System.nanoTime() - warmupStart;
+        long warmupCompiled = compiledAfter[warmupResults.size()] - compiledAfter[0];
+
+        return new WarmupPhase(algorithmName, inputSize, hasMajority, warmupResults, steady, cv, warmupNanos,
+                warmupCompiled);
+    }
+
+
+    private void recordWarmups(List<WarmupPhase> warmups, long measurementCompilationMillis) {
+        for (WarmupPhase warmup : warmups) {
+            recordWarmup(warmup, measurementCompilationMillis);
+        }
+    }
+
+
+    private void recordWarmup(WarmupPhase warmup, long measurementCompilationMillis) {
+        boolean monitored = totalCompilationMillis() >= 0;
+        warmupReports.put(warmupKey(warmup.algorithmName, warmup.inputSize, warmup.hasMajority), new WarmupReport(
+                warmup.algorithmName, warmup.inputSize, warmup.runs, warmup.steady, warmup.coefficientOfVariation,
+                warmup.nanos, monitored ? warmup.compilationMillis : -1, monitored ? measurementCompilationMillis : -1));
+    }
+
+
+    /**
+     * Accumulated JIT compilation time in milliseconds, or -1 when the JVM does not track it
+     */
+    private static long totalCompilationMillis() {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        return jit != null && jit.isCompilationTimeMonitoringSupported() ? jit.getTotalCompilationTime() : -1;
+    }
+
+
+    private static double coefficientOfVariation(List<PerformanceResult> window) {
+        RunningStatistics times = new RunningStatistics();
+        for (PerformanceResult result : window) {
+            times.add(result.getExecutionTimeNanos());
+        }
+        return times.getMean() > 0 ? times.getStandardDeviation() / times.getMean() : 0.0;
+    }
+
+
+    private PerformanceResult toPerformanceResult(int inputSize, BoyerMooreMajorityVote.Result result, String algorithmName) {
+        BoyerMooreMajorityVote.Metrics metrics = result.getMetrics();
+        return new PerformanceResult(
+                inputSize,
+                metrics.getExecutionTimeNanos(),
+                metrics.getComparisons(),
+                metrics.getArrayAccesses(),
+                metrics.getMemoryAllocations(),
+                result.hasMajority(),
+                algorithmName
+        );
+    }
+
+
+    private void storeResults(String algorithmName, int inputSize, boolean hasMajority, List<PerformanceResult> runResults) {
+        store.addAll(algorithmName, inputSize, hasMajority, runResults);
+    }
+
+
+    private static String warmupKey(String algorithmName, int inputSize, boolean hasMajority) {
+        return algorithmName + "_" + inputSize + "_" + hasMajority;
+    }
+
+
     public Map<Integer, PerformanceSummary> comprehensiveBenchmark(int[] inputSizes, boolean hasMajority, int runs) {
         Map<Integer, PerformanceSummary> summaries = new LinkedHashMap<>();
 
@@ -180,55 +1332,70 @@ public class PerformanceTracker {
 
 
     public List<PerformanceResult> getResults(String algorithmName) {
-        List<PerformanceResult> allResults = new ArrayList<>();
-        for (List<PerformanceResult> resultList : results.values()) {
-            if (!resultList.isEmpty() && resultList.get(0).getAlgorithmName().equals(algorithmName)) {
-                allResults.addAll(resultList);
-            }
-        }
-        return allResults;
+        return store.getResults(algorithmName);
     }
 
 
+    /**
+     * Summary of every stored run of the algorithm at this size, from running aggregates, or null if there are none
+     */
     public PerformanceSummary getSummary(String algorithmName, int inputSize) {
-        List<PerformanceResult> algorithmResults = getResults(algorithmName);
-        List<PerformanceResult> sizeResults = algorithmResults.stream()
-                .filter(r -> r.getInputSize() == inputSize)
-                .toList();
+        return store.getSummary(algorithmName, inputSize);
+    }
+
+    public ResultStore getResultStore() {
+        return store;
+    }
+
+    /**
+     * Streams every stored run to path in the given format, see {@link ResultExporter}
+     *
+     * @return the number of rows written
+     */
+    public long exportResults(Path path, ResultExporter.Format format) throws IOException {
+        return new ResultExporter().export(store, path, format);
+    }
 
-        return sizeResults.isEmpty() ? null : new PerformanceSummary(algorithmName, inputSize, sizeResults);
+    /**
+     * Warmup of the latest warmed-up benchmark for this algorithm and input, or null if there was none
+     */
+    public WarmupReport getWarmupReport(String algorithmName, int inputSize, boolean hasMajority) {
+        return warmupReports.get(warmupKey(algorithmName, inputSize, hasMajority));
+    }
+
+    public List<WarmupReport> getWarmupReports() {
+        return new ArrayList<>(warmupReports.values());
     }
 
     /**
      * Clear all stored results
      */
     public void clearResults() {
-        results.clear();
+        store.clear();
+        warmupReports.clear();
     }
 
     /**
-     * Export results to CSV format
+     * Export results to CSV format. Builds the whole text in memory; to write a file use
+     * {@link #exportResults(Path, ResultExporter.Format)}, which streams it.
      *
      * @return CSV string representation of all results
      */
     public String exportToCSV() {
         StringBuilder csv = new StringBuilder();
-        csv.append("Algorithm,InputSize,ExecutionTimeMs,Comparisons,ArrayAccesses,MemoryAllocations,HasMajority,Timestamp\n");
+        csv.append(ResultExporter.CSV_HEADER);
 
-        for (List<PerformanceResult> resultList : results.values()) {
-            for (PerformanceResult result : resultList) {
+        store.forEachRow((algorithmName, inputSize, nanos, comparisons, accesses, allocations, hasMajority, timestamp) ->
                 csv.append(String.format("%s,%d,%.6f,%d,%d,%d,%s,%d\n",
-                        result.getAlgorithmName(),
-                        result.getInputSize(),
-                        result.getExecutionTimeMillis(),
-                        result.getComparisons(),
-                        result.getArrayAccesses(),
-                        result.getMemoryAllocations(),
-                        result.hasMajority(),
-                        result.getTimestamp()
-                ));
-            }
-        }
+                        algorithmName,
+                        inputSize,
+                        nanos / 1_000_000.0,
+                        comparisons,
+                        accesses,
+                        allocations,
+                        hasMajority,
+                        timestamp
+                )));
 
         return csv.toString();
     }
@@ -238,33 +1405,12 @@ public class PerformanceTracker {
         StringBuilder report = new StringBuilder();
         report.append("=== Performance Analysis Report ===\n\n");
 
-        // Group results by algorithm
-        Map<String, List<PerformanceResult>> algorithmResults = new HashMap<>();
-        for (List<PerformanceResult> resultList : results.values()) {
-            for (PerformanceResult result : resultList) {
-                algorithmResults.computeIfAbsent(result.getAlgorithmName(), k -> new ArrayList<>()).add(result);
-            }
-        }
-
-        for (Map.Entry<String, List<PerformanceResult>> entry : algorithmResults.entrySet()) {
-            String algorithm = entry.getKey();
-            List<PerformanceResult> results = entry.getValue();
-
+        for (String algorithm : store.getAlgorithmNames()) {
             report.append(String.format("Algorithm: %s\n", algorithm));
-            report.append(String.format("Total runs: %d\n", results.size()));
-
-            // Group by input size
-            Map<Integer, List<PerformanceResult>> sizeGroups = new TreeMap<>();
-            for (PerformanceResult result : results) {
-                sizeGroups.computeIfAbsent(result.getInputSize(), k -> new ArrayList<>()).add(result);
-            }
-
-            for (Map.Entry<Integer, List<PerformanceResult>> sizeEntry : sizeGroups.entrySet()) {
-                int size = sizeEntry.getKey();
-                List<PerformanceResult> sizeResults = sizeEntry.getValue();
-                PerformanceSummary summary = new PerformanceSummary(algorithm, size, sizeResults);
+            report.append(String.format("Total runs: %d\n", store.getRunCount(algorithm)));
 
-                report.append(String.format("  Input size %d: %s\n", size, summary));
+            for (int size : store.getInputSizes(algorithm)) {
+                report.append(String.format("  Input size %d: %s\n", size, store.getSummary(algorithm, size)));
             }
 
             report.append("\n");
@@ -0,0 +1,459 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+
+/**
+ * Streams the runs of a {@link ResultStore} to a file through one reusable direct buffer.
+ * Rows are encoded straight from the store's columns into the buffer: numbers become ASCII
+ * digits without String.format, and each algorithm name is encoded once per export. So memory
+ * use does not grow with the number of rows, and neither does the cost per row.
+ *
+ * <p>The binary format is big-endian. The header is the magic number {@link #BINARY_MAGIC},
+ * a short {@link #BINARY_VERSION}, a reserved short, and a long row count. Records follow:
+ * <ul>
+ *   <li>{@code 0, id:int, length:short, UTF-8 bytes}: defines a name id before its first use</li>
+ *   <li>{@code 1, id:int, inputSize:int, executionTimeNanos:long, comparisons:long, arrayAccesses:long,
+ *       memoryAllocations:long, timestamp:long, hasMajority:byte}: one run (50 bytes)</li>
+ * </ul>
+ *
+ * <p>Not thread-safe; the buffer belongs to this exporter.
+ */
+public class ResultExporter {
+
+    public enum Format {
+        CSV(".csv"),
+        JSON_LINES(".jsonl"),
+        BINARY(".bin");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() { return extension; }
+    }
+
+    public static final int BINARY_MAGIC = 0x4D414A52; // "MAJR"
+    public static final short BINARY_VERSION = 1;
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    static final String CSV_HEADER =
+            "Algorithm,InputSize,ExecutionTimeMs,Comparisons,ArrayAccesses,MemoryAllocations,HasMajority,Timestamp\n";
+
+    private static final byte NAME_RECORD = 0;
+    private static final byte ROW_RECORD = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + 2 * Short.BYTES + Long.BYTES;
+
+    /**
+     * Enough for every fixed part of a text or binary row: eight fields of at most 20 digits plus punctuation
+     */
+    static final int MAX_FIXED_ROW_BYTES = 256;
+
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[20];
+
+    public ResultExporter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public ResultExporter(int bufferSize) {
+        if (bufferSize < MAX_FIXED_ROW_BYTES) {
+            throw new IllegalArgumentException("Buffer must hold at least " + MAX_FIXED_ROW_BYTES + " bytes: " + bufferSize);
+        }
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Writes every stored run to path, replacing the file
+     *
+     * @return the number of rows written
+     */
+    public long export(ResultStore store, Path path, Format format) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.clear();
+            Encoder encoder;
+            switch (format) {
+                case CSV:
+                    encoder = new CsvEncoder(channel);
+                    break;
+                case JSON_LINES:
+                    encoder = new JsonLinesEncoder(channel);
+                    break;
+                case BINARY:
+                    encoder = new BinaryEncoder(channel);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown format: " + format);
+            }
+
+            encoder.start();
+            try {
+                store.forEachRow(encoder);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            flush(channel);
+            encoder.finish();
+            return encoder.rows;
+        }
+    }
+
+    /**
+     * Reads a file written in {@link Format#BINARY} and passes each run to visitor
+     *
+     * @return the number of rows read
+     * @throws IOException if the file is not in this format or is truncated
+     */
+    public long readBinary(Path path, ResultStore.RowVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer.clear().limit(0);
+            ensureReadable(channel, HEADER_BYTES);
+            if (buffer.getInt() != BINARY_MAGIC) {
+                throw new IOException("Not a result export: bad magic number in " + path);
+            }
+            short version = buffer.getShort();
+            if (version != BINARY_VERSION) {
+                throw new IOException("Unsupported result export version " + version + " in " + path);
+            }
+            buffer.getShort();
+            long expectedRows = buffer.getLong();
+
+            Map<Integer, String> names = new HashMap<>();
+            long rows = 0;
+            while (ensureReadable(channel, 1)) {
+                byte tag = buffer.get();
+                if (tag == NAME_RECORD) {
+                    requireReadable(channel, Integer.BYTES + Short.BYTES);
+                    int id = buffer.getInt();
+                    byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                    getBytes(channel, bytes);
+                    names.put(id, new String(bytes, StandardCharsets.UTF_8));
+                } else if (tag == ROW_RECORD) {
+                    requireReadable(channel, 49);
+                    String name = names.get(buffer.getInt());
+                    if (name == null) {
+                        throw new IOException("Row refers to an undefined name in " + path);
+                    }
+                    int inputSize = buffer.getInt();
+                    long nanos = buffer.getLong();
+                    long comparisons = buffer.getLong();
+                    long accesses = buffer.getLong();
+                    long allocations = buffer.getLong();
+                    long timestamp = buffer.getLong();
+                    boolean hasMajority = buffer.get() != 0;
+                    visitor.visit(name, inputSize, nanos, comparisons, accesses, allocations, hasMajority, timestamp);
+                    rows++;
+                } else {
+                    throw new IOException("Unknown record tag " + tag + " in " + path);
+                }
+            }
+            if (rows != expectedRows) {
+                throw new IOException("Header promises " + expectedRows + " rows but " + path + " holds " + rows);
+            }
+            return rows;
+        }
+    }
+
+
+    private abstract class Encoder implements ResultStore.RowVisitor {
+        final FileChannel channel;
+        final Map<String, byte[]> encodedNames = new HashMap<>();
+        long rows;
+
+        Encoder(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void start() throws IOException {}
+
+        void finish() throws IOException {}
+
+        abstract byte[] encodeName(String name);
+
+        abstract void encodeRow(byte[] name, int inputSize, long nanos, long comparisons, long accesses,
+                                long allocations, boolean hasMajority, long timestamp) throws IOException;
+
+        @Override
+        public void visit(String algorithmName, int inputSize, long nanos, long comparisons, long accesses,
+                          long allocations, boolean hasMajority, long timestamp) {
+            try {
+                byte[] name = encodedNames.get(algorithmName);
+                if (name == null) {
+                    name = encodeName(algorithmName);
+                    encodedNames.put(algorithmName, name);
+                }
+                encodeRow(name, inputSize, nanos, comparisons, accesses, allocations, hasMajority, timestamp);
+                rows++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+
+    private final class CsvEncoder extends Encoder {
+        CsvEncoder(FileChannel channel) {
+            super(channel);
+        }
+
+        @Override
+        void start() throws IOException {
+            putBytes(channel, CSV_HEADER.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        /**
+         * Quoted, with quotes doubled, only when the name holds a separator, quote or line break
+         */
+        @Override
+        byte[] encodeName(String name) {
+            if (name.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+                return name.getBytes(StandardCharsets.UTF_8);
+            }
+            return ('"' + name.replace("\"", "\"\"") + '"').getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        void encodeRow(byte[] name, int inputSize, long nanos, long comparisons, long accesses,
+                       long allocations, boolean hasMajority, long timestamp) throws IOException {
+            putBytes(channel, name);
+            ensureWritable(channel, MAX_FIXED_ROW_BYTES);
+            buffer.put((byte) ',');
+            putDecimal(inputSize);
+            buffer.put((byte) ',');
+            putMillis(nanos);
+            buffer.put((byte) ',');
+            putDecimal(comparisons);
+            buffer.put((byte) ',');
+            putDecimal(accesses);
+            buffer.put((byte) ',');
+            putDecimal(allocations);
+            buffer.put((byte) ',');
+            putAscii(hasMajority ? "true" : "false");
+            buffer.put((byte) ',');
+            putDecimal(timestamp);
+            buffer.put((byte) '\n');
+        }
+    }
+
+
+    private final class JsonLinesEncoder extends Encoder {
+        JsonLinesEncoder(FileChannel channel) {
+            super(channel);
+        }
+
+        @Override
+        byte[] encodeName(String name) {
+            StringBuilder json = new StringBuilder("{\"algorithm\":\"");
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '"' || c == '\\') {
+                    json.append('\\').append(c);
+                } else if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+            return json.append("\",").toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        void encodeRow(byte[] name, int inputSize, long nanos, long comparisons, long accesses,
+                       long allocations, boolean hasMajority, long timestamp) throws IOException {
+            putBytes(channel, name);
+            ensureWritable(channel, MAX_FIXED_ROW_BYTES);
+            putAscii("\"inputSize\":");
+            putDecimal(inputSize);
+            putAscii(",\"executionTimeNanos\":");
+            putDecimal(nanos);
+            putAscii(",\"comparisons\":");
+            putDecimal(comparisons);
+            putAscii(",\"arrayAccesses\":");
+            putDecimal(accesses);
+            putAscii(",\"memoryAllocations\":");
+            putDecimal(allocations);
+            putAscii(hasMajority ? ",\"hasMajority\":true" : ",\"hasMajority\":false");
+            putAscii(",\"timestamp\":");
+            putDecimal(timestamp);
+            putAscii("}\n");
+        }
+    }
+
+
+    private final class BinaryEncoder extends Encoder {
+        // Keyed by identity: each name is encoded once per export
+        private final Map<byte[], Integer> ids = new IdentityHashMap<>();
+
+        BinaryEncoder(FileChannel channel) {
+            super(channel);
+        }
+
+        @Override
+        void start() {
+            // Row count is patched in by finish()
+            buffer.putInt(BINARY_MAGIC).putShort(BINARY_VERSION).putShort((short) 0).putLong(0);
+        }
+
+        @Override
+        byte[] encodeName(String name) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IllegalArgumentException("Algorithm name longer than 65535 bytes");
+            }
+            return bytes;
+        }
+
+        @Override
+        void encodeRow(byte[] name, int inputSize, long nanos, long comparisons, long accesses,
+                       long allocations, boolean hasMajority, long timestamp) throws IOException {
+            Integer id = ids.get(name);
+            if (id == null) {
+                id = ids.size();
+                ids.put(name, id);
+                ensureWritable(channel, 1 + Integer.BYTES + Short.BYTES);
+                buffer.put(NAME_RECORD).putInt(id).putShort((short) name.length);
+                putBytes(channel, name);
+            }
+            ensureWritable(channel, MAX_FIXED_ROW_BYTES);
+            buffer.put(ROW_RECORD)
+                    .putInt(id)
+                    .putInt(inputSize)
+                    .putLong(nanos)
+                    .putLong(comparisons)
+                    .putLong(accesses)
+                    .putLong(allocations)
+                    .putLong(timestamp)
+                    .put((byte) (hasMajority ? 1 : 0));
+        }
+
+        @Override
+        void finish() throws IOException {
+            buffer.clear();
+            buffer.putLong(rows).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, Integer.BYTES + 2L * Short.BYTES + buffer.position());
+            }
+            buffer.clear();
+        }
+    }
+
+
+    private void ensureWritable(FileChannel channel, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel);
+        }
+    }
+
+    private void flush(FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Copies bytes in buffer-sized pieces, so names longer than the buffer still fit
+     */
+    private void putBytes(FileChannel channel, byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush(channel);
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void putAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+    }
+
+    private void putDecimal(long value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                putAscii("9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (length > 0) {
+            buffer.put(digits[--length]);
+        }
+    }
+
+    /**
+     * Nanoseconds as milliseconds with six decimals, exactly, as {@code %.6f} would print them
+     */
+    private void putMillis(long nanos) {
+        if (nanos < 0) {
+            buffer.put((byte) '-');
+            nanos = -nanos;
+        }
+        putDecimal(nanos / 1_000_000);
+        buffer.put((byte) '.');
+        long fraction = nanos % 1_000_000;
+        for (long scale = 100_000; scale > 0; scale /= 10) {
+            buffer.put((byte) ('0' + fraction / scale % 10));
+        }
+    }
+
+    /**
+     * @return false at a clean end of file
+     */
+    private boolean ensureReadable(FileChannel channel, int bytes) throws IOException {
+        while (buffer.remaining() < bytes) {
+            buffer.compact();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0) {
+                if (buffer.hasRemaining() || bytes > 1) {
+                    throw new IOException("Truncated result export");
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads bytes in buffer-sized pieces, the counterpart of {@link #putBytes}
+     */
+    private void getBytes(FileChannel channel, byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            requireReadable(channel, 1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.get(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void requireReadable(FileChannel channel, int bytes) throws IOException {
+        if (!ensureReadable(channel, bytes)) {
+            throw new IOException("Truncated result export");
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+
+/**
+ * Columnar store of benchmark runs. Each (algorithm, input size, distribution) series keeps its
+ * runs in growable primitive columns instead of one {@link PerformanceTracker.PerformanceResult}
+ * per run. A stored run costs five longs and one bit plus growth slack, with no object headers
+ * and nothing for the GC to trace.
+ *
+ * <p>Series are grouped by (algorithm, input size). Each group maintains the summary statistics
+ * of both its distributions, a {@link RunningStatistics} and one lazily sized
+ * {@link LatencyHistogram}, as runs arrive. So {@link #getSummary} is one lookup, costing the same
+ * however many runs or series are stored. Result objects are built only when a caller asks for
+ * them. Appends and reads synchronize on the group, so benchmarks on different threads can share
+ * one store.
+ */
+public class ResultStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Receives stored runs column by column, without a result object per run
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(String algorithmName, int inputSize, long executionTimeNanos, long comparisons,
+                   long arrayAccesses, long memoryAllocations, boolean hasMajority, long timestamp);
+    }
+
+
+    /**
+     * Running totals behind a {@link PerformanceTracker.PerformanceSummary}
+     */
+    static final class Aggregate {
+        final RunningStatistics timesMillis = new RunningStatistics();
+        final LatencyHistogram latencies = new LatencyHistogram();
+        long comparisons;
+        long arrayAccesses;
+        long memoryAllocations;
+
+        void add(long executionTimeNanos, long runComparisons, long runArrayAccesses, long runMemoryAllocations) {
+            timesMillis.add(executionTimeNanos / 1_000_000.0);
+            latencies.record(Math.max(0, executionTimeNanos));
+            comparisons += runComparisons;
+            arrayAccesses += runArrayAccesses;
+            memoryAllocations += runMemoryAllocations;
+        }
+
+        long count() { return timesMillis.getCount(); }
+
+        static Aggregate of(Collection<PerformanceTracker.PerformanceResult> results) {
+            Aggregate aggregate = new Aggregate();
+            for (PerformanceTracker.PerformanceResult result : results) {
+                aggregate.add(result.getExecutionTimeNanos(), result.getComparisons(),
+                        result.getArrayAccesses(), result.getMemoryAllocations());
+            }
+            return aggregate;
+        }
+    }
+
+
+    private static final class GroupKey {
+        final String algorithmName;
+        final int inputSize;
+
+        GroupKey(String algorithmName, int inputSize) {
+            this.algorithmName = algorithmName;
+            this.inputSize = inputSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) o;
+            return inputSize == other.inputSize && algorithmName.equals(other.algorithmName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(algorithmName, inputSize);
+        }
+    }
+
+
+    /**
+     * Runs of one (algorithm, input size, distribution); guarded by its {@link Group}
+     */
+    private static final class Series {
+        private long[] executionNanos = new long[INITIAL_CAPACITY];
+        private long[] comparisons = new long[INITIAL_CAPACITY];
+        private long[] arrayAccesses = new long[INITIAL_CAPACITY];
+        private long[] memoryAllocations = new long[INITIAL_CAPACITY];
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+        private long[] majorityBits = new long[1];
+        private int size;
+
+        void add(PerformanceTracker.PerformanceResult result) {
+            if (size == executionNanos.length) {
+                int capacity = executionNanos.length << 1;
+                executionNanos = Arrays.copyOf(executionNanos, capacity);
+                comparisons = Arrays.copyOf(comparisons, capacity);
+                arrayAccesses = Arrays.copyOf(arrayAccesses, capacity);
+                memoryAllocations = Arrays.copyOf(memoryAllocations, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                majorityBits = Arrays.copyOf(majorityBits, (capacity + 63) >>> 6);
+            }
+            executionNanos[size] = result.getExecutionTimeNanos();
+            comparisons[size] = result.getComparisons();
+            arrayAccesses[size] = result.getArrayAccesses();
+            memoryAllocations[size] = result.getMemoryAllocations();
+            timestamps[size] = result.getTimestamp();
+            if (result.hasMajority()) {
+                majorityBits[size >>> 6] |= 1L << size;
+            }
+            size++;
+        }
+
+        /**
+         * Visits rows [0, limit); rows appended later are not part of the snapshot
+         */
+        void visit(String algorithmName, int inputSize, int limit, RowVisitor visitor) {
+            for (int i = 0; i < limit; i++) {
+                visitor.visit(algorithmName, inputSize, executionNanos[i], comparisons[i], arrayAccesses[i],
+                        memoryAllocations[i], (majorityBits[i >>> 6] & (1L << i)) != 0, timestamps[i]);
+            }
+        }
+
+        long footprintBytes() {
+            return (long) executionNanos.length * 5 * Long.BYTES + (long) majorityBits.length * Long.BYTES;
+        }
+    }
+
+
+    /**
+     * Both distributions of one (algorithm, input size) and their shared running aggregate
+     */
+    private static final class Group {
+        final String algorithmName;
+        final int inputSize;
+        /**
+         * Indexed by distribution: [0] without a majority, [1] with one; created on first use
+         */
+        private final Series[] series = new Series[2];
+        private final Aggregate aggregate = new Aggregate();
+
+        Group(String algorithmName, int inputSize) {
+            this.algorithmName = algorithmName;
+            this.inputSize = inputSize;
+        }
+
+        synchronized void addAll(boolean hasMajority, Collection<PerformanceTracker.PerformanceResult> results) {
+            int distribution = hasMajority ? 1 : 0;
+            if (series[distribution] == null) {
+                series[distribution] = new Series();
+            }
+            for (PerformanceTracker.PerformanceResult result : results) {
+                series[distribution].add(result);
+                aggregate.add(result.getExecutionTimeNanos(), result.getComparisons(),
+                        result.getArrayAccesses(), result.getMemoryAllocations());
+            }
+        }
+
+        synchronized int[] sizes() {
+            int[] sizes = new int[series.length];
+            for (int i = 0; i < series.length; i++) {
+                sizes[i] = series[i] == null ? 0 : series[i].size;
+            }
+            return sizes;
+        }
+
+        synchronized long size() {
+            return aggregate.count();
+        }
+
+        /**
+         * Visits the first limits[i] rows of each distribution
+         */
+        synchronized void visit(int[] limits, RowVisitor visitor) {
+            for (int i = 0; i < series.length; i++) {
+                if (series[i] != null) {
+                    series[i].visit(algorithmName, inputSize, limits[i], visitor);
+                }
+            }
+        }
+
+        synchronized void visit(RowVisitor visitor) {
+            visit(sizes(), visitor);
+        }
+
+        /**
+         * Summary over the rows stored now, taken under the lock so statistics and rows agree
+         */
+        synchronized PerformanceTracker.PerformanceSummary summary() {
+            int[] limits = sizes();
+            Supplier<List<PerformanceTracker.PerformanceResult>> results = () -> {
+                List<PerformanceTracker.PerformanceResult> rows = new ArrayList<>();
+                visit(limits, (name, size, nanos, comparisons, accesses, allocations, hasMajority, timestamp) ->
+                        rows.add(new PerformanceTracker.PerformanceResult(size, nanos, comparisons, accesses,
+                                allocations, hasMajority, name, timestamp)));
+                return rows;
+            };
+            return new PerformanceTracker.PerformanceSummary(algorithmName, inputSize, aggregate, results);
+        }
+
+        synchronized long footprintBytes() {
+            long bytes = aggregate.latencies.footprintBytes();
+            for (Series each : series) {
+                if (each != null) {
+                    bytes += each.footprintBytes();
+                }
+            }
+            return bytes;
+        }
+    }
+
+
+    private final Map<GroupKey, Group> groups = new ConcurrentHashMap<>();
+
+    /**
+     * Appends runs to the (algorithmName, inputSize, hasMajority) series; hasMajority names the
+     * input distribution, while each run keeps its own result flag
+     */
+    public void addAll(String algorithmName, int inputSize, boolean hasMajority,
+                       Collection<PerformanceTracker.PerformanceResult> results) {
+        groups.computeIfAbsent(new GroupKey(algorithmName, inputSize), key -> new Group(algorithmName, inputSize))
+                .addAll(hasMajority, results);
+    }
+
+    /**
+     * Summary over every distribution of this algorithm and size, from the running aggregates;
+     * null if no runs are stored. Its result list is built only if asked for.
+     */
+    public PerformanceTracker.PerformanceSummary getSummary(String algorithmName, int inputSize) {
+        Group group = groups.get(new GroupKey(algorithmName, inputSize));
+        return group == null || group.size() == 0 ? null : group.summary();
+    }
+
+    /**
+     * Every stored run of the algorithm, materialized as result objects
+     */
+    public List<PerformanceTracker.PerformanceResult> getResults(String algorithmName) {
+        List<PerformanceTracker.PerformanceResult> rows = new ArrayList<>();
+        for (Group group : groups.values()) {
+            if (group.algorithmName.equals(algorithmName)) {
+                group.visit((name, size, nanos, comparisons, accesses, allocations, hasMajority, timestamp) ->
+                        rows.add(new PerformanceTracker.PerformanceResult(size, nanos, comparisons, accesses,
+                                allocations, hasMajority, name, timestamp)));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Visits every stored run, series by series
+     */
+    public void forEachRow(RowVisitor visitor) {
+        for (Group group : groups.values()) {
+            group.visit(visitor);
+        }
+    }
+
+    public SortedSet<String> getAlgorithmNames() {
+        SortedSet<String> names = new TreeSet<>();
+        for (GroupKey key : groups.keySet()) {
+            names.add(key.algorithmName);
+        }
+        return names;
+    }
+
+    public SortedSet<Integer> getInputSizes(String algorithmName) {
+        SortedSet<Integer> sizes = new TreeSet<>();
+        for (GroupKey key : groups.keySet()) {
+            if (key.algorithmName.equals(algorithmName)) {
+                sizes.add(key.inputSize);
+            }
+        }
+        return sizes;
+    }
+
+    public long getRunCount(String algorithmName) {
+        long count = 0;
+        for (Group group : groups.values()) {
+            if (group.algorithmName.equals(algorithmName)) {
+                count += group.size();
+            }
+        }
+        return count;
+    }
+
+    public long getRunCount() {
+        long count = 0;
+        for (Group group : groups.values()) {
+            count += group.size();
+        }
+        return count;
+    }
+
+    /**
+     * Bytes held by the column arrays and the histogram buckets
+     */
+    public long footprintBytes() {
+        long bytes = 0;
+        for (Group group : groups.values()) {
+            bytes += group.footprintBytes();
+        }
+        return bytes;
+    }
+
+    public void clear() {
+        groups.clear();
+    }
+}
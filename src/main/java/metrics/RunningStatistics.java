@@ -0,0 +1,71 @@
+package metrics;
+
+
+/**
+ * Count, mean, variance, min and max in one pass with Welford's update, which stays
+ * accurate where the sum-of-squares formula cancels catastrophically.
+ * Two instances merge with Chan's pairwise formula, as if one had seen both streams.
+ * Not thread-safe; keep one per thread and {@link #merge} them.
+ */
+public class RunningStatistics {
+
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public RunningStatistics merge(RunningStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return this;
+        }
+        long combined = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / combined;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / combined);
+        count = combined;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public long getCount() { return count; }
+    public double getMean() { return count > 0 ? mean : 0.0; }
+    public double getMin() { return count > 0 ? min : 0.0; }
+    public double getMax() { return count > 0 ? max : 0.0; }
+
+    /**
+     * Population variance, dividing by n
+     */
+    public double getVariance() { return count > 0 ? m2 / count : 0.0; }
+
+    /**
+     * Sample variance, dividing by n - 1
+     */
+    public double getSampleVariance() { return count > 1 ? m2 / (count - 1) : 0.0; }
+
+    public double getStandardDeviation() { return Math.sqrt(getVariance()); }
+
+    @Override
+    public String toString() {
+        return String.format("RunningStatistics{count=%d, mean=%.6f, stdDev=%.6f, min=%.6f, max=%.6f}",
+                count, getMean(), getStandardDeviation(), getMin(), getMax());
+    }
+}
@@ -0,0 +1,191 @@
+package algorithms;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Adaptive Majority Selector Tests")
+class AdaptiveMajoritySelectorTest {
+
+    private static final AdaptiveMajoritySelector.Thresholds THRESHOLDS =
+            new AdaptiveMajoritySelector.Thresholds(1 << 20, 1 << 12, 1 << 10, 1 << 12);
+
+    private final AdaptiveMajoritySelector selector = new AdaptiveMajoritySelector(THRESHOLDS);
+
+    @Nested
+    @DisplayName("Routing")
+    class Routing {
+
+        @Test
+        @DisplayName("Small arrays run sequentially")
+        void testSmall() {
+            assertEquals(AdaptiveMajoritySelector.Strategy.SEQUENTIAL, selector.choose(new int[]{1, 2, 1}));
+        }
+
+        @Test
+        @DisplayName("Declared or detected sorted arrays take the binary search route")
+        void testSorted() {
+            int[] array = PrimitiveMajorityVote.generateTestArray(5000, true);
+            Arrays.sort(array);
+            assertEquals(AdaptiveMajoritySelector.Strategy.SORTED,
+                    selector.choose(array, BoyerMooreMajorityVote.InputOrder.SORTED));
+            assertEquals(AdaptiveMajoritySelector.Strategy.SORTED,
+                    selector.choose(array, BoyerMooreMajorityVote.InputOrder.DETECT));
+        }
+
+        @Test
+        @DisplayName("Without a declared order a sorted-looking sample is not trusted")
+        void testUnknownOrderNeverSorted() {
+            int[] array = new int[5000];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = i;
+            }
+            // One inversion between sample points
+            array[101] = -1;
+            assertNotEquals(AdaptiveMajoritySelector.Strategy.SORTED, selector.choose(array));
+            assertNotEquals(AdaptiveMajoritySelector.Strategy.SORTED,
+                    selector.choose(array, BoyerMooreMajorityVote.InputOrder.UNKNOWN));
+        }
+
+        @Test
+        @DisplayName("Narrow value ranges use the counting engine")
+        void testCounting() {
+            Random random = new Random(1);
+            int[] array = new int[5000];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = random.nextInt(100);
+            }
+            assertEquals(AdaptiveMajoritySelector.Strategy.COUNTING, selector.choose(array));
+        }
+
+        @Test
+        @DisplayName("Length thresholds pick vector and parallel engines")
+        void testLengthThresholds() {
+            assertEquals(AdaptiveMajoritySelector.Strategy.VECTORIZED,
+                    selector.choose(new AdaptiveMajoritySelector.Features(1 << 14, Integer.MIN_VALUE, Integer.MAX_VALUE, false)));
+            assertEquals(AdaptiveMajoritySelector.Strategy.PARALLEL,
+                    selector.choose(new AdaptiveMajoritySelector.Features(1 << 21, Integer.MIN_VALUE, Integer.MAX_VALUE, false)));
+            assertEquals(AdaptiveMajoritySelector.Strategy.SEQUENTIAL,
+                    selector.choose(new AdaptiveMajoritySelector.Features(1000, Integer.MIN_VALUE, Integer.MAX_VALUE, false)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Exactness")
+    class Exactness {
+
+        @Test
+        @DisplayName("Every route returns the Boyer-Moore answer")
+        void testAllRoutes() {
+            Random random = new Random(7);
+            for (int size : new int[]{10, 5000, 20000}) {
+                for (boolean hasMajority : new boolean[]{true, false}) {
+                    int[] wide = PrimitiveMajorityVote.generateTestArray(size, hasMajority);
+                    PrimitiveMajorityVote.shuffleArray(wide);
+                    int[] sorted = wide.clone();
+                    Arrays.sort(sorted);
+                    int[] narrow = wide.clone();
+                    for (int i = 0; i < narrow.length; i++) {
+                        narrow[i] = Math.floorMod(narrow[i], 50);
+                    }
+                    // Sampled range is small but one outlier widens the true range
+                    int[] outlier = narrow.clone();
+                    outlier[random.nextInt(size)] = Integer.MAX_VALUE;
+
+                    for (int[] array : new int[][]{wide, sorted, narrow, outlier}) {
+                        assertEquals(PrimitiveMajorityVote.findMajority(array), packed(selector.findMajorityElement(array)));
+                    }
+                    assertEquals(PrimitiveMajorityVote.findMajority(sorted),
+                            packed(selector.findMajorityElement(sorted, BoyerMooreMajorityVote.InputOrder.SORTED)));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Null is an error")
+        void testNull() {
+            assertTrue(selector.findMajorityElement(null).hasError());
+        }
+
+        private long packed(BoyerMooreMajorityVote.Result result) {
+            return result.hasMajority() ? result.getMajorityElement() : PrimitiveMajorityVote.NO_MAJORITY;
+        }
+    }
+
+    @Nested
+    @DisplayName("Calibration")
+    class Calibration {
+
+        @Test
+        @DisplayName("Calibration is saved and reused")
+        void testPersisted(@TempDir Path dir) {
+            Path file = dir.resolve("nested").resolve("selector.properties");
+
+            AdaptiveMajoritySelector first = AdaptiveMajoritySelector.loadOrCalibrate(file, 1 << 12);
+            assertTrue(Files.exists(file));
+
+            AdaptiveMajoritySelector.Thresholds loaded = AdaptiveMajoritySelector.load(file);
+            assertNotNull(loaded);
+            assertEquals(first.getThresholds().toString(), loaded.toString());
+        }
+
+        @Test
+        @DisplayName("Corrupt or foreign files trigger recalibration")
+        void testCorrupt(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("selector.properties");
+            Files.writeString(file, "parallelMinLength=oops\n");
+            assertNull(AdaptiveMajoritySelector.load(file));
+
+            Files.writeString(file, "parallelMinLength=1\nvectorMinLength=1\ncountingMinLength=1\n"
+                    + "countingMaxRange=1\nparallelism=9999\nvector=true\n");
+            assertNull(AdaptiveMajoritySelector.load(file));
+
+            assertNotNull(AdaptiveMajoritySelector.loadOrCalibrate(file, 1 << 12).getThresholds());
+        }
+
+        @Test
+        @DisplayName("The default selector reads the configured file and never calibrates")
+        void testDefaultNoSideEffects(@TempDir Path dir) {
+            Path file = dir.resolve("selector.properties");
+            String previous = System.getProperty(AdaptiveMajoritySelector.CALIBRATION_FILE_PROPERTY);
+            try {
+                System.clearProperty(AdaptiveMajoritySelector.CALIBRATION_FILE_PROPERTY);
+                assertNull(AdaptiveMajoritySelector.configuredCalibrationFile());
+                assertSame(AdaptiveMajoritySelector.Thresholds.DEFAULT,
+                        AdaptiveMajoritySelector.fromConfiguration().getThresholds());
+
+                System.setProperty(AdaptiveMajoritySelector.CALIBRATION_FILE_PROPERTY, file.toString());
+                assertSame(AdaptiveMajoritySelector.Thresholds.DEFAULT,
+                        AdaptiveMajoritySelector.fromConfiguration().getThresholds());
+                assertFalse(Files.exists(file));
+
+                AdaptiveMajoritySelector.store(file, THRESHOLDS);
+                assertEquals(THRESHOLDS.toString(), AdaptiveMajoritySelector.fromConfiguration().getThresholds().toString());
+            } finally {
+                if (previous == null) {
+                    System.clearProperty(AdaptiveMajoritySelector.CALIBRATION_FILE_PROPERTY);
+                } else {
+                    System.setProperty(AdaptiveMajoritySelector.CALIBRATION_FILE_PROPERTY, previous);
+                }
+            }
+            assertThrows(IllegalArgumentException.class, () -> AdaptiveMajoritySelector.setDefault(null));
+        }
+
+        @Test
+        @DisplayName("Invalid thresholds are rejected")
+        void testInvalid() {
+            assertThrows(IllegalArgumentException.class, () -> new AdaptiveMajoritySelector.Thresholds(0, 1, 1, 1));
+            assertThrows(IllegalArgumentException.class, () -> AdaptiveMajoritySelector.calibrate(100));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package algorithms;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Bitset Majority Vote Tests")
+class BitsetMajorityVoteTest {
+
+    @Nested
+    @DisplayName("Word Arrays")
+    class WordArrays {
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 63, 64, 65, 1000, 2_000_001})
+        @DisplayName("Matches Boyer-Moore over the same votes, sequential and parallel")
+        void testMatchesBoyerMoore(int voteCount) {
+            Random random = new Random(voteCount);
+            for (int yesPercent : new int[]{30, 50, 70}) {
+                int[] votes = new int[voteCount];
+                BitSet bits = new BitSet(voteCount);
+                for (int i = 0; i < voteCount; i++) {
+                    votes[i] = random.nextInt(100) < yesPercent ? 1 : 0;
+                    bits.set(i, votes[i] == 1);
+                }
+                long[] words = Arrays.copyOf(bits.toLongArray(), (voteCount + 63) / 64);
+
+                long expected = PrimitiveMajorityVote.findMajority(votes);
+                for (boolean parallel : new boolean[]{false, true}) {
+                    BoyerMooreMajorityVote.Result result = BitsetMajorityVote.findMajorityElement(words, voteCount, parallel);
+                    assertEquals(PrimitiveMajorityVote.isMajority(expected), result.hasMajority());
+                    if (result.hasMajority()) {
+                        assertEquals((int) expected, result.getMajorityElement());
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Bits past the vote count are ignored")
+        void testTailMask() {
+            long[] words = {0b0011L | 0xFF00L};
+            // Only the low four votes count: two yes, two no
+            assertFalse(BitsetMajorityVote.findMajorityElement(words, 4, false).hasMajority());
+            assertEquals(2, BitsetMajorityVote.countOnes(words, 4, false));
+            assertNull(BitsetMajorityVote.findMajorityElement(new long[]{0b0011L}, 4, false).getMajorityElement());
+
+            BoyerMooreMajorityVote.Result result = BitsetMajorityVote.findMajorityElement(words, 3, false);
+            assertTrue(result.hasMajority());
+            assertEquals(1, result.getMajorityElement());
+        }
+
+        @Test
+        @DisplayName("Metrics count words scanned")
+        void testWordsScanned() {
+            long[] words = new long[10];
+            BoyerMooreMajorityVote.Result result = BitsetMajorityVote.findMajorityElement(words, 577, false);
+
+            assertEquals(10, result.getMetrics().getArrayAccesses());
+            assertTrue(result.hasMajority());
+            assertEquals(0, result.getMajorityElement());
+        }
+
+        @Test
+        @DisplayName("Invalid input")
+        void testInvalid() {
+            assertTrue(BitsetMajorityVote.findMajorityElement((long[]) null).hasError());
+            assertFalse(BitsetMajorityVote.findMajorityElement(new long[0]).hasMajority());
+            assertThrows(IllegalArgumentException.class, () -> BitsetMajorityVote.findMajorityElement(new long[1], 65, false));
+            assertThrows(IllegalArgumentException.class, () -> BitsetMajorityVote.countOnes(new long[1], -1, false));
+        }
+    }
+
+    @Nested
+    @DisplayName("BitSet")
+    class BitSets {
+
+        @ParameterizedTest
+        @ValueSource(booleans = {false, true})
+        @DisplayName("Majority of yes votes, with set bits beyond the vote count ignored")
+        void testBitSet(boolean parallel) {
+            int voteCount = 3_000_000;
+            BitSet bits = new BitSet();
+            bits.set(0, voteCount / 2 + 1);
+            bits.set(voteCount + 10, voteCount + 5000);
+
+            BoyerMooreMajorityVote.Result result = BitsetMajorityVote.findMajorityElement(bits, voteCount, parallel);
+            assertTrue(result.hasMajority());
+            assertEquals(1, result.getMajorityElement());
+
+            bits.clear(0);
+            assertFalse(BitsetMajorityVote.findMajorityElement(bits, voteCount, parallel).hasMajority());
+        }
+
+        @Test
+        @DisplayName("Unset trailing votes count as no")
+        void testTrailingZeros() {
+            BitSet bits = new BitSet();
+            bits.set(0, 10);
+
+            BoyerMooreMajorityVote.Result result = BitsetMajorityVote.findMajorityElement(bits, 100, false);
+            assertTrue(result.hasMajority());
+            assertEquals(0, result.getMajorityElement());
+            assertTrue(BitsetMajorityVote.findMajorityElement((BitSet) null, 1, false).hasError());
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -230,6 +231,44 @@ class BoyerMooreMajorityVoteTest {
             assertEquals(0, metrics.getExecutionTimeNanos());
         }
 
+        @Test
+        @DisplayName("Counters do not overflow past the int range")
+        void testMetricsAre64Bit() {
+            BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.Metrics();
+
+            metrics.addArrayAccesses(Integer.MAX_VALUE);
+            metrics.addArrayAccesses(Integer.MAX_VALUE);
+            metrics.incrementArrayAccesses();
+
+            assertEquals(2L * Integer.MAX_VALUE + 1, metrics.getArrayAccesses());
+        }
+
+        @Test
+        @DisplayName("Concurrent metrics count every update from many threads")
+        void testConcurrentMetrics() throws InterruptedException {
+            BoyerMooreMajorityVote.Metrics metrics = new BoyerMooreMajorityVote.ConcurrentMetrics();
+            Thread[] workers = new Thread[4];
+
+            for (int t = 0; t < workers.length; t++) {
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        metrics.incrementComparisons();
+                        metrics.addArrayAccesses(2);
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            assertEquals(400_000, metrics.getComparisons());
+            assertEquals(800_000, metrics.getArrayAccesses());
+
+            metrics.reset();
+            assertEquals(0, metrics.getComparisons());
+        }
+
         @ParameterizedTest
         @ValueSource(ints = {10, 100, 1000, 10000})
         @DisplayName("Performance scales linearly with input size")
@@ -252,6 +291,139 @@ class BoyerMooreMajorityVoteTest {
         }
     }
 
+    @Nested
+    @DisplayName("Instrumentation Levels")
+    class InstrumentationLevels {
+
+        @ParameterizedTest
+        @ValueSource(ints = {2, 7, 100, 10001})
+        @DisplayName("Analytic counts match full instrumentation")
+        void testAnalyticMatchesFull(int size) {
+            for (boolean hasMajority : new boolean[]{true, false}) {
+                Integer[] array = BoyerMooreMajorityVote.generateTestArray(size, hasMajority);
+                BoyerMooreMajorityVote.shuffleArray(array);
+
+                BoyerMooreMajorityVote.Metrics full = BoyerMooreMajorityVote
+                        .findMajorityElement(array, BoyerMooreMajorityVote.InstrumentationLevel.FULL).getMetrics();
+                BoyerMooreMajorityVote.Metrics analytic = BoyerMooreMajorityVote
+                        .findMajorityElement(array, BoyerMooreMajorityVote.InstrumentationLevel.COUNTS_ANALYTIC).getMetrics();
+
+                assertEquals(full.getArrayAccesses(), analytic.getArrayAccesses());
+                assertEquals(full.getComparisons(), analytic.getComparisons());
+            }
+        }
+
+        @Test
+        @DisplayName("OFF finds the majority without counting")
+        void testOffLevel() {
+            Integer[] array = {2, 2, 1, 1, 1, 2, 2};
+            BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote
+                    .findMajorityElement(array, BoyerMooreMajorityVote.InstrumentationLevel.OFF);
+
+            assertFalse(result.hasError());
+            assertTrue(result.hasMajority());
+            assertEquals(2, result.getMajorityElement());
+            assertEquals(0, result.getMetrics().getComparisons());
+            assertTrue(result.getMetrics().getExecutionTimeNanos() > 0);
+        }
+
+        @Test
+        @DisplayName("All levels agree on arrays without majority")
+        void testLevelsAgree() {
+            Integer[] array = {1, 1, 1, 2, 2, 3};
+            for (BoyerMooreMajorityVote.InstrumentationLevel level : BoyerMooreMajorityVote.InstrumentationLevel.values()) {
+                assertFalse(BoyerMooreMajorityVote.findMajorityElement(array, level).hasMajority());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Sorted Input")
+    class SortedInput {
+
+        @ParameterizedTest
+        @ValueSource(ints = {2, 3, 4, 5, 100, 101, 10_000})
+        @DisplayName("Declared sorted input matches the two-pass vote")
+        void testDeclaredSorted(int size) {
+            for (boolean hasMajority : new boolean[]{true, false}) {
+                Integer[] array = BoyerMooreMajorityVote.generateTestArray(size, hasMajority);
+                Arrays.sort(array);
+
+                BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(array);
+                BoyerMooreMajorityVote.Result sorted =
+                        BoyerMooreMajorityVote.findMajorityElement(array, BoyerMooreMajorityVote.InputOrder.SORTED);
+
+                assertEquals(expected.hasMajority(), sorted.hasMajority());
+                if (expected.hasMajority()) {
+                    assertEquals(expected.getMajorityElement(), sorted.getMajorityElement());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Run of exactly half is not a majority")
+        void testExactHalf() {
+            Integer[] array = {1, 1, 2, 2};
+            assertFalse(BoyerMooreMajorityVote.findMajorityElement(array, BoyerMooreMajorityVote.InputOrder.SORTED).hasMajority());
+
+            Integer[] atEnd = {1, 2, 2, 2};
+            BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(atEnd, BoyerMooreMajorityVote.InputOrder.SORTED);
+            assertTrue(result.hasMajority());
+            assertEquals(2, result.getMajorityElement());
+        }
+
+        @Test
+        @DisplayName("Logarithmic accesses and recorded savings")
+        void testAvoidedWork() {
+            Integer[] array = BoyerMooreMajorityVote.generateTestArray(1 << 16, true);
+            Arrays.sort(array);
+
+            BoyerMooreMajorityVote.Metrics metrics =
+                    BoyerMooreMajorityVote.findMajorityElement(array, BoyerMooreMajorityVote.InputOrder.SORTED).getMetrics();
+
+            assertTrue(metrics.getArrayAccesses() <= 20, "accesses: " + metrics.getArrayAccesses());
+            assertEquals(2L * array.length - metrics.getArrayAccesses(), metrics.getAvoidedArrayAccesses());
+            assertTrue(metrics.getAvoidedComparisons() > 0);
+            assertTrue(metrics.toString().contains("avoidedArrayAccesses"));
+        }
+
+        @Test
+        @DisplayName("Detection falls back to the full vote on shuffled input")
+        void testDetectFallback() {
+            Integer[] array = BoyerMooreMajorityVote.generateTestArray(10_000, true);
+            BoyerMooreMajorityVote.shuffleArray(array);
+
+            BoyerMooreMajorityVote.Result result =
+                    BoyerMooreMajorityVote.findMajorityElement(array, BoyerMooreMajorityVote.InputOrder.DETECT);
+
+            assertTrue(result.hasMajority());
+            assertEquals(0, result.getMetrics().getAvoidedArrayAccesses());
+            assertTrue(result.getMetrics().getArrayAccesses() >= array.length);
+        }
+
+        @Test
+        @DisplayName("Detection takes the fast path on sorted input")
+        void testDetectSorted() {
+            Integer[] array = BoyerMooreMajorityVote.generateTestArray(10_000, true);
+            Arrays.sort(array);
+
+            BoyerMooreMajorityVote.Result result =
+                    BoyerMooreMajorityVote.findMajorityElement(array, BoyerMooreMajorityVote.InputOrder.DETECT);
+
+            assertTrue(result.hasMajority());
+            assertTrue(result.getMetrics().getArrayAccesses() < 100);
+        }
+
+        @Test
+        @DisplayName("Null elements sort first")
+        void testNullElements() {
+            Integer[] array = {null, 4, 4};
+            BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(array, BoyerMooreMajorityVote.InputOrder.SORTED);
+            assertTrue(result.hasMajority());
+            assertEquals(4, result.getMajorityElement());
+        }
+    }
+
     @Nested
     @DisplayName("Input Validation")
     class InputValidation {
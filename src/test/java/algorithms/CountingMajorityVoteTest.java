@@ -0,0 +1,165 @@
+package algorithms;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Counting Majority Vote Tests")
+class CountingMajorityVoteTest {
+
+    @Nested
+    @DisplayName("Fixed Domains")
+    class FixedDomains {
+
+        @ParameterizedTest
+        @ValueSource(booleans = {false, true})
+        @DisplayName("byte[] majority at the domain edges")
+        void testBytes(boolean parallel) {
+            byte[] array = new byte[200_001];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = i % 3 == 0 ? Byte.MAX_VALUE : Byte.MIN_VALUE;
+            }
+
+            BoyerMooreMajorityVote.Result result = CountingMajorityVote.findMajorityElement(array, parallel);
+            assertTrue(result.hasMajority());
+            assertEquals((int) Byte.MIN_VALUE, result.getMajorityElement());
+        }
+
+        @ParameterizedTest
+        @ValueSource(booleans = {false, true})
+        @DisplayName("short[] and char[] agree with Boyer-Moore")
+        void testShortsAndChars(boolean parallel) {
+            Random random = new Random(3);
+            for (boolean hasMajority : new boolean[]{true, false}) {
+                short[] shorts = new short[150_000];
+                char[] chars = new char[shorts.length];
+                int[] ints = new int[shorts.length];
+                for (int i = 0; i < shorts.length; i++) {
+                    shorts[i] = hasMajority && random.nextInt(5) < 3 ? -12_345 : (short) random.nextInt();
+                    chars[i] = (char) shorts[i];
+                    ints[i] = shorts[i];
+                }
+
+                long expected = PrimitiveMajorityVote.findMajority(ints);
+                BoyerMooreMajorityVote.Result shortResult = CountingMajorityVote.findMajorityElement(shorts, parallel);
+                BoyerMooreMajorityVote.Result charResult = CountingMajorityVote.findMajorityElement(chars, parallel);
+
+                assertEquals(PrimitiveMajorityVote.isMajority(expected), shortResult.hasMajority());
+                assertEquals(PrimitiveMajorityVote.isMajority(expected), charResult.hasMajority());
+                if (hasMajority) {
+                    assertEquals(-12_345, shortResult.getMajorityElement());
+                    assertEquals((int) (char) -12_345, charResult.getMajorityElement());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Null and empty input")
+        void testNullAndEmpty() {
+            assertTrue(CountingMajorityVote.findMajorityElement((byte[]) null).hasError());
+            assertTrue(CountingMajorityVote.findMajorityElement((char[]) null).hasError());
+            assertFalse(CountingMajorityVote.findMajorityElement(new short[0]).hasMajority());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounded Ints")
+    class BoundedInts {
+
+        @ParameterizedTest
+        @ValueSource(booleans = {false, true})
+        @DisplayName("Bounds-free int[] matches Boyer-Moore, including the wide-range fallback")
+        void testUnbounded(boolean parallel) {
+            for (boolean hasMajority : new boolean[]{true, false}) {
+                int[] wide = PrimitiveMajorityVote.generateTestArray(100_000, hasMajority);
+                int[] narrow = wide.clone();
+                for (int i = 0; i < narrow.length; i++) {
+                    narrow[i] = Math.floorMod(narrow[i], 1000) - 500;
+                }
+
+                for (int[] array : new int[][]{wide, narrow}) {
+                    BoyerMooreMajorityVote.Result result = CountingMajorityVote.findMajorityElement(array, parallel);
+                    long expected = PrimitiveMajorityVote.findMajority(array);
+                    assertEquals(PrimitiveMajorityVote.isMajority(expected), result.hasMajority());
+                    assertEquals(expected, CountingMajorityVote.findMajority(array));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Values outside the declared bounds are reported")
+        void testOutOfBounds() {
+            int[] array = {3, 3, 11};
+            BoyerMooreMajorityVote.Result result = CountingMajorityVote.findMajorityElement(array, 0, 10, false);
+            assertTrue(result.hasError());
+
+            assertThrows(IllegalArgumentException.class, () -> CountingMajorityVote.frequencies(new int[]{-1}, 0, 10, false));
+            assertThrows(IllegalArgumentException.class,
+                    () -> CountingMajorityVote.findMajorityElement(array, 0, CountingMajorityVote.MAX_DOMAIN, false));
+            assertThrows(IllegalArgumentException.class, () -> CountingMajorityVote.frequencies(array, 5, 4, false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Frequencies")
+    class FrequencyReport {
+
+        @Test
+        @DisplayName("Every frequency is exact, not just the majority")
+        void testFrequencies() {
+            int[] array = {4, 4, 7, 4, 9, 7, 4, 10};
+            CountingMajorityVote.Frequencies frequencies = CountingMajorityVote.frequencies(array, 4, 10, false);
+
+            assertEquals(4, frequencies.getFrequency(4));
+            assertEquals(2, frequencies.getFrequency(7));
+            assertEquals(0, frequencies.getFrequency(5));
+            assertEquals(0, frequencies.getFrequency(Integer.MIN_VALUE));
+            assertEquals(4, frequencies.distinctValues());
+            assertEquals(8, frequencies.getTotal());
+            assertFalse(frequencies.hasMajority());
+            assertEquals(4, frequencies.mostFrequent());
+        }
+
+        @Test
+        @DisplayName("Top-k orders by count, then by value")
+        void testTopK() {
+            byte[] array = {5, 1, 1, 5, 2, 9, 9, 9};
+            CountingMajorityVote.Frequencies frequencies = CountingMajorityVote.frequencies(array, false);
+
+            assertArrayEquals(new int[]{9, 1, 5}, frequencies.topK(3));
+            assertArrayEquals(new int[]{9, 1, 5, 2}, frequencies.topK(10));
+            assertThrows(IllegalArgumentException.class, () -> frequencies.topK(-1));
+        }
+
+        @Test
+        @DisplayName("Parallel histograms merge to the sequential counts")
+        void testParallelMerge() {
+            Random random = new Random(11);
+            char[] array = new char[300_000];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = (char) random.nextInt(40);
+            }
+
+            CountingMajorityVote.Frequencies sequential = CountingMajorityVote.frequencies(array, false);
+            CountingMajorityVote.Frequencies parallel = CountingMajorityVote.frequencies(array, true);
+            for (int value = 0; value < 40; value++) {
+                assertEquals(sequential.getFrequency(value), parallel.getFrequency(value));
+            }
+        }
+
+        @Test
+        @DisplayName("Empty input has no most frequent value")
+        void testEmpty() {
+            CountingMajorityVote.Frequencies frequencies = CountingMajorityVote.frequencies(new byte[0], false);
+            assertEquals(PrimitiveMajorityVote.NO_MAJORITY, frequencies.majority());
+            assertThrows(IllegalStateException.class, frequencies::mostFrequent);
+        }
+    }
+}
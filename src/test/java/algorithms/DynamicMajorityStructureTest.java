@@ -0,0 +1,95 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Dynamic Majority Structure Tests")
+class DynamicMajorityStructureTest {
+
+    @Nested
+    @DisplayName("Updates and Queries")
+    class UpdatesAndQueries {
+
+        @Test
+        @DisplayName("Random updates match a rescan of the mirrored array")
+        void testRandomUpdates() {
+            Random random = new Random(11);
+            int[] mirror = new int[200];
+            for (int i = 0; i < mirror.length; i++) {
+                mirror[i] = random.nextInt(3);
+            }
+            DynamicMajorityStructure structure = new DynamicMajorityStructure(mirror);
+
+            for (int step = 0; step < 2000; step++) {
+                int index = random.nextInt(mirror.length);
+                int value = random.nextInt(3);
+                mirror[index] = value;
+                structure.set(index, value);
+
+                int a = random.nextInt(mirror.length);
+                int b = random.nextInt(mirror.length);
+                int from = Math.min(a, b);
+                int to = Math.max(a, b);
+
+                assertEquals(PrimitiveMajorityVote.findMajority(Arrays.copyOfRange(mirror, from, to + 1)),
+                        structure.query(from, to));
+                assertEquals(PrimitiveMajorityVote.findMajority(mirror), structure.majority());
+            }
+        }
+
+        @Test
+        @DisplayName("Majority appears and disappears with updates")
+        void testMajorityTransitions() {
+            DynamicMajorityStructure structure = new DynamicMajorityStructure(new int[]{1, 2, 3, 4});
+            assertEquals(PrimitiveMajorityVote.NO_MAJORITY, structure.majority());
+
+            structure.set(1, 1);
+            structure.set(2, 1);
+            assertEquals(1, structure.majority());
+            assertEquals(3, structure.frequency(1, 0, 3));
+
+            structure.set(0, 9);
+            assertEquals(PrimitiveMajorityVote.NO_MAJORITY, structure.majority());
+            assertEquals(9, structure.get(0));
+            assertEquals(3, structure.distinctValues());
+        }
+
+        @Test
+        @DisplayName("Setting the same value is a no-op")
+        void testSameValue() {
+            DynamicMajorityStructure structure = new DynamicMajorityStructure(new int[]{5, 5, 6});
+            structure.set(0, 5);
+
+            assertEquals(5, structure.majority());
+            assertEquals(2, structure.frequency(5, 0, 2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Input Validation")
+    class InputValidation {
+
+        @Test
+        @DisplayName("Out of range indices are rejected")
+        void testBounds() {
+            DynamicMajorityStructure structure = new DynamicMajorityStructure(new int[]{1, 2});
+
+            assertThrows(IndexOutOfBoundsException.class, () -> structure.set(2, 0));
+            assertThrows(IndexOutOfBoundsException.class, () -> structure.query(1, 0));
+            assertThrows(NullPointerException.class, () -> new DynamicMajorityStructure(null));
+        }
+
+        @Test
+        @DisplayName("Empty structure has no majority")
+        void testEmpty() {
+            assertEquals(PrimitiveMajorityVote.NO_MAJORITY, new DynamicMajorityStructure(new int[0]).majority());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Ensemble Majority Vote Tests")
+class EnsembleMajorityVoteTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 8, 15})
+    @DisplayName("Every position matches a per-column Boyer-Moore vote")
+    void testMatchesPerColumn(int models) {
+        Random random = new Random(models);
+        // Crosses several tiles and ends mid-tile and mid-word
+        int positions = 3 * EnsembleMajorityVote.TILE + 37;
+        int[][] predictions = new int[models][positions];
+        for (int[] row : predictions) {
+            for (int p = 0; p < positions; p++) {
+                row[p] = random.nextInt(100) < 55 ? p % 5 : random.nextInt(4);
+            }
+        }
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            EnsembleMajorityVote.Result result = EnsembleMajorityVote.findMajorityElements(predictions, parallel);
+            assertEquals(positions, result.getPositions());
+
+            int noMajority = 0;
+            int[] column = new int[models];
+            for (int p = 0; p < positions; p++) {
+                for (int k = 0; k < models; k++) {
+                    column[k] = predictions[k][p];
+                }
+                long expected = PrimitiveMajorityVote.findMajority(column);
+                assertEquals(PrimitiveMajorityVote.isMajority(expected), result.hasMajority(p), "position " + p);
+                if (PrimitiveMajorityVote.isMajority(expected)) {
+                    assertEquals((int) expected, result.getWinner(p));
+                } else {
+                    noMajority++;
+                }
+            }
+            assertEquals(noMajority, result.getNoMajorityCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Bitmap uses BitSet layout")
+    void testBitmap() {
+        int[][] predictions = {
+                {1, 2, 3, 4},
+                {1, 5, 3, 6},
+                {7, 8, 3, 4}
+        };
+        EnsembleMajorityVote.Result result = EnsembleMajorityVote.findMajorityElements(predictions);
+
+        BitSet noMajority = BitSet.valueOf(result.getNoMajorityBitmap());
+        assertEquals(BitSet.valueOf(new long[]{0b0010}), noMajority);
+        assertArrayEquals(new int[]{1, 3, 4}, new int[]{result.getWinner(0), result.getWinner(2), result.getWinner(3)});
+        assertThrows(IllegalStateException.class, () -> result.getWinner(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> result.hasMajority(4));
+    }
+
+    @Test
+    @DisplayName("Ties between two models have no majority")
+    void testTie() {
+        EnsembleMajorityVote.Result result = EnsembleMajorityVote.findMajorityElements(new int[][]{{1, 1}, {2, 1}});
+        assertFalse(result.hasMajority(0));
+        assertTrue(result.hasMajority(1));
+    }
+
+    @Test
+    @DisplayName("Invalid input is reported")
+    void testInvalid() {
+        assertTrue(EnsembleMajorityVote.findMajorityElements(null).hasError());
+        assertTrue(EnsembleMajorityVote.findMajorityElements(new int[0][]).hasError());
+        assertTrue(EnsembleMajorityVote.findMajorityElements(new int[][]{{1}, null}).hasError());
+        assertTrue(EnsembleMajorityVote.findMajorityElements(new int[][]{{1, 2}, {1}}).hasError());
+
+        EnsembleMajorityVote.Result empty = EnsembleMajorityVote.findMajorityElements(new int[][]{{}, {}});
+        assertFalse(empty.hasError());
+        assertEquals(0, empty.getPositions());
+    }
+}
@@ -0,0 +1,81 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Grouped Majority Aggregator Tests")
+class GroupedMajorityAggregatorTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000, 50_000})
+    @DisplayName("Every group matches a Boyer-Moore vote over its values")
+    void testMatchesPerGroup(int distinctKeys) {
+        Random random = new Random(distinctKeys);
+        int records = 200_000;
+        long[] keys = new long[records];
+        int[] values = new int[records];
+        for (int i = 0; i < records; i++) {
+            keys[i] = (random.nextInt(distinctKeys) - distinctKeys / 2) * 0x7FFF_FFFFL;
+            values[i] = random.nextInt(100) < 55 ? (int) keys[i] : random.nextInt(3);
+        }
+
+        Map<Long, List<Integer>> groups = new HashMap<>();
+        for (int i = 0; i < records; i++) {
+            groups.computeIfAbsent(keys[i], k -> new ArrayList<>()).add(values[i]);
+        }
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            GroupedMajorityAggregator.Result result = GroupedMajorityAggregator.aggregate(keys, values, parallel);
+            assertEquals(groups.size(), result.getGroupCount());
+
+            for (Map.Entry<Long, List<Integer>> group : groups.entrySet()) {
+                int[] groupValues = group.getValue().stream().mapToInt(Integer::intValue).toArray();
+                assertEquals(PrimitiveMajorityVote.findMajority(groupValues), result.majority(group.getKey()),
+                        "key " + group.getKey());
+                assertEquals(groupValues.length, result.groupSize(group.getKey()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Aligned arrays and lookups")
+    void testSmall() {
+        long[] keys = {7, 7, 7, -1, -1, 42};
+        int[] values = {1, 2, 1, 5, 6, -3};
+        GroupedMajorityAggregator.Result result = GroupedMajorityAggregator.aggregate(keys, values);
+
+        assertEquals(1, result.majority(7));
+        assertEquals(PrimitiveMajorityVote.NO_MAJORITY, result.majority(-1));
+        assertEquals(-3, result.majority(42));
+        assertEquals(PrimitiveMajorityVote.NO_MAJORITY, result.majority(99));
+        assertEquals(0, result.groupSize(99));
+        assertEquals(2, result.getGroupsWithMajority());
+
+        long[] groupKeys = result.getKeys();
+        long[] majorities = result.getMajorities();
+        int[] sizes = result.getGroupSizes();
+        for (int i = 0; i < groupKeys.length; i++) {
+            assertEquals(result.majority(groupKeys[i]), majorities[i]);
+            assertEquals(result.groupSize(groupKeys[i]), sizes[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid input is reported")
+    void testInvalid() {
+        assertTrue(GroupedMajorityAggregator.aggregate(null, new int[0]).hasError());
+        assertTrue(GroupedMajorityAggregator.aggregate(new long[2], new int[1]).hasError());
+        assertEquals(0, GroupedMajorityAggregator.aggregate(new long[0], new int[0]).getGroupCount());
+    }
+}
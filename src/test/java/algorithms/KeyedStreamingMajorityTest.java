@@ -0,0 +1,101 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Keyed Streaming Majority Tests")
+class KeyedStreamingMajorityTest {
+
+    @Test
+    @DisplayName("Every key matches its own accumulator, across growth past several slabs")
+    void testMatchesAccumulators() {
+        Random random = new Random(19);
+        int keyCount = 3 * KeyedStreamingMajority.SLAB_SLOTS;
+        KeyedStreamingMajority store = new KeyedStreamingMajority(16);
+        Map<Long, MajorityAccumulator> expected = new HashMap<>();
+
+        for (int i = 0; i < 8 * keyCount; i++) {
+            long key = random.nextInt(keyCount) * 0x1_0000_0001L - keyCount;
+            int value = random.nextInt(100) < 60 ? (int) key : random.nextInt(3);
+            store.accept(key, value);
+            expected.computeIfAbsent(key, k -> new MajorityAccumulator()).accept(value);
+        }
+
+        assertEquals(expected.size(), store.size());
+        assertEquals(8L * keyCount, store.getUpdates());
+        for (Map.Entry<Long, MajorityAccumulator> entry : expected.entrySet()) {
+            MajorityAccumulator accumulator = entry.getValue();
+            long key = entry.getKey();
+            assertEquals(accumulator.hasCandidate() ? accumulator.getCandidate() : PrimitiveMajorityVote.NO_MAJORITY,
+                    store.candidate(key), "key " + key);
+            assertEquals(accumulator.getCount(), store.getCount(key));
+            assertEquals(accumulator.getTotal(), store.getTotal(key));
+            assertEquals(accumulator.isConfirmedMajority(), store.isConfirmedMajority(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Idle keys are evicted and the rest stay reachable")
+    void testEvictIdle() {
+        KeyedStreamingMajority store = new KeyedStreamingMajority(1000);
+        for (long key = 0; key < 1000; key++) {
+            store.accept(key, 1);
+        }
+        store.advanceEpoch();
+        for (long key = 0; key < 1000; key += 2) {
+            store.accept(key, 2);
+        }
+        store.advanceEpoch();
+
+        assertEquals(0, store.evictIdle(2));
+        assertEquals(500, store.evictIdle(1));
+        assertEquals(500, store.size());
+        assertEquals(500, store.getEvictions());
+        for (long key = 0; key < 1000; key++) {
+            assertEquals(key % 2 == 0, store.contains(key), "key " + key);
+        }
+        // The second vote for an even key cancelled the first
+        assertEquals(PrimitiveMajorityVote.NO_MAJORITY, store.candidate(0));
+        assertEquals(2, store.getTotal(0));
+
+        // Evicted keys start over
+        store.accept(1, 7);
+        assertEquals(7, store.candidate(1));
+        assertEquals(1, store.getTotal(1));
+    }
+
+    @Test
+    @DisplayName("Footprint per key does not depend on the key count")
+    void testFootprint() {
+        KeyedStreamingMajority store = new KeyedStreamingMajority(0);
+        assertEquals(0.0, store.bytesPerKey());
+
+        for (long key = 0; key < 100_000; key++) {
+            store.accept(key, 0);
+            assertTrue(store.size() <= 0.75 * store.capacity());
+        }
+        assertEquals((long) store.capacity() * KeyedStreamingMajority.ENTRY_BYTES, store.footprintBytes());
+        assertTrue(store.bytesPerKey() < 4 * KeyedStreamingMajority.ENTRY_BYTES);
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertFalse(store.contains(5));
+    }
+
+    @Test
+    @DisplayName("Invalid arguments")
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyedStreamingMajority(-1));
+        assertThrows(IllegalArgumentException.class, () -> new KeyedStreamingMajority(1000).evictIdle(-1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> new KeyedStreamingMajority(4).accept(new long[2], new int[1], 0, 2));
+        assertEquals(0, new KeyedStreamingMajority(4).getCount(42));
+    }
+}
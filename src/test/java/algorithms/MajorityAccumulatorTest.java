@@ -0,0 +1,109 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Majority Accumulator Tests")
+class MajorityAccumulatorTest {
+
+    @Nested
+    @DisplayName("Incremental Updates")
+    class IncrementalUpdates {
+
+        @Test
+        @DisplayName("Empty accumulator has no candidate")
+        void testEmpty() {
+            MajorityAccumulator accumulator = new MajorityAccumulator();
+
+            assertFalse(accumulator.hasCandidate());
+            assertEquals(0, accumulator.getTotal());
+            assertThrows(IllegalStateException.class, accumulator::getCandidate);
+        }
+
+        @Test
+        @DisplayName("Single values and batches give the same state")
+        void testBatchMatchesSingle() {
+            int[] feed = {2, 2, 1, 1, 1, 2, 2, 5, 2};
+            MajorityAccumulator single = new MajorityAccumulator();
+            for (int value : feed) {
+                single.accept(value);
+            }
+
+            MajorityAccumulator batched = new MajorityAccumulator();
+            batched.accept(feed, 0, 4);
+            batched.accept(feed, 4, feed.length - 4);
+
+            assertEquals(single.getCandidate(), batched.getCandidate());
+            assertEquals(single.getCount(), batched.getCount());
+            assertEquals(feed.length, batched.getTotal());
+        }
+
+        @Test
+        @DisplayName("Candidate is readable mid-stream")
+        void testQueryAnyTime() {
+            MajorityAccumulator accumulator = new MajorityAccumulator();
+            accumulator.accept(7);
+            assertEquals(7, accumulator.getCandidate());
+            assertTrue(accumulator.isConfirmedMajority());
+
+            accumulator.accept(8);
+            assertFalse(accumulator.hasCandidate());
+
+            accumulator.accept(8);
+            assertEquals(8, accumulator.getCandidate());
+            assertFalse(accumulator.isConfirmedMajority());
+        }
+
+        @Test
+        @DisplayName("Batch bounds are checked")
+        void testBatchBounds() {
+            MajorityAccumulator accumulator = new MajorityAccumulator();
+            assertThrows(IndexOutOfBoundsException.class, () -> accumulator.accept(new int[3], 2, 2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream Integration")
+    class StreamIntegration {
+
+        @Test
+        @DisplayName("IntStream pipeline via IntConsumer")
+        void testIntConsumer() {
+            MajorityAccumulator accumulator = new MajorityAccumulator();
+            IntStream.of(4, 4, 1, 4).forEach(accumulator);
+
+            assertEquals(4, accumulator.getCandidate());
+            assertEquals(4, accumulator.getTotal());
+        }
+
+        @Test
+        @DisplayName("Parallel IntStream collect finds the majority")
+        void testParallelCollect() {
+            int[] array = PrimitiveMajorityVote.generateTestArray(100001, true);
+            PrimitiveMajorityVote.shuffleArray(array);
+
+            MajorityAccumulator accumulator = MajorityAccumulator.collect(Arrays.stream(array).parallel());
+
+            assertEquals(1, accumulator.getCandidate());
+            assertEquals(100001, accumulator.getTotal());
+        }
+
+        @Test
+        @DisplayName("Boxed stream Collector")
+        void testCollector() {
+            MajorityAccumulator accumulator = Arrays.stream(new Integer[]{1, 3, 3, 3, 2})
+                    .parallel()
+                    .collect(MajorityAccumulator.collector());
+
+            assertEquals(3, accumulator.getCandidate());
+            assertEquals(5, accumulator.getTotal());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package algorithms;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Majority Algorithm SPI Tests")
+class MajorityAlgorithmTest {
+
+    static List<String> engineNames() {
+        return MajorityAlgorithms.names();
+    }
+
+    @Nested
+    @DisplayName("Registry")
+    class Registry {
+
+        @Test
+        @DisplayName("ServiceLoader finds every shipped engine")
+        void testShippedEngines() {
+            assertEquals(List.of("BoyerMoore", "HashCounting", "SortBased", "Bitwise",
+                    "DivideAndConquer", "Randomized", "Counting", "Parallel", "Vectorized"), MajorityAlgorithms.names());
+        }
+
+        @Test
+        @DisplayName("Lookup by name")
+        void testLookup() {
+            assertTrue(MajorityAlgorithms.contains("SortBased"));
+            assertEquals("SortBased", MajorityAlgorithms.get("SortBased").name());
+            assertThrows(IllegalArgumentException.class, () -> MajorityAlgorithms.get("Quantum"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Shared Contract")
+    class SharedContract {
+
+        @ParameterizedTest
+        @MethodSource("algorithms.MajorityAlgorithmTest#engineNames")
+        @DisplayName("Agrees with Boyer-Moore on generated arrays")
+        void testAgreesWithBoyerMoore(String name) {
+            MajorityAlgorithm algorithm = MajorityAlgorithms.get(name);
+            for (int size : new int[]{1, 2, 3, 17, 100, 5001}) {
+                for (boolean hasMajority : new boolean[]{true, false}) {
+                    int[] array = PrimitiveMajorityVote.generateTestArray(size, hasMajority);
+                    PrimitiveMajorityVote.shuffleArray(array);
+
+                    BoyerMooreMajorityVote.Result expected = PrimitiveMajorityVote.findMajorityElement(array);
+                    BoyerMooreMajorityVote.Result actual = algorithm.findMajorityElement(array);
+
+                    assertEquals(expected.hasMajority(), actual.hasMajority(), name + " size " + size);
+                    if (expected.hasMajority()) {
+                        assertEquals(expected.getMajorityElement(), actual.getMajorityElement());
+                    }
+                }
+            }
+        }
+
+        @ParameterizedTest
+        @MethodSource("algorithms.MajorityAlgorithmTest#engineNames")
+        @DisplayName("Exact on adversarial near-majority inputs")
+        void testNearMajority(String name) {
+            MajorityAlgorithm algorithm = MajorityAlgorithms.get(name);
+            Random random = new Random(name.hashCode());
+            for (int size : new int[]{64, 65, 1000, 1001}) {
+                // Exactly half (no majority) and half plus one (majority)
+                for (int dominant : new int[]{size / 2, size / 2 + 1}) {
+                    int[] array = new int[size];
+                    for (int i = 0; i < size; i++) {
+                        array[i] = i < dominant ? -9 : random.nextInt(1000);
+                    }
+                    PrimitiveMajorityVote.shuffleArray(array);
+
+                    boolean expected = dominant > size / 2;
+                    BoyerMooreMajorityVote.Result result = algorithm.findMajorityElement(array);
+                    assertEquals(expected, result.hasMajority(), name + " size " + size);
+                    if (expected) {
+                        assertEquals(-9, result.getMajorityElement());
+                    }
+                }
+            }
+        }
+
+        @ParameterizedTest
+        @MethodSource("algorithms.MajorityAlgorithmTest#engineNames")
+        @DisplayName("No majority reports a null element")
+        void testNoMajorityElementIsNull(String name) {
+            MajorityAlgorithm algorithm = MajorityAlgorithms.get(name);
+            int[] noMajority = PrimitiveMajorityVote.generateTestArray(1001, false);
+            PrimitiveMajorityVote.shuffleArray(noMajority);
+
+            for (int[] array : new int[][]{{5, 5, 7, 7}, {1, 2, 3}, {4, 4, 4, 9, 9, 9, 9, 4}, noMajority}) {
+                BoyerMooreMajorityVote.Result result = algorithm.findMajorityElement(array);
+                assertFalse(result.hasMajority(), name);
+                assertNull(result.getMajorityElement(), name);
+            }
+        }
+
+        @ParameterizedTest
+        @MethodSource("algorithms.MajorityAlgorithmTest#engineNames")
+        @DisplayName("Null is an error, empty has no majority")
+        void testNullAndEmpty(String name) {
+            MajorityAlgorithm algorithm = MajorityAlgorithms.get(name);
+
+            assertTrue(algorithm.findMajorityElement(null).hasError());
+            BoyerMooreMajorityVote.Result empty = algorithm.findMajorityElement(new int[0]);
+            assertFalse(empty.hasError());
+            assertFalse(empty.hasMajority());
+        }
+
+        @ParameterizedTest
+        @MethodSource("algorithms.MajorityAlgorithmTest#engineNames")
+        @DisplayName("Metrics are populated")
+        void testMetrics(String name) {
+            int[] array = PrimitiveMajorityVote.generateTestArray(1000, true);
+            BoyerMooreMajorityVote.Metrics metrics = MajorityAlgorithms.get(name).findMajorityElement(array).getMetrics();
+
+            assertTrue(metrics.getArrayAccesses() > 0);
+            assertTrue(metrics.getComparisons() > 0);
+            assertTrue(metrics.getExecutionTimeNanos() >= 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Packed Entry Points")
+    class PackedEntryPoints {
+
+        @Test
+        @DisplayName("Packed results match the Result API")
+        void testPacked() {
+            int[] majority = {3, 1, 3, 2, 3};
+            int[] none = {1, 2, 3, 4};
+
+            assertEquals(3, HashCountingMajorityVote.findMajority(majority));
+            assertEquals(3, SortBasedMajorityVote.findMajority(majority));
+            assertEquals(3, DivideAndConquerMajorityVote.findMajority(majority));
+            assertEquals(3, RandomizedMajorityVote.findMajority(majority));
+
+            assertEquals(PrimitiveMajorityVote.NO_MAJORITY, HashCountingMajorityVote.findMajority(none));
+            assertEquals(PrimitiveMajorityVote.NO_MAJORITY, SortBasedMajorityVote.findMajority(none));
+            assertEquals(PrimitiveMajorityVote.NO_MAJORITY, DivideAndConquerMajorityVote.findMajority(none));
+            assertEquals(PrimitiveMajorityVote.NO_MAJORITY, RandomizedMajorityVote.findMajority(none));
+        }
+
+        @Test
+        @DisplayName("Sort-based engine leaves the input untouched")
+        void testSortCopies() {
+            int[] array = {5, 1, 5, 0, 5};
+            SortBasedMajorityVote.findMajorityElement(array);
+            assertArrayEquals(new int[]{5, 1, 5, 0, 5}, array);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Memory-Mapped File Majority Vote Tests")
+class MappedFileMajorityVoteTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeInts(int[] values) throws IOException {
+        Path file = tempDir.resolve("values.bin");
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(values);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return file;
+    }
+
+    @Test
+    @DisplayName("Majority across many small regions")
+    void testMultipleRegions() throws IOException {
+        int[] values = PrimitiveMajorityVote.generateTestArray(10001, true);
+        PrimitiveMajorityVote.shuffleArray(values);
+        Path file = writeInts(values);
+
+        for (boolean parallel : new boolean[]{true, false}) {
+            BoyerMooreMajorityVote.Result result = MappedFileMajorityVote.findMajorityElement(file, 4 * 100, parallel);
+
+            assertFalse(result.hasError());
+            assertTrue(result.hasMajority());
+            assertEquals(1, result.getMajorityElement());
+            assertTrue(result.getMetrics().getMemoryAllocations() > 100);
+        }
+    }
+
+    @Test
+    @DisplayName("No majority in file")
+    void testNoMajority() throws IOException {
+        Path file = writeInts(PrimitiveMajorityVote.generateTestArray(1000, false));
+        BoyerMooreMajorityVote.Result result = MappedFileMajorityVote.findMajorityElement(file);
+
+        assertFalse(result.hasError());
+        assertFalse(result.hasMajority());
+    }
+
+    @Test
+    @DisplayName("Values are read little-endian")
+    void testByteOrder() throws IOException {
+        Path file = writeInts(new int[]{0x01020304, 0x01020304, 7});
+        BoyerMooreMajorityVote.Result result = MappedFileMajorityVote.findMajorityElement(file, 4, false);
+
+        assertEquals(0x01020304, result.getMajorityElement());
+        assertTrue(result.hasMajority());
+    }
+
+    @Test
+    @DisplayName("Empty, truncated and missing files")
+    void testInvalidFiles() throws IOException {
+        Path empty = tempDir.resolve("empty.bin");
+        Files.createFile(empty);
+        assertFalse(MappedFileMajorityVote.findMajorityElement(empty).hasMajority());
+
+        Path truncated = tempDir.resolve("truncated.bin");
+        Files.write(truncated, new byte[]{1, 2, 3, 4, 5});
+        assertTrue(MappedFileMajorityVote.findMajorityElement(truncated).hasError());
+
+        assertTrue(MappedFileMajorityVote.findMajorityElement(tempDir.resolve("missing.bin")).hasError());
+        assertThrows(IllegalArgumentException.class,
+                () -> MappedFileMajorityVote.findMajorityElement(empty, 6, false));
+    }
+}
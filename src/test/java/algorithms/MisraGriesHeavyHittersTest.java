@@ -0,0 +1,141 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Misra-Gries Heavy Hitters Tests")
+class MisraGriesHeavyHittersTest {
+
+    private static TreeSet<Integer> bruteForce(int[] array, int k) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int value : array) {
+            counts.merge(value, 1, Integer::sum);
+        }
+        TreeSet<Integer> expected = new TreeSet<>();
+        counts.forEach((value, count) -> {
+            if (count > array.length / k) {
+                expected.add(value);
+            }
+        });
+        return expected;
+    }
+
+    private static TreeSet<Integer> asSet(int[] values) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    private static int[] skewedArray(int size, long seed) {
+        Random random = new Random(seed);
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            // Roughly geometric frequencies: a few heavy values and a long tail
+            array[i] = random.nextInt(4) == 0 ? random.nextInt(1000) : Integer.numberOfTrailingZeros(random.nextInt() | 1 << 12);
+        }
+        return array;
+    }
+
+    @Nested
+    @DisplayName("Heavy Hitters")
+    class HeavyHitters {
+
+        @Test
+        @DisplayName("Finds both values above n/3")
+        void testTwoHeavyHitters() {
+            int[] array = {1, 2, 1, 3, 2, 1, 2, 4, 1, 2};
+            MisraGriesHeavyHitters.Result result = MisraGriesHeavyHitters.findHeavyHitters(array, 3);
+
+            assertFalse(result.hasError());
+            assertArrayEquals(new int[]{1, 2}, java.util.Arrays.stream(result.getHeavyHitters()).sorted().toArray());
+            assertArrayEquals(new long[]{4, 4}, result.getFrequencies());
+        }
+
+        @Test
+        @DisplayName("k = 2 agrees with Boyer-Moore")
+        void testMajorityCase() {
+            for (boolean hasMajority : new boolean[]{true, false}) {
+                int[] array = PrimitiveMajorityVote.generateTestArray(1001, hasMajority);
+                PrimitiveMajorityVote.shuffleArray(array);
+
+                MisraGriesHeavyHitters.Result result = MisraGriesHeavyHitters.findHeavyHitters(array, 2);
+                assertEquals(hasMajority, result.hasHeavyHitters());
+                if (hasMajority) {
+                    assertArrayEquals(new int[]{1}, result.getHeavyHitters());
+                }
+            }
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {3, 5, 10, 100, 1000})
+        @DisplayName("Matches brute force, sequential and parallel")
+        void testMatchesBruteForce(int k) {
+            int[] array = skewedArray(300_000, k);
+            TreeSet<Integer> expected = bruteForce(array, k);
+
+            assertEquals(expected, asSet(MisraGriesHeavyHitters.findHeavyHitters(array, k, false).getHeavyHitters()));
+            assertEquals(expected, asSet(MisraGriesHeavyHitters.findHeavyHitters(array, k, true).getHeavyHitters()));
+        }
+
+        @Test
+        @DisplayName("Frequencies are in descending order")
+        void testOrdering() {
+            int[] array = {5, 5, 5, 7, 7, 7, 7, 9, 9, 9, 9, 9, 1, 2, 3};
+            MisraGriesHeavyHitters.Result result = MisraGriesHeavyHitters.findHeavyHitters(array, 5);
+
+            assertArrayEquals(new int[]{9, 7}, result.getHeavyHitters());
+            assertArrayEquals(new long[]{5, 4}, result.getFrequencies());
+        }
+    }
+
+    @Nested
+    @DisplayName("Summaries")
+    class Summaries {
+
+        @Test
+        @DisplayName("Merged summaries keep at most k-1 counters and every heavy hitter")
+        void testMerge() {
+            int[] array = skewedArray(50_000, 42);
+            int k = 4;
+            MisraGriesHeavyHitters.Summary left = new MisraGriesHeavyHitters.Summary(k);
+            MisraGriesHeavyHitters.Summary right = new MisraGriesHeavyHitters.Summary(k);
+            left.offer(array, 0, 20_000);
+            right.offer(array, 20_000, array.length);
+
+            MisraGriesHeavyHitters.Summary merged = left.merge(right);
+
+            assertTrue(merged.size() <= k - 1);
+            assertTrue(asSet(merged.getCandidates()).containsAll(bruteForce(array, k)));
+        }
+
+        @Test
+        @DisplayName("Invalid k and mismatched merges are rejected")
+        void testInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new MisraGriesHeavyHitters.Summary(1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new MisraGriesHeavyHitters.Summary(3).merge(new MisraGriesHeavyHitters.Summary(4)));
+            assertTrue(MisraGriesHeavyHitters.findHeavyHitters(null, 3).hasError());
+        }
+
+        @Test
+        @DisplayName("Empty input has no heavy hitters")
+        void testEmpty() {
+            MisraGriesHeavyHitters.Result result = MisraGriesHeavyHitters.findHeavyHitters(new int[0], 3);
+            assertFalse(result.hasError());
+            assertFalse(result.hasHeavyHitters());
+        }
+    }
+}
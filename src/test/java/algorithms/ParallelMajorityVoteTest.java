@@ -0,0 +1,98 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Parallel Majority Vote Tests")
+class ParallelMajorityVoteTest {
+
+    @Nested
+    @DisplayName("Summary Merging")
+    class SummaryMerging {
+
+        @Test
+        @DisplayName("Merging chunk summaries matches a single pass")
+        void testMergeMatchesSinglePass() {
+            int[] array = {3, 3, 1, 2, 3, 3, 4, 3, 3, 5, 3};
+            MajoritySummary whole = MajoritySummary.of(array, 0, array.length);
+
+            for (int split = 0; split <= array.length; split++) {
+                MajoritySummary merged = MajoritySummary.of(array, 0, split)
+                        .merge(MajoritySummary.of(array, split, array.length));
+                assertEquals(whole.getCandidate(), merged.getCandidate());
+            }
+        }
+
+        @Test
+        @DisplayName("Equal counts cancel out")
+        void testCancel() {
+            MajoritySummary merged = new MajoritySummary(1, 4).merge(new MajoritySummary(2, 4));
+            assertTrue(merged.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Empty summary is the identity")
+        void testIdentity() {
+            MajoritySummary summary = new MajoritySummary(7, 3);
+            assertSame(summary, summary.merge(MajoritySummary.EMPTY));
+            assertSame(summary, MajoritySummary.EMPTY.merge(summary));
+        }
+    }
+
+    @Nested
+    @DisplayName("Fork/Join Engine")
+    class ForkJoinEngine {
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 17, 1000, 100001})
+        @DisplayName("Agrees with the sequential engine for small thresholds")
+        void testAgreesWithSequential(int size) {
+            for (boolean hasMajority : new boolean[]{true, false}) {
+                int[] array = PrimitiveMajorityVote.generateTestArray(size, hasMajority);
+                PrimitiveMajorityVote.shuffleArray(array);
+
+                BoyerMooreMajorityVote.Result expected = PrimitiveMajorityVote.findMajorityElement(array);
+                BoyerMooreMajorityVote.Result actual = ParallelMajorityVote.findMajorityElement(array, 16);
+
+                assertFalse(actual.hasError());
+                assertEquals(expected.hasMajority(), actual.hasMajority());
+                if (expected.hasMajority()) {
+                    assertEquals(expected.getMajorityElement(), actual.getMajorityElement());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Runs in a caller-supplied pool")
+        void testCustomPool() {
+            ForkJoinPool pool = new ForkJoinPool(2);
+            try {
+                int[] array = PrimitiveMajorityVote.generateTestArray(50000, true);
+                BoyerMooreMajorityVote.Result result = ParallelMajorityVote.findMajorityElement(array, 1024, pool);
+
+                assertTrue(result.hasMajority());
+                assertEquals(1, result.getMajorityElement());
+                assertEquals(100000, result.getMetrics().getArrayAccesses());
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Null input and invalid threshold")
+        void testInvalidInput() {
+            assertTrue(ParallelMajorityVote.findMajorityElement(null).hasError());
+            assertFalse(ParallelMajorityVote.findMajorityElement(new int[0]).hasMajority());
+            assertThrows(IllegalArgumentException.class,
+                    () -> ParallelMajorityVote.findMajorityElement(new int[]{1}, 0));
+        }
+    }
+}
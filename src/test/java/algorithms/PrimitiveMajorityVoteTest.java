@@ -0,0 +1,154 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Primitive Majority Vote Tests")
+class PrimitiveMajorityVoteTest {
+
+    @Nested
+    @DisplayName("Packed int[] Results")
+    class PackedResults {
+
+        @Test
+        @DisplayName("Null and empty arrays have no majority")
+        void testNullAndEmpty() {
+            assertEquals(PrimitiveMajorityVote.NO_MAJORITY, PrimitiveMajorityVote.findMajority((int[]) null));
+            assertEquals(PrimitiveMajorityVote.NO_MAJORITY, PrimitiveMajorityVote.findMajority(new int[0]));
+        }
+
+        @Test
+        @DisplayName("Majority element is unpacked")
+        void testMajority() {
+            long packed = PrimitiveMajorityVote.findMajority(new int[]{2, 2, 1, 1, 1, 2, 2});
+
+            assertTrue(PrimitiveMajorityVote.isMajority(packed));
+            assertEquals(2, PrimitiveMajorityVote.unpackInt(packed));
+        }
+
+        @Test
+        @DisplayName("Extreme int values round-trip")
+        void testExtremeValues() {
+            long packed = PrimitiveMajorityVote.findMajority(new int[]{Integer.MIN_VALUE, Integer.MIN_VALUE, 0});
+            assertEquals(Integer.MIN_VALUE, PrimitiveMajorityVote.unpackInt(packed));
+        }
+
+        @Test
+        @DisplayName("No majority: [1,1,2,2]")
+        void testNoMajority() {
+            long packed = PrimitiveMajorityVote.findMajority(new int[]{1, 1, 2, 2});
+
+            assertFalse(PrimitiveMajorityVote.isMajority(packed));
+            assertThrows(IllegalStateException.class, () -> PrimitiveMajorityVote.unpackInt(packed));
+        }
+    }
+
+    @Nested
+    @DisplayName("Holder Results")
+    class HolderResults {
+
+        @Test
+        @DisplayName("long[] majority")
+        void testLongArray() {
+            PrimitiveMajorityVote.Holder holder = new PrimitiveMajorityVote.Holder();
+
+            assertTrue(PrimitiveMajorityVote.findMajority(new long[]{Long.MAX_VALUE, 3L, Long.MAX_VALUE}, holder));
+            assertEquals(Long.MAX_VALUE, holder.getValue());
+            assertTrue(holder.hasMajority());
+
+            assertFalse(PrimitiveMajorityVote.findMajority(new long[]{1L, 2L, 3L}, holder));
+            assertFalse(holder.hasMajority());
+        }
+
+        @Test
+        @DisplayName("short[] majority")
+        void testShortArray() {
+            PrimitiveMajorityVote.Holder holder = new PrimitiveMajorityVote.Holder();
+
+            assertTrue(PrimitiveMajorityVote.findMajority(new short[]{-7, -7, 4}, holder));
+            assertEquals(-7, holder.getValue());
+            assertFalse(PrimitiveMajorityVote.findMajority(new short[]{1, 2}, holder));
+        }
+    }
+
+    @Nested
+    @DisplayName("Agreement with Boxed Engine")
+    class BoxedAgreement {
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 3, 10, 101, 10000})
+        @DisplayName("Same answer and same metrics as Integer[] engine")
+        void testMatchesBoxed(int size) {
+            for (boolean hasMajority : new boolean[]{true, false}) {
+                int[] primitive = PrimitiveMajorityVote.generateTestArray(size, hasMajority);
+                PrimitiveMajorityVote.shuffleArray(primitive);
+                Integer[] boxed = java.util.Arrays.stream(primitive).boxed().toArray(Integer[]::new);
+
+                BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(boxed);
+                BoyerMooreMajorityVote.Result actual = PrimitiveMajorityVote.findMajorityElement(primitive);
+
+                assertEquals(expected.hasMajority(), actual.hasMajority());
+                if (expected.hasMajority()) {
+                    assertEquals(expected.getMajorityElement(), actual.getMajorityElement());
+                }
+                assertEquals(expected.getMetrics().getArrayAccesses(), actual.getMetrics().getArrayAccesses());
+                assertEquals(expected.getMetrics().getComparisons(), actual.getMetrics().getComparisons());
+            }
+        }
+
+        @Test
+        @DisplayName("Null input reports an error")
+        void testNullInput() {
+            BoyerMooreMajorityVote.Result result = PrimitiveMajorityVote.findMajorityElement(null);
+
+            assertTrue(result.hasError());
+            assertEquals("Input array cannot be null", result.getErrorMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sorted Input")
+    class SortedInput {
+
+        @Test
+        @DisplayName("Declared and detected sorted input match the two-pass vote")
+        void testSortedModes() {
+            for (int size : new int[]{2, 3, 64, 65, 1000, 1001}) {
+                for (boolean hasMajority : new boolean[]{true, false}) {
+                    int[] array = PrimitiveMajorityVote.generateTestArray(size, hasMajority);
+                    Arrays.sort(array);
+                    long expected = PrimitiveMajorityVote.findMajority(array);
+
+                    for (BoyerMooreMajorityVote.InputOrder order : BoyerMooreMajorityVote.InputOrder.values()) {
+                        BoyerMooreMajorityVote.Result result = PrimitiveMajorityVote.findMajorityElement(array, order);
+                        assertEquals(PrimitiveMajorityVote.isMajority(expected), result.hasMajority(), order + " size " + size);
+                        if (result.hasMajority()) {
+                            assertEquals((int) expected, result.getMajorityElement());
+                        }
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Declared sorted path records the avoided scan")
+        void testAvoidedWork() {
+            int[] array = PrimitiveMajorityVote.generateTestArray(1 << 20, false);
+            Arrays.sort(array);
+
+            BoyerMooreMajorityVote.Metrics metrics =
+                    PrimitiveMajorityVote.findMajorityElement(array, BoyerMooreMajorityVote.InputOrder.SORTED).getMetrics();
+
+            assertTrue(metrics.getArrayAccesses() <= 22, "accesses: " + metrics.getArrayAccesses());
+            assertTrue(metrics.getAvoidedArrayAccesses() > 2L * array.length - 30);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Range Majority Index Tests")
+class RangeMajorityIndexTest {
+
+    @Nested
+    @DisplayName("Range Queries")
+    class RangeQueries {
+
+        @Test
+        @DisplayName("Matches a scan of every subarray")
+        void testAllRanges() {
+            Random random = new Random(7);
+            int[] array = new int[64];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = random.nextInt(3) - 1;
+            }
+            RangeMajorityIndex index = new RangeMajorityIndex(array);
+
+            for (int left = 0; left < array.length; left++) {
+                for (int right = left; right < array.length; right++) {
+                    long expected = PrimitiveMajorityVote.findMajority(Arrays.copyOfRange(array, left, right + 1));
+                    assertEquals(expected, index.query(left, right), "range [" + left + ", " + right + "]");
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Whole-array query agrees with Boyer-Moore")
+        void testWholeArray() {
+            int[] array = PrimitiveMajorityVote.generateTestArray(10001, true);
+            PrimitiveMajorityVote.shuffleArray(array);
+            RangeMajorityIndex index = new RangeMajorityIndex(array);
+
+            assertTrue(index.hasMajority(0, array.length - 1));
+            assertEquals(1, PrimitiveMajorityVote.unpackInt(index.query(0, array.length - 1)));
+        }
+
+        @Test
+        @DisplayName("Single element ranges are their own majority")
+        void testSingleElement() {
+            RangeMajorityIndex index = new RangeMajorityIndex(new int[]{Integer.MIN_VALUE, 0, Integer.MAX_VALUE});
+
+            assertEquals(Integer.MIN_VALUE, index.query(0, 0));
+            assertEquals(Integer.MAX_VALUE, index.query(2, 2));
+            assertFalse(index.hasMajority(0, 2));
+        }
+
+        @Test
+        @DisplayName("Frequency counts within a range")
+        void testFrequency() {
+            RangeMajorityIndex index = new RangeMajorityIndex(new int[]{4, 1, 4, 4, 2, 4});
+
+            assertEquals(3, index.frequency(4, 0, 3));
+            assertEquals(1, index.frequency(2, 1, 5));
+            assertEquals(0, index.frequency(9, 0, 5));
+        }
+    }
+
+    @Nested
+    @DisplayName("Index Properties")
+    class IndexProperties {
+
+        @Test
+        @DisplayName("Reports size, distinct values and footprint")
+        void testProperties() {
+            RangeMajorityIndex index = new RangeMajorityIndex(new int[]{5, 5, 6, 7, 5});
+
+            assertEquals(5, index.size());
+            assertEquals(3, index.distinctValues());
+            assertTrue(index.memoryFootprintBytes() > 0);
+            assertTrue(index.getBuildTimeNanos() >= 0);
+        }
+
+        @Test
+        @DisplayName("Invalid ranges and null input are rejected")
+        void testInvalidInput() {
+            RangeMajorityIndex index = new RangeMajorityIndex(new int[]{1, 2, 3});
+
+            assertThrows(IndexOutOfBoundsException.class, () -> index.query(2, 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> index.query(0, 3));
+            assertThrows(NullPointerException.class, () -> new RangeMajorityIndex(null));
+        }
+    }
+}
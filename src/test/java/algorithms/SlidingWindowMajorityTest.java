@@ -0,0 +1,72 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Sliding Window Majority Tests")
+class SlidingWindowMajorityTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5, 64})
+    @DisplayName("Matches a rescan of the window after every arrival")
+    void testMatchesRescan(int windowSize) {
+        Random random = new Random(windowSize);
+        int[] stream = new int[3000];
+        for (int i = 0; i < stream.length; i++) {
+            // Bursts of a dominant value mixed with noise from a small domain
+            stream[i] = (i / 200) % 2 == 0 && random.nextInt(3) > 0 ? 7 : random.nextInt(4);
+        }
+
+        SlidingWindowMajority slidingWindow = new SlidingWindowMajority(windowSize);
+        for (int i = 0; i < stream.length; i++) {
+            slidingWindow.accept(stream[i]);
+
+            int from = Math.max(0, i - windowSize + 1);
+            long expected = PrimitiveMajorityVote.findMajority(Arrays.copyOfRange(stream, from, i + 1));
+            assertEquals(expected, slidingWindow.majority(), "after element " + i);
+        }
+
+        assertEquals(stream.length, slidingWindow.getTotal());
+        assertEquals(Math.min(windowSize, stream.length), slidingWindow.size());
+    }
+
+    @Test
+    @DisplayName("Frequencies track evictions")
+    void testFrequencies() {
+        SlidingWindowMajority slidingWindow = new SlidingWindowMajority(3);
+        slidingWindow.accept(new int[]{1, 1, 2, 3}, 0, 4);
+
+        assertEquals(1, slidingWindow.frequency(1));
+        assertEquals(1, slidingWindow.frequency(2));
+        assertEquals(3, slidingWindow.distinctValues());
+        assertFalse(slidingWindow.hasMajority());
+        assertThrows(IllegalStateException.class, slidingWindow::getMajority);
+    }
+
+    @Test
+    @DisplayName("Reset clears the window")
+    void testReset() {
+        SlidingWindowMajority slidingWindow = new SlidingWindowMajority(4);
+        slidingWindow.accept(5);
+        assertEquals(5, slidingWindow.getMajority());
+
+        slidingWindow.reset();
+        assertEquals(0, slidingWindow.size());
+        assertEquals(0, slidingWindow.frequency(5));
+        assertFalse(slidingWindow.hasMajority());
+    }
+
+    @Test
+    @DisplayName("Window size must be positive")
+    void testInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowMajority(0));
+    }
+}
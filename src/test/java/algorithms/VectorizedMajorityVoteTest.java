@@ -0,0 +1,69 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Vectorized Majority Vote Tests")
+class VectorizedMajorityVoteTest {
+
+    @Test
+    @DisplayName("Vector API is active under the test configuration")
+    void testVectorAvailable() {
+        // surefire runs with --add-modules jdk.incubator.vector
+        assertTrue(VectorizedMajorityVote.isVectorAvailable());
+        assertTrue(VectorizedMajorityVote.laneCount() > 1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 8, 9, 4095, 4096, 4097, 100_003})
+    @DisplayName("SIMD kernels match the scalar references across tail lengths")
+    void testMatchesScalar(int size) {
+        Random random = new Random(size);
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = random.nextInt(3) == 0 ? -5 : random.nextInt();
+        }
+
+        assertEquals(VectorizedMajorityVote.countOccurrencesScalar(array, -5),
+                VectorizedMajorityVote.countOccurrences(array, -5));
+        assertEquals(VectorizedMajorityVote.bitwiseCandidateScalar(array),
+                VectorizedMajorityVote.bitwiseCandidate(array));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 100, 10_001})
+    @DisplayName("Agrees with Boyer-Moore")
+    void testAgreesWithBoyerMoore(int size) {
+        for (boolean hasMajority : new boolean[]{true, false}) {
+            int[] array = PrimitiveMajorityVote.generateTestArray(size, hasMajority);
+            PrimitiveMajorityVote.shuffleArray(array);
+
+            assertEquals(PrimitiveMajorityVote.findMajority(array), VectorizedMajorityVote.findMajority(array));
+        }
+    }
+
+    @Test
+    @DisplayName("Negative majority is rebuilt from its bits")
+    void testNegativeMajority() {
+        int[] array = {Integer.MIN_VALUE, -1, Integer.MIN_VALUE, 12, Integer.MIN_VALUE};
+        BoyerMooreMajorityVote.Result result = VectorizedMajorityVote.findMajorityElement(array);
+
+        assertTrue(result.hasMajority());
+        assertEquals(Integer.MIN_VALUE, result.getMajorityElement());
+    }
+
+    @Test
+    @DisplayName("Null and empty input")
+    void testNullAndEmpty() {
+        assertTrue(VectorizedMajorityVote.findMajorityElement(null).hasError());
+        assertFalse(VectorizedMajorityVote.findMajorityElement(new int[0]).hasMajority());
+        assertEquals(PrimitiveMajorityVote.NO_MAJORITY, VectorizedMajorityVote.findMajority(new int[0]));
+    }
+}
@@ -0,0 +1,157 @@
+package algorithms;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Weighted Majority Vote Tests")
+class WeightedMajorityVoteTest {
+
+    /**
+     * Value holding more than half of the total weight, or null
+     */
+    private static Integer bruteForce(int[] values, long[] weights) {
+        Map<Integer, Long> totals = new HashMap<>();
+        long total = 0;
+        for (int i = 0; i < values.length; i++) {
+            totals.merge(values[i], weights[i], Long::sum);
+            total += weights[i];
+        }
+        for (Map.Entry<Integer, Long> entry : totals.entrySet()) {
+            if (entry.getValue() > total - entry.getValue()) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    @Nested
+    @DisplayName("Batch")
+    class Batch {
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 17, 1000, 300_000})
+        @DisplayName("Matches a brute-force weight tally, sequential and parallel")
+        void testMatchesBruteForce(int size) {
+            Random random = new Random(size);
+            for (int trial = 0; trial < 4; trial++) {
+                int[] values = new int[size];
+                long[] weights = new long[size];
+                for (int i = 0; i < size; i++) {
+                    values[i] = random.nextInt(4);
+                    // Value 0 gets heavier votes in later trials, crossing the majority line
+                    weights[i] = random.nextInt(1000) + (values[i] == 0 ? trial * 1000L : 0);
+                }
+
+                Integer expected = bruteForce(values, weights);
+                for (boolean parallel : new boolean[]{false, true}) {
+                    BoyerMooreMajorityVote.Result result = WeightedMajorityVote.findMajorityElement(values, weights, parallel);
+                    assertFalse(result.hasError());
+                    assertEquals(expected != null, result.hasMajority(), "trial " + trial);
+                    if (expected != null) {
+                        assertEquals(expected, result.getMajorityElement());
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("One heavy vote outweighs many light ones")
+        void testHeavyVote() {
+            int[] values = {1, 2, 2, 2, 2};
+            long[] weights = {9, 2, 2, 2, 2};
+            BoyerMooreMajorityVote.Result result = WeightedMajorityVote.findMajorityElement(values, weights);
+            assertTrue(result.hasMajority());
+            assertEquals(1, result.getMajorityElement());
+
+            // Exactly half of the weight is not a majority
+            weights[0] = 8;
+            assertFalse(WeightedMajorityVote.findMajorityElement(values, weights).hasMajority());
+        }
+
+        @Test
+        @DisplayName("Zero weights and empty input")
+        void testZeroWeights() {
+            assertFalse(WeightedMajorityVote.findMajorityElement(new int[]{1, 2}, new long[]{0, 0}).hasMajority());
+            assertTrue(WeightedMajorityVote.findMajorityElement(new int[]{1, 2}, new long[]{0, 1}).hasMajority());
+            assertFalse(WeightedMajorityVote.findMajorityElement(new int[0], new long[0]).hasMajority());
+        }
+
+        @Test
+        @DisplayName("Invalid input is reported")
+        void testInvalid() {
+            assertTrue(WeightedMajorityVote.findMajorityElement(null, new long[0]).hasError());
+            assertTrue(WeightedMajorityVote.findMajorityElement(new int[2], new long[1]).hasError());
+            assertTrue(WeightedMajorityVote.findMajorityElement(new int[]{1, 1}, new long[]{5, -1}).hasError());
+            assertTrue(WeightedMajorityVote.findMajorityElement(new int[]{1, 2}, new long[]{Long.MAX_VALUE, 1}).hasError());
+
+            long[] weights = new long[200_000];
+            Arrays.fill(weights, 1);
+            weights[150_000] = -1;
+            assertTrue(WeightedMajorityVote.findMajorityElement(new int[weights.length], weights, true).hasError());
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming")
+    class Streaming {
+
+        @Test
+        @DisplayName("Split feeds combine to the batch candidate")
+        void testCombine() {
+            Random random = new Random(20);
+            int size = 10_000;
+            int[] values = new int[size];
+            long[] weights = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt(100) < 40 ? 7 : random.nextInt(50);
+                weights[i] = values[i] == 7 ? 3 : 1 + random.nextInt(2);
+            }
+
+            WeightedMajorityAccumulator whole = new WeightedMajorityAccumulator();
+            whole.accept(values, weights, 0, size);
+            WeightedMajorityAccumulator left = new WeightedMajorityAccumulator();
+            left.accept(values, weights, 0, 3333);
+            WeightedMajorityAccumulator right = new WeightedMajorityAccumulator();
+            right.accept(values, weights, 3333, size - 3333);
+            left.combine(right);
+
+            assertEquals(whole.getTotalWeight(), left.getTotalWeight());
+            assertEquals(7, whole.getCandidate());
+            assertEquals(7, left.getCandidate());
+            assertEquals(WeightedMajorityVote.summarize(values, weights, 0, size).getCandidate(), whole.getCandidate());
+        }
+
+        @Test
+        @DisplayName("Confirmed only when the surplus proves it")
+        void testConfirmed() {
+            WeightedMajorityAccumulator accumulator = new WeightedMajorityAccumulator();
+            assertFalse(accumulator.hasCandidate());
+            assertThrows(IllegalStateException.class, accumulator::getCandidate);
+
+            accumulator.accept(5, 10);
+            accumulator.accept(6, 2);
+            assertTrue(accumulator.isConfirmedMajority());
+            assertEquals(8, accumulator.getWeight());
+
+            accumulator.accept(6, 8);
+            assertFalse(accumulator.hasCandidate());
+            assertFalse(accumulator.isConfirmedMajority());
+            assertEquals(20, accumulator.getTotalWeight());
+
+            assertThrows(IllegalArgumentException.class, () -> accumulator.accept(1, -1));
+            accumulator.reset();
+            assertEquals(0, accumulator.getTotalWeight());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package metrics;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Latency Histogram Tests")
+class LatencyHistogramTest {
+
+    @Nested
+    @DisplayName("Histogram")
+    class Histogram {
+
+        @Test
+        @DisplayName("Percentiles are within the relative precision of exact order statistics")
+        void testPercentiles() {
+            Random random = new Random(23);
+            long[] values = new long[100_000];
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 0; i < values.length; i++) {
+                // Log-uniform from 1 ns to about 1 s
+                values[i] = (long) Math.exp(random.nextDouble() * Math.log(1e9));
+                histogram.record(values[i]);
+            }
+            Arrays.sort(values);
+
+            double tolerance = 1.0 / (1 << LatencyHistogram.DEFAULT_PRECISION_BITS);
+            for (double percentile : new double[]{0, 50, 90, 99, 99.9, 100}) {
+                long exact = values[Math.max(0, (int) Math.ceil(percentile / 100 * values.length) - 1)];
+                long estimate = histogram.valueAtPercentile(percentile);
+                assertTrue(estimate >= exact, "p" + percentile);
+                assertTrue(estimate <= exact + Math.max(1, exact * tolerance), "p" + percentile);
+            }
+            assertEquals(values[0], histogram.getMin());
+            assertEquals(values[values.length - 1], histogram.getMax());
+            assertEquals(values.length, histogram.getTotalCount());
+        }
+
+        @Test
+        @DisplayName("Small values are exact and extremes are accepted")
+        void testExactRange() {
+            LatencyHistogram histogram = new LatencyHistogram(3);
+            for (long v = 0; v < 8; v++) {
+                histogram.record(v);
+            }
+            assertEquals(3, histogram.valueAtPercentile(50));
+            histogram.record(Long.MAX_VALUE);
+            assertEquals(Long.MAX_VALUE, histogram.valueAtPercentile(100));
+            assertEquals(0, new LatencyHistogram().valueAtPercentile(99));
+        }
+
+        @Test
+        @DisplayName("Merging equals recording into one histogram, also through the encoding")
+        void testMerge() {
+            LatencyHistogram whole = new LatencyHistogram();
+            LatencyHistogram left = new LatencyHistogram();
+            LatencyHistogram right = new LatencyHistogram();
+            Random random = new Random(7);
+            for (int i = 0; i < 10_000; i++) {
+                long value = random.nextInt(1_000_000);
+                whole.record(value);
+                (i % 3 == 0 ? left : right).record(value);
+            }
+
+            LatencyHistogram merged = LatencyHistogram.decode(left.encode()).merge(LatencyHistogram.decode(right.encode()));
+            assertArrayEquals(whole.encode(), merged.encode());
+            assertEquals(whole.toString(), merged.toString());
+
+            assertThrows(IllegalArgumentException.class, () -> whole.merge(new LatencyHistogram(4)));
+            assertThrows(IllegalArgumentException.class, () -> LatencyHistogram.decode(new byte[3]));
+        }
+
+        @Test
+        @DisplayName("Buckets are allocated only over the recorded range")
+        void testLazyBuckets() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            assertEquals(0, histogram.footprintBytes());
+
+            // 1 us to 4 us: two octaves, 256 buckets plus slack
+            for (long v = 1_000; v <= 4_000; v += 7) {
+                histogram.record(v);
+            }
+            long narrow = histogram.footprintBytes();
+            assertTrue(narrow > 0 && narrow <= 1024 * Long.BYTES, "footprint: " + narrow);
+
+            histogram.record(1);
+            histogram.record(1_000_000_000L);
+            assertEquals(1, histogram.valueAtPercentile(0));
+            assertEquals(1_000_000_000L, histogram.valueAtPercentile(100));
+            assertEquals(histogram.toString(), LatencyHistogram.decode(histogram.encode()).toString());
+        }
+
+        @Test
+        @DisplayName("Invalid arguments")
+        void testInvalid() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+            assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(101));
+            assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Running Statistics")
+    class Statistics {
+
+        @Test
+        @DisplayName("Matches two-pass mean and variance, also when merged")
+        void testWelford() {
+            Random random = new Random(11);
+            double[] values = new double[10_000];
+            RunningStatistics whole = new RunningStatistics();
+            RunningStatistics left = new RunningStatistics();
+            RunningStatistics right = new RunningStatistics();
+            for (int i = 0; i < values.length; i++) {
+                // Large offset: the naive sum-of-squares formula loses most digits here
+                values[i] = 1e9 + random.nextGaussian();
+                whole.add(values[i]);
+                (i < 4000 ? left : right).add(values[i]);
+            }
+
+            double mean = Arrays.stream(values).average().orElseThrow();
+            double variance = Arrays.stream(values).map(v -> (v - mean) * (v - mean)).average().orElseThrow();
+
+            for (RunningStatistics statistics : new RunningStatistics[]{whole, left.merge(right)}) {
+                assertEquals(values.length, statistics.getCount());
+                assertEquals(mean, statistics.getMean(), 1e-5);
+                assertEquals(variance, statistics.getVariance(), 1e-6);
+                assertEquals(Arrays.stream(values).min().orElseThrow(), statistics.getMin());
+                assertEquals(Arrays.stream(values).max().orElseThrow(), statistics.getMax());
+            }
+        }
+
+        @Test
+        @DisplayName("Empty statistics report zeros")
+        void testEmpty() {
+            RunningStatistics statistics = new RunningStatistics();
+            assertEquals(0.0, statistics.getMean());
+            assertEquals(0.0, statistics.getStandardDeviation());
+            assertEquals(0.0, statistics.getMin());
+            statistics.merge(new RunningStatistics());
+            assertEquals(0, statistics.getCount());
+        }
+    }
+}
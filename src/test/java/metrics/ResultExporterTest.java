@@ -0,0 +1,169 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Result Exporter Tests")
+class ResultExporterTest {
+
+    @TempDir
+    Path directory;
+
+    private static ResultStore store(long seed) {
+        Random random = new Random(seed);
+        ResultStore store = new ResultStore();
+        String[] names = {"BoyerMoore", "Primitive[SORTED]", "Odd, \"quoted\"\tname"};
+        for (String name : names) {
+            for (int size : new int[]{10, 1_000}) {
+                List<PerformanceTracker.PerformanceResult> runs = new ArrayList<>();
+                for (int i = 0; i < 300; i++) {
+                    long nanos = i == 0 ? 999 : 1 + random.nextInt(Integer.MAX_VALUE);
+                    runs.add(new PerformanceTracker.PerformanceResult(size, nanos, random.nextInt(2 * size),
+                            2L * size, random.nextInt(3), random.nextBoolean(), name, 1_700_000_000_000L + i));
+                }
+                store.addAll(name, size, true, runs);
+            }
+        }
+        return store;
+    }
+
+    @Test
+    @DisplayName("CSV file matches the in-memory CSV export")
+    void testCsvMatchesTracker() throws IOException {
+        PerformanceTracker tracker = new PerformanceTracker();
+        tracker.benchmarkBoyerMoore(100, true, 5, PerformanceTracker.WarmupPolicy.NONE);
+        tracker.benchmarkPrimitive(100, false, 5);
+
+        Path file = directory.resolve("results.csv");
+        long rows = tracker.exportResults(file, ResultExporter.Format.CSV);
+
+        assertEquals(tracker.getResultStore().getRunCount(), rows);
+        assertEquals(tracker.exportToCSV(), Files.readString(file));
+    }
+
+    @Test
+    @DisplayName("JSON Lines carry one escaped object per run")
+    void testJsonLines() throws IOException {
+        ResultStore store = store(1);
+        Path file = directory.resolve("results.jsonl");
+        // A small buffer forces many flushes
+        long rows = new ResultExporter(256).export(store, file, ResultExporter.Format.JSON_LINES);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(store.getRunCount(), rows);
+        assertEquals(rows, lines.size());
+
+        List<String> expected = new ArrayList<>();
+        store.forEachRow((name, size, nanos, comparisons, accesses, allocations, hasMajority, timestamp) ->
+                expected.add(String.format("{\"algorithm\":\"%s\",\"inputSize\":%d,\"executionTimeNanos\":%d,"
+                                + "\"comparisons\":%d,\"arrayAccesses\":%d,\"memoryAllocations\":%d,"
+                                + "\"hasMajority\":%s,\"timestamp\":%d}",
+                        name.replace("\"", "\\\"").replace("\t", "\\u0009"), size, nanos, comparisons,
+                        accesses, allocations, hasMajority, timestamp)));
+        assertEquals(expected, lines);
+    }
+
+    @Test
+    @DisplayName("CSV quotes names holding separators")
+    void testCsvQuoting() throws IOException {
+        ResultStore store = store(2);
+        Path file = directory.resolve("results.csv");
+        new ResultExporter().export(store, file, ResultExporter.Format.CSV);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(ResultExporter.CSV_HEADER.trim(), lines.get(0));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("\"Odd, \"\"quoted\"\"\tname\",")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("BoyerMoore,10,0.000999,")));
+    }
+
+    @Test
+    @DisplayName("Binary export reads back row for row")
+    void testBinaryRoundTrip() throws IOException {
+        ResultStore store = store(3);
+        Path file = directory.resolve("results.bin");
+        ResultExporter exporter = new ResultExporter(512);
+        long rows = exporter.export(store, file, ResultExporter.Format.BINARY);
+
+        List<String> expected = new ArrayList<>();
+        store.forEachRow((name, size, nanos, comparisons, accesses, allocations, hasMajority, timestamp) ->
+                expected.add(String.join("|", name, "" + size, "" + nanos, "" + comparisons, "" + accesses,
+                        "" + allocations, "" + hasMajority, "" + timestamp)));
+        List<String> actual = new ArrayList<>();
+        long read = exporter.readBinary(file, (name, size, nanos, comparisons, accesses, allocations, hasMajority,
+                                               timestamp) ->
+                actual.add(String.join("|", name, "" + size, "" + nanos, "" + comparisons, "" + accesses,
+                        "" + allocations, "" + hasMajority, "" + timestamp)));
+
+        assertEquals(rows, read);
+        assertEquals(expected, actual);
+        // Header, three name definitions and 50 bytes per row
+        long names = 3 * (1 + 4 + 2) + "BoyerMoore".length() + "Primitive[SORTED]".length()
+                + "Odd, \"quoted\"\tname".length();
+        assertEquals(16 + names + 50 * rows, Files.size(file));
+    }
+
+    @Test
+    @DisplayName("Names longer than the buffer read back through the smallest buffer")
+    void testLongName() throws IOException {
+        String name = "Engine-" + "x".repeat(3 * ResultExporter.MAX_FIXED_ROW_BYTES);
+        ResultStore store = new ResultStore();
+        store.addAll(name, 10, true, List.of(
+                new PerformanceTracker.PerformanceResult(10, 1_234, 9, 20, 0, true, name, 1_700_000_000_000L)));
+        Path file = directory.resolve("results.bin");
+        ResultExporter exporter = new ResultExporter(ResultExporter.MAX_FIXED_ROW_BYTES);
+        exporter.export(store, file, ResultExporter.Format.BINARY);
+
+        List<String> names = new ArrayList<>();
+        long read = exporter.readBinary(file, (algorithm, size, nanos, comparisons, accesses, allocations,
+                                               hasMajority, timestamp) -> names.add(algorithm + "|" + nanos));
+        assertEquals(1, read);
+        assertEquals(List.of(name + "|1234"), names);
+    }
+
+    @Test
+    @DisplayName("Corrupt, truncated and empty inputs")
+    void testInvalid() throws IOException {
+        ResultExporter exporter = new ResultExporter();
+        Path file = directory.resolve("results.bin");
+        exporter.export(store(4), file, ResultExporter.Format.BINARY);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 7));
+        assertThrows(IOException.class, () -> exporter.readBinary(file, (a, b, c, d, e, f, g, h) -> { }));
+        bytes[0] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> exporter.readBinary(file, (a, b, c, d, e, f, g, h) -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new ResultExporter(16));
+
+        assertEquals(0, exporter.export(new ResultStore(), file, ResultExporter.Format.BINARY));
+        assertEquals(0, exporter.readBinary(file, (a, b, c, d, e, f, g, h) -> fail()));
+        assertEquals(0, exporter.export(new ResultStore(), file, ResultExporter.Format.JSON_LINES));
+        assertEquals(0, Files.size(file));
+    }
+
+    @Test
+    @DisplayName("Export benchmark reports every format and row count")
+    void testBenchmark() throws IOException {
+        Map<String, PerformanceTracker.ThroughputReport> reports =
+                new PerformanceTracker().benchmarkExport(directory, new int[]{100, 1_000});
+        assertEquals(6, reports.size());
+        assertEquals(1_000, reports.get("BINARY rows=1000").getOperations());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Result Store Tests")
+class ResultStoreTest {
+
+    private static List<PerformanceTracker.PerformanceResult> runs(String name, int size, int count, long seed) {
+        Random random = new Random(seed);
+        List<PerformanceTracker.PerformanceResult> runs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            runs.add(new PerformanceTracker.PerformanceResult(size, 1_000 + random.nextInt(1_000_000),
+                    random.nextInt(2 * size), 2L * size, 1, random.nextBoolean(), name, 1_700_000_000_000L + i));
+        }
+        return runs;
+    }
+
+    @Test
+    @DisplayName("Summary from running aggregates matches one built from the run list")
+    void testSummaryMatchesList() {
+        ResultStore store = new ResultStore();
+        List<PerformanceTracker.PerformanceResult> withMajority = runs("A", 100, 1000, 1);
+        List<PerformanceTracker.PerformanceResult> withoutMajority = runs("A", 100, 37, 2);
+        store.addAll("A", 100, true, withMajority);
+        store.addAll("A", 100, false, withoutMajority);
+        store.addAll("A", 200, true, runs("A", 200, 5, 3));
+        store.addAll("B", 100, true, runs("B", 100, 5, 4));
+
+        List<PerformanceTracker.PerformanceResult> all = new ArrayList<>(withMajority);
+        all.addAll(withoutMajority);
+        PerformanceTracker.PerformanceSummary expected = new PerformanceTracker.PerformanceSummary("A", 100, all);
+        PerformanceTracker.PerformanceSummary actual = store.getSummary("A", 100);
+
+        assertEquals(expected.getRunCount(), actual.getRunCount());
+        assertEquals(expected.getAvgExecutionTime(), actual.getAvgExecutionTime(), 1e-9);
+        assertEquals(expected.getStdDevExecutionTime(), actual.getStdDevExecutionTime(), 1e-9);
+        assertEquals(expected.getMinExecutionTime(), actual.getMinExecutionTime());
+        assertEquals(expected.getMaxExecutionTime(), actual.getMaxExecutionTime());
+        assertEquals(expected.getP99ExecutionTime(), actual.getP99ExecutionTime());
+        assertEquals(expected.getAvgComparisons(), actual.getAvgComparisons(), 1e-9);
+        assertNull(store.getSummary("A", 300));
+    }
+
+    @Test
+    @DisplayName("Stored runs read back field for field")
+    void testRoundTrip() {
+        ResultStore store = new ResultStore();
+        List<PerformanceTracker.PerformanceResult> runs = runs("A", 10, 100, 5);
+        store.addAll("A", 10, true, runs);
+
+        List<PerformanceTracker.PerformanceResult> stored = store.getResults("A");
+        assertEquals(runs.size(), stored.size());
+        for (int i = 0; i < runs.size(); i++) {
+            assertEquals(runs.get(i).toString(), stored.get(i).toString());
+            assertEquals(runs.get(i).getTimestamp(), stored.get(i).getTimestamp());
+        }
+        assertEquals(runs.size(), store.getSummary("A", 10).getResults().size());
+    }
+
+    @Test
+    @DisplayName("A summary keeps its snapshot while more runs arrive")
+    void testSnapshot() {
+        ResultStore store = new ResultStore();
+        store.addAll("A", 10, true, runs("A", 10, 3, 6));
+        PerformanceTracker.PerformanceSummary summary = store.getSummary("A", 10);
+        store.addAll("A", 10, true, runs("A", 10, 50, 7));
+
+        assertEquals(3, summary.getRunCount());
+        assertEquals(3, summary.getResults().size());
+        assertEquals(53, store.getSummary("A", 10).getRunCount());
+    }
+
+    @Test
+    @DisplayName("Many small series stay small, histograms included")
+    void testSmallSeriesFootprint() {
+        ResultStore store = new ResultStore();
+        for (int size = 1; size <= 1000; size++) {
+            store.addAll("A", size, true, runs("A", size, 1, size));
+            store.addAll("A", size, false, runs("A", size, 1, -size));
+        }
+
+        long footprint = store.footprintBytes();
+        // Two 16-run column sets plus a histogram of a few hundred buckets per (algorithm, size)
+        assertTrue(footprint < 1000 * 8 * 1024, "footprint: " + footprint);
+        assertTrue(footprint > 1000 * 2 * 16 * 5 * Long.BYTES, "histograms are counted: " + footprint);
+        assertEquals(2, store.getSummary("A", 500).getRunCount());
+    }
+
+    @Test
+    @DisplayName("Names, sizes, counts and clearing")
+    void testIndex() {
+        ResultStore store = new ResultStore();
+        store.addAll("B", 200, true, runs("B", 200, 4, 8));
+        store.addAll("A", 100, false, runs("A", 100, 2, 9));
+        store.addAll("A", 10, true, runs("A", 10, 1, 10));
+
+        assertEquals(List.of("A", "B"), new ArrayList<>(store.getAlgorithmNames()));
+        assertEquals(List.of(10, 100), new ArrayList<>(store.getInputSizes("A")));
+        assertEquals(3, store.getRunCount("A"));
+        assertEquals(7, store.getRunCount());
+        assertTrue(store.footprintBytes() > 0);
+
+        long[] rows = new long[1];
+        store.forEachRow((name, size, nanos, comparisons, accesses, allocations, hasMajority, timestamp) -> rows[0]++);
+        assertEquals(7, rows[0]);
+
+        store.clear();
+        assertEquals(0, store.getRunCount());
+        assertTrue(store.getResults("A").isEmpty());
+    }
+}